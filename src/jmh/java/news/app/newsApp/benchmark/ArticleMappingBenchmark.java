@@ -0,0 +1,69 @@
+package news.app.newsApp.benchmark;
+
+import news.app.newsApp.config.ModelMapperConfig;
+import news.app.newsApp.dto.ArticleDto;
+import news.app.newsApp.dto.CommentDto;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Comment;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ArticleMappingBenchmark {
+
+    @Param({"5"})
+    private int tagCount;
+
+    @Param({"0", "20"})
+    private int commentCount;
+
+    @Param({"3"})
+    private int repliesPerComment;
+
+    private ModelMapper modelMapper;
+    private Article article;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        article = BenchmarkFixtures.article(tagCount, commentCount, repliesPerComment);
+        // Build the type maps up front so the first iteration does not measure their creation
+        modelMapper.map(article, ArticleDto.class);
+        if (!article.getComments().isEmpty()) {
+            modelMapper.map(article.getComments().get(0), CommentDto.class);
+        }
+    }
+
+    @Benchmark
+    public ArticleDto mapArticle() {
+        return modelMapper.map(article, ArticleDto.class);
+    }
+
+    @Benchmark
+    public List<CommentDto> mapComments() {
+        List<CommentDto> comments = new ArrayList<>(article.getComments().size());
+        for (Comment comment : article.getComments()) {
+            comments.add(modelMapper.map(comment, CommentDto.class));
+        }
+        return comments;
+    }
+}
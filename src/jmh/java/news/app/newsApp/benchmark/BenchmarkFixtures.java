@@ -0,0 +1,109 @@
+package news.app.newsApp.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Category;
+import news.app.newsApp.model.Comment;
+import news.app.newsApp.model.Reply;
+import news.app.newsApp.model.Tag;
+import news.app.newsApp.model.User;
+import news.app.newsApp.security.JwtTokenProvider;
+import news.app.newsApp.security.UserDetailsImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+final class BenchmarkFixtures {
+
+    // Same shape as the jwt.secret in application.properties (512-bit, base64)
+    static final String JWT_SECRET =
+            "e2137c149d4beea14af9c97febef222495bf21b5063843f13f1e46b8867c240ca0ccecece9f8a8962af8fd15cc54ee632dc171c8dc26826e20c4d6cb61874442";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtTokenProvider jwtTokenProvider() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 86400000L);
+        ReflectionTestUtils.setField(tokenProvider, "meterRegistry", new SimpleMeterRegistry());
+        return tokenProvider;
+    }
+
+    static Authentication authentication(User user) {
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    static User user(long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setRole(role);
+        user.setIsActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+
+    static Article article(int tagCount, int commentCount, int repliesPerComment) {
+        User author = user(1, User.Role.WRITER);
+
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Technology");
+        category.setDescription("Technology news");
+        category.setCreatedAt(LocalDateTime.now());
+
+        Article article = new Article();
+        article.setId(1L);
+        article.setTitle("Benchmark article");
+        article.setDescription("A representative article used for mapping benchmarks");
+        article.setContent("Lorem ipsum dolor sit amet. ".repeat(200));
+        article.setFeaturedImage("https://example.com/featured.jpg");
+        article.setStatus(Article.Status.PUBLISHED);
+        article.setViews(1234);
+        article.setAuthor(author);
+        article.setCategory(category);
+        article.setCreatedAt(LocalDateTime.now());
+        article.setUpdatedAt(LocalDateTime.now());
+
+        for (int i = 0; i < tagCount; i++) {
+            Tag tag = new Tag();
+            tag.setId((long) i + 1);
+            tag.setName("tag-" + i);
+            tag.setCreatedAt(LocalDateTime.now());
+            article.getTags().add(tag);
+        }
+
+        long replyId = 1;
+        for (int i = 0; i < commentCount; i++) {
+            Comment comment = new Comment();
+            comment.setId((long) i + 1);
+            comment.setComment("Comment number " + i);
+            comment.setLikes(i);
+            comment.setArticle(article);
+            comment.setUser(user(100 + i, User.Role.READER));
+            comment.setEmail("reader" + i + "@example.com");
+            comment.setCreatedAt(LocalDateTime.now());
+            for (int j = 0; j < repliesPerComment; j++) {
+                Reply reply = new Reply();
+                reply.setId(replyId++);
+                reply.setContent("Reply " + j + " to comment " + i);
+                reply.setComment(comment);
+                reply.setUser(author);
+                reply.setEmail(author.getEmail());
+                reply.setCreatedAt(LocalDateTime.now());
+                comment.getReplies().add(reply);
+            }
+            article.getComments().add(comment);
+        }
+        return article;
+    }
+}
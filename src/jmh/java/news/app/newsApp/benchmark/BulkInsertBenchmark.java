@@ -0,0 +1,131 @@
+package news.app.newsApp.benchmark;
+
+import news.app.newsApp.NewsAppApplication;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Category;
+import news.app.newsApp.model.Comment;
+import news.app.newsApp.model.Reply;
+import news.app.newsApp.model.User;
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.repository.CategoryRepository;
+import news.app.newsApp.repository.CommentRepository;
+import news.app.newsApp.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Persists comments with replies through the repositories against a real Postgres (Docker required).
+// Only repository APIs are used, so the same class can be run on an older checkout for a before/after comparison;
+// batchSize=1 approximates the old one-statement-per-row behaviour within this tree.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"500"})
+    private int comments;
+
+    @Param({"2"})
+    private int repliesPerComment;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private CommentRepository commentRepository;
+    private TransactionTemplate transactionTemplate;
+    private Article article;
+    private User reader;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+        postgres.start();
+
+        context = new SpringApplicationBuilder(NewsAppApplication.class).run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--logging.level.root=WARN");
+
+        commentRepository = context.getBean(CommentRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User writer = BenchmarkFixtures.user(1, User.Role.WRITER);
+        writer.setId(null);
+        writer = userRepository.save(writer);
+        reader = BenchmarkFixtures.user(2, User.Role.READER);
+        reader.setId(null);
+        reader = userRepository.save(reader);
+
+        Category category = new Category();
+        category.setName("Benchmarks");
+        category = context.getBean(CategoryRepository.class).save(category);
+
+        Article target = new Article();
+        target.setTitle("Bulk insert target");
+        target.setStatus(Article.Status.PUBLISHED);
+        target.setAuthor(writer);
+        target.setCategory(category);
+        article = context.getBean(ArticleRepository.class).save(target);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<Comment> insertCommentsWithReplies() {
+        return transactionTemplate.execute(status -> {
+            List<Comment> batch = new ArrayList<>(comments);
+            for (int i = 0; i < comments; i++) {
+                Comment comment = new Comment();
+                comment.setComment("Bulk comment " + i);
+                comment.setArticle(article);
+                comment.setUser(reader);
+                comment.setEmail(reader.getEmail());
+                for (int j = 0; j < repliesPerComment; j++) {
+                    Reply reply = new Reply();
+                    reply.setContent("Bulk reply " + j);
+                    reply.setComment(comment);
+                    reply.setUser(reader);
+                    reply.setEmail(reader.getEmail());
+                    comment.getReplies().add(reply);
+                }
+                batch.add(comment);
+            }
+            // Replies are cascaded from Comment.replies
+            return commentRepository.saveAll(batch);
+        });
+    }
+}
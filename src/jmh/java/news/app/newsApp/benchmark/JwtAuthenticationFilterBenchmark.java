@@ -0,0 +1,68 @@
+package news.app.newsApp.benchmark;
+
+import news.app.newsApp.model.User;
+import news.app.newsApp.security.JwtAuthenticationFilter;
+import news.app.newsApp.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = BenchmarkFixtures.jwtTokenProvider();
+        filter = new JwtAuthenticationFilter(tokenProvider);
+
+        String token = tokenProvider.generateToken(
+                BenchmarkFixtures.authentication(BenchmarkFixtures.user(1, User.Role.READER)));
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/articles/published");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/articles/published");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        // MockFilterChain may only be invoked once
+        filter.doFilter(authenticatedRequest, response, new MockFilterChain());
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        filter.doFilter(anonymousRequest, response, new MockFilterChain());
+        return takeAuthentication();
+    }
+
+    private Object takeAuthentication() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
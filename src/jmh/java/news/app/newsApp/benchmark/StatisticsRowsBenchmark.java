@@ -0,0 +1,58 @@
+package news.app.newsApp.benchmark;
+
+import news.app.newsApp.service.StatisticsRows;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class StatisticsRowsBenchmark {
+
+    // 30 categories, a year of daily rows, and a large per-writer breakdown
+    @Param({"30", "365", "5000"})
+    private int rowCount;
+
+    private List<Object[]> labelRows;
+    private List<Object[]> dateRows;
+
+    @Setup
+    public void setUp() {
+        labelRows = new ArrayList<>(rowCount);
+        dateRows = new ArrayList<>(rowCount);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < rowCount; i++) {
+            labelRows.add(new Object[]{"label-" + i, (long) i * 17});
+            dateRows.add(new Object[]{Date.valueOf(day.plusDays(i)), i * 3});
+        }
+    }
+
+    @Benchmark
+    public Map<String, Long> labelCounts() {
+        return StatisticsRows.toCountMap(labelRows);
+    }
+
+    @Benchmark
+    public Map<String, Long> dailyCounts() {
+        return StatisticsRows.toCountMap(dateRows);
+    }
+}
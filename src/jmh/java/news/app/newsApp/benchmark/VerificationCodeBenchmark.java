@@ -0,0 +1,44 @@
+package news.app.newsApp.benchmark;
+
+import news.app.newsApp.service.TwoFactorAuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class VerificationCodeBenchmark {
+
+    private TwoFactorAuthService twoFactorAuthService;
+
+    @Setup
+    public void setUp() {
+        twoFactorAuthService = new TwoFactorAuthService();
+    }
+
+    @Benchmark
+    public String generateVerificationCode() {
+        return twoFactorAuthService.generateVerificationCode();
+    }
+
+    // Login bursts hit the code generator from many request threads at once
+    @Benchmark
+    @Threads(8)
+    public String generateVerificationCodeContended() {
+        return twoFactorAuthService.generateVerificationCode();
+    }
+}
@@ -0,0 +1,74 @@
+package news.app.newsApp.loadtest;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Stands in for the SMTP server: keeps the last verification code sent to each address
+public class CapturingMailSender implements JavaMailSender {
+
+    private static final Pattern CODE = Pattern.compile("code is: (\\d+)");
+
+    private final Map<String, String> codesByRecipient = new ConcurrentHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+
+    public String takeCode(String email) {
+        return codesByRecipient.remove(email);
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    @Override
+    public void send(SimpleMailMessage simpleMessage) {
+        sent.incrementAndGet();
+        Matcher matcher = CODE.matcher(simpleMessage.getText() != null ? simpleMessage.getText() : "");
+        if (matcher.find() && simpleMessage.getTo() != null) {
+            for (String recipient : simpleMessage.getTo()) {
+                codesByRecipient.put(recipient, matcher.group(1));
+            }
+        }
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) {
+        for (SimpleMailMessage message : simpleMessages) {
+            send(message);
+        }
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return new MimeMessage(Session.getInstance(new Properties()));
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) {
+        try {
+            return new MimeMessage(Session.getInstance(new Properties()), contentStream);
+        } catch (jakarta.mail.MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) {
+        sent.addAndGet(mimeMessages.length);
+    }
+
+    @Override
+    public void send(MimeMessagePreparator... mimeMessagePreparators) {
+        sent.addAndGet(mimeMessagePreparators.length);
+    }
+}
@@ -0,0 +1,39 @@
+package news.app.newsApp.loadtest;
+
+import java.util.Arrays;
+
+// Single-writer latency log; one per worker thread, merged once the phase is over
+class LatencyRecorder {
+
+    private long[] latencies = new long[4096];
+    private int count;
+    private long errors;
+
+    void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    static ScenarioResult merge(String scenario, long elapsedNanos, Iterable<LatencyRecorder> recorders) {
+        int total = 0;
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+            errors += recorder.errors;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, all, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(all);
+        return new ScenarioResult(scenario, all, errors, elapsedNanos);
+    }
+}
@@ -0,0 +1,61 @@
+package news.app.newsApp.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Throughput and p99 of this run next to those of an earlier report, per scenario (e.g. platform vs virtual threads)
+final class LoadTestComparison {
+
+    static final String HEADER = String.format(Locale.ROOT, "%-14s %12s %12s %8s %12s %12s %8s",
+            "scenario", "base ops/s", "ops/s", "change", "base p99 ms", "p99 ms", "change");
+    static final String CSV_HEADER = "scenario,baseline_ops_per_second,ops_per_second,baseline_p99_ms,p99_ms";
+
+    private LoadTestComparison() {
+    }
+
+    static void report(Path baselineReport, List<ScenarioResult> results, Path report) throws IOException {
+        Map<String, double[]> baseline = readBaseline(baselineReport);
+        List<String> csv = new ArrayList<>();
+        csv.add(CSV_HEADER);
+
+        System.out.println();
+        System.out.println("Compared with " + baselineReport.toAbsolutePath());
+        System.out.println(HEADER);
+        for (ScenarioResult result : results) {
+            double[] base = baseline.get(result.getScenario());
+            if (base == null) {
+                continue;
+            }
+            double throughput = result.throughput();
+            double p99 = result.percentileMillis(99);
+            System.out.println(String.format(Locale.ROOT, "%-14s %12.1f %12.1f %7.1f%% %12.2f %12.2f %7.1f%%",
+                    result.getScenario(), base[0], throughput, change(base[0], throughput), base[1], p99, change(base[1], p99)));
+            csv.add(String.format(Locale.ROOT, "%s,%.1f,%.1f,%.3f,%.3f", result.getScenario(), base[0], throughput, base[1], p99));
+        }
+
+        Path comparison = report.resolveSibling("loadtest-comparison.csv");
+        Files.write(comparison, csv);
+        System.out.println("Comparison written to " + comparison.toAbsolutePath());
+    }
+
+    // ops/s and p99 ms per scenario, from a report written with ScenarioResult.CSV_HEADER
+    private static Map<String, double[]> readBaseline(Path baselineReport) throws IOException {
+        Map<String, double[]> baseline = new HashMap<>();
+        List<String> lines = Files.readAllLines(baselineReport);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",");
+            baseline.put(columns[0], new double[]{Double.parseDouble(columns[3]), Double.parseDouble(columns[6])});
+        }
+        return baseline;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
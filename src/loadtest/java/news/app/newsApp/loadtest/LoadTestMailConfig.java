@@ -0,0 +1,14 @@
+package news.app.newsApp.loadtest;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+// Replaces the auto-configured SMTP sender so login + 2FA can run without a mail server
+@TestConfiguration(proxyBeanMethods = false)
+public class LoadTestMailConfig {
+
+    @Bean
+    public CapturingMailSender capturingMailSender() {
+        return new CapturingMailSender();
+    }
+}
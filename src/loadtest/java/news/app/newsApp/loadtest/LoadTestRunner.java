@@ -0,0 +1,145 @@
+package news.app.newsApp.loadtest;
+
+import news.app.newsApp.NewsAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Boots the application against a throwaway Postgres, seeds it and drives each scenario in turn
+public final class LoadTestRunner {
+
+    private static final int LOGGED_ERRORS_PER_SCENARIO = 5;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        // devtools would otherwise restart the context in its own class loader under exec:java
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse(settings.getPostgresImage()))) {
+            postgres.start();
+
+            List<String> profiles = new ArrayList<>(List.of("seed"));
+            profiles.addAll(settings.getProfiles());
+            List<String> applicationArgs = new ArrayList<>(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "--spring.datasource.username=" + postgres.getUsername(),
+                    "--spring.datasource.password=" + postgres.getPassword(),
+                    "--spring.profiles.active=" + String.join(",", profiles),
+                    "--server.port=0",
+                    "--management.server.port=-1",
+                    "--logging.level.root=WARN",
+                    "--logging.level.news.app.newsApp.config.DataSeeder=INFO"
+            ));
+            settings.getApplicationProperties().forEach(property -> applicationArgs.add("--" + property));
+            System.out.printf("Application profiles %s, properties %s, Java %s%n",
+                    profiles, settings.getApplicationProperties(), Runtime.version());
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                    NewsAppApplication.class, LoadTestMailConfig.class).run(applicationArgs.toArray(String[]::new))) {
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                long[] publishedArticleIds = context.getBean(JdbcTemplate.class)
+                        .queryForList("SELECT id FROM articles WHERE status = 'PUBLISHED' ORDER BY views DESC", Long.class)
+                        .stream().mapToLong(Long::longValue).toArray();
+
+                Scenarios scenarios = new Scenarios(new LoadTestClient("http://localhost:" + port),
+                        context.getBean(CapturingMailSender.class), publishedArticleIds, settings);
+                scenarios.prepare();
+
+                List<ScenarioResult> results = new ArrayList<>();
+                Map<String, Scenario> available = scenarios.all();
+                for (String name : settings.getScenarios()) {
+                    Scenario scenario = available.get(name.trim());
+                    if (scenario == null) {
+                        throw new IllegalArgumentException("Unknown scenario '" + name + "', expected one of " + available.keySet());
+                    }
+                    System.out.printf("Running %s: %d workers, %ds warm-up, %ds measured%n", name.trim(),
+                            settings.getConcurrency(), settings.getWarmup().toSeconds(), settings.getDuration().toSeconds());
+                    results.add(runPhase(name.trim(), scenario, settings));
+                }
+
+                report(results, settings);
+                if (settings.getBaseline() != null) {
+                    LoadTestComparison.report(settings.getBaseline(), results, settings.getReport());
+                }
+            }
+        }
+    }
+
+    private static ScenarioResult runPhase(String name, Scenario scenario, LoadTestSettings settings) throws InterruptedException {
+        int concurrency = settings.getConcurrency();
+        List<LatencyRecorder> recorders = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            recorders.add(new LatencyRecorder());
+        }
+        AtomicInteger loggedErrors = new AtomicInteger();
+
+        long measureFrom = System.nanoTime() + settings.getWarmup().toNanos();
+        long measureUntil = measureFrom + settings.getDuration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            executor.execute(() -> {
+                LatencyRecorder recorder = recorders.get(worker);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long start;
+                while ((start = System.nanoTime()) < measureUntil) {
+                    boolean measured = start >= measureFrom;
+                    try {
+                        scenario.run(worker, random);
+                        if (measured) {
+                            recorder.record(System.nanoTime() - start);
+                        }
+                    } catch (Exception e) {
+                        if (measured) {
+                            recorder.recordError();
+                        }
+                        if (loggedErrors.incrementAndGet() <= LOGGED_ERRORS_PER_SCENARIO) {
+                            System.err.println(name + ": " + e);
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(settings.getWarmup().plus(settings.getDuration()).toSeconds() + 60, TimeUnit.SECONDS);
+
+        // Recorders are only read after the workers have terminated
+        return LatencyRecorder.merge(name, settings.getDuration().toNanos(), recorders);
+    }
+
+    private static void report(List<ScenarioResult> results, LoadTestSettings settings) throws Exception {
+        List<String> csv = new ArrayList<>();
+        csv.add(ScenarioResult.CSV_HEADER);
+
+        System.out.println();
+        System.out.println(ScenarioResult.HEADER);
+        for (ScenarioResult result : results) {
+            System.out.println(result.toRow());
+            csv.add(result.toCsv());
+        }
+
+        if (settings.getReport().getParent() != null) {
+            Files.createDirectories(settings.getReport().getParent());
+        }
+        Files.write(settings.getReport(), csv);
+        System.out.println();
+        System.out.println("Report written to " + settings.getReport().toAbsolutePath());
+    }
+}
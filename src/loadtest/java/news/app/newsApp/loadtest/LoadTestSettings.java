@@ -0,0 +1,93 @@
+package news.app.newsApp.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Driver settings, read from -Dloadtest.* system properties
+class LoadTestSettings {
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    private final List<String> scenarios = Arrays.asList(
+            System.getProperty("loadtest.scenarios", "feed,detail,search,login,comment,dashboard").split(","));
+    private final Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.csv"));
+    private final String postgresImage = System.getProperty("loadtest.postgres-image", "postgres:16-alpine");
+    // Spring profiles and properties for the application under test, on top of the seed profile,
+    // e.g. -Dloadtest.profiles=virtual-threads -Dloadtest.properties=spring.datasource.hikari.maximum-pool-size=20
+    private final List<String> profiles = list(System.getProperty("loadtest.profiles", ""));
+    private final List<String> applicationProperties = list(System.getProperty("loadtest.properties", ""));
+    // A report from an earlier run to compare this one with
+    private final Path baseline = System.getProperty("loadtest.baseline") != null
+            ? Path.of(System.getProperty("loadtest.baseline")) : null;
+    private final String adminUsername = System.getProperty("loadtest.admin-username", "admin");
+    private final String adminPassword = System.getProperty("loadtest.admin-password", "Pa$$w0rd!");
+
+    // Must match the app.seed.* volumes the application is started with
+    private final int readers = Integer.getInteger("app.seed.readers", 1000);
+    private final int writers = Integer.getInteger("app.seed.writers", 50);
+    private final String seedPassword = System.getProperty("app.seed.password", "Passw0rd!");
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    List<String> getScenarios() {
+        return scenarios;
+    }
+
+    Path getReport() {
+        return report;
+    }
+
+    String getPostgresImage() {
+        return postgresImage;
+    }
+
+    List<String> getProfiles() {
+        return profiles;
+    }
+
+    List<String> getApplicationProperties() {
+        return applicationProperties;
+    }
+
+    Path getBaseline() {
+        return baseline;
+    }
+
+    String getAdminUsername() {
+        return adminUsername;
+    }
+
+    String getAdminPassword() {
+        return adminPassword;
+    }
+
+    int getReaders() {
+        return readers;
+    }
+
+    int getWriters() {
+        return writers;
+    }
+
+    String getSeedPassword() {
+        return seedPassword;
+    }
+
+    private static List<String> list(String value) {
+        return Stream.of(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,10 @@
+package news.app.newsApp.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@FunctionalInterface
+interface Scenario {
+
+    // One measured operation; throwing counts it as an error
+    void run(int worker, ThreadLocalRandom random) throws Exception;
+}
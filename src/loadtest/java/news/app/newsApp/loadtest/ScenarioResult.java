@@ -0,0 +1,50 @@
+package news.app.newsApp.loadtest;
+
+import java.util.Locale;
+
+class ScenarioResult {
+
+    static final String HEADER = String.format(Locale.ROOT, "%-14s %9s %7s %10s %9s %9s %9s %9s %9s",
+            "scenario", "ops", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    static final String CSV_HEADER = "scenario,ops,errors,ops_per_second,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    private final String scenario;
+    private final long[] sortedLatencies;
+    private final long errors;
+    private final long elapsedNanos;
+
+    ScenarioResult(String scenario, long[] sortedLatencies, long errors, long elapsedNanos) {
+        this.scenario = scenario;
+        this.sortedLatencies = sortedLatencies;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    String getScenario() {
+        return scenario;
+    }
+
+    double throughput() {
+        return sortedLatencies.length / (elapsedNanos / 1e9);
+    }
+
+    double percentileMillis(double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1e6;
+    }
+
+    String toRow() {
+        return String.format(Locale.ROOT, "%-14s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                scenario, sortedLatencies.length, errors, throughput(), percentileMillis(50), percentileMillis(90),
+                percentileMillis(99), percentileMillis(99.9), percentileMillis(100));
+    }
+
+    String toCsv() {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                scenario, sortedLatencies.length, errors, throughput(), percentileMillis(50), percentileMillis(90),
+                percentileMillis(99), percentileMillis(99.9), percentileMillis(100));
+    }
+}
@@ -0,0 +1,104 @@
+package news.app.newsApp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import news.app.newsApp.config.DataSeeder;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+class Scenarios {
+
+    private final LoadTestClient client;
+    private final CapturingMailSender mailSender;
+    private final long[] publishedArticleIds;
+    private final LoadTestSettings settings;
+
+    private String adminToken;
+    private String[] readerTokens;
+    private String[] writerTokens;
+
+    Scenarios(LoadTestClient client, CapturingMailSender mailSender, long[] publishedArticleIds, LoadTestSettings settings) {
+        this.client = client;
+        this.mailSender = mailSender;
+        this.publishedArticleIds = publishedArticleIds;
+        this.settings = settings;
+    }
+
+    // Logs in one reader and one writer per worker up front so the measured phases only pay for their own requests
+    void prepare() throws IOException, InterruptedException {
+        adminToken = login(settings.getAdminUsername(), settings.getAdminPassword());
+        readerTokens = new String[settings.getConcurrency()];
+        writerTokens = new String[settings.getConcurrency()];
+        for (int worker = 0; worker < settings.getConcurrency(); worker++) {
+            readerTokens[worker] = login(DataSeeder.READER_PREFIX + (worker % settings.getReaders()), settings.getSeedPassword());
+            writerTokens[worker] = login(DataSeeder.WRITER_PREFIX + (worker % settings.getWriters()), settings.getSeedPassword());
+        }
+    }
+
+    Map<String, Scenario> all() {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("feed", this::browseFeed);
+        scenarios.put("detail", this::readArticle);
+        scenarios.put("search", this::search);
+        scenarios.put("login", this::loginWithTwoFactor);
+        scenarios.put("comment", this::comment);
+        scenarios.put("dashboard", this::dashboard);
+        return scenarios;
+    }
+
+    // Anonymous readers mostly stay on the first pages of the feed
+    private void browseFeed(int worker, ThreadLocalRandom random) throws Exception {
+        int page = (int) (Math.pow(random.nextDouble(), 3) * 20);
+        client.get("/api/articles/published?page=" + page + "&size=10", null);
+    }
+
+    private void readArticle(int worker, ThreadLocalRandom random) throws Exception {
+        client.get("/api/articles/" + popularArticle(random), null);
+    }
+
+    private void search(int worker, ThreadLocalRandom random) throws Exception {
+        List<String> vocabulary = DataSeeder.VOCABULARY;
+        client.get("/api/articles/search?keyword=" + vocabulary.get(random.nextInt(vocabulary.size())), readerTokens[worker]);
+    }
+
+    // Workers use disjoint readers so concurrent logins never overwrite each other's codes
+    private void loginWithTwoFactor(int worker, ThreadLocalRandom random) throws Exception {
+        int slots = Math.max(1, settings.getReaders() / settings.getConcurrency());
+        int reader = (worker + settings.getConcurrency() * random.nextInt(slots)) % settings.getReaders();
+        login(DataSeeder.READER_PREFIX + reader, settings.getSeedPassword());
+    }
+
+    private void comment(int worker, ThreadLocalRandom random) throws Exception {
+        Map<String, Object> body = Map.of(
+                "articleId", popularArticle(random),
+                "comment", "Load test comment " + random.nextInt(1_000_000));
+        client.post("/api/comments", body, readerTokens[worker]);
+    }
+
+    private void dashboard(int worker, ThreadLocalRandom random) throws Exception {
+        if (random.nextBoolean()) {
+            client.get("/api/admin/statistics/dashboard", adminToken);
+        } else {
+            client.get("/api/writer/statistics/dashboard", writerTokens[worker]);
+        }
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        JsonNode challenge = client.post("/api/auth/login", Map.of("username", username, "password", password), null);
+        String email = challenge.get("email").asText();
+        String code = mailSender.takeCode(email);
+        if (code == null) {
+            throw new IOException("No verification code was sent to " + email);
+        }
+        JsonNode jwt = client.post("/api/auth/2fa/verify-login", Map.of("email", email, "code", code), null);
+        return jwt.get("token").asText();
+    }
+
+    // Skewed towards the front of the id list, like real traffic concentrating on a few stories
+    private long popularArticle(ThreadLocalRandom random) {
+        return publishedArticleIds[(int) (Math.pow(random.nextDouble(), 2) * publishedArticleIds.length)];
+    }
+}
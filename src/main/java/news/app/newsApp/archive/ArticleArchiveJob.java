@@ -0,0 +1,94 @@
+package news.app.newsApp.archive;
+
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.model.Article;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves old articles with little recent traffic to the archive tables, in batches of one transaction each.
+// Recent views are the trending window persisted in article_trend_snapshots; articles without a snapshot had none.
+@Component
+public class ArticleArchiveJob {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleArchiveJob.class);
+
+    // SKIP LOCKED so a second instance running the job, or a writer holding a row, never blocks a batch
+    private static final String CANDIDATES_SQL =
+            "SELECT a.id FROM articles a LEFT JOIN article_trend_snapshots s ON s.article_id = a.id " +
+            "WHERE a.archived_at IS NULL AND a.status IN ('PUBLISHED', 'ARCHIVED') AND a.created_at < ? " +
+            "AND COALESCE((SELECT SUM(v) FROM unnest(s.views) v), 0) <= ? " +
+            "ORDER BY a.created_at LIMIT ? FOR UPDATE OF a SKIP LOCKED";
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.min-age-days:365}")
+    private int minAgeDays;
+
+    @Value("${app.archive.max-recent-views:10}")
+    private int maxRecentViews;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches:50}")
+    private int maxBatches;
+
+    @Autowired
+    private ArticleArchiver articleArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Scheduled(cron = "${app.archive.cron:0 45 3 * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch());
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+        }
+        if (archived > 0) {
+            logger.info("Archived {} articles in {} ms", archived, System.currentTimeMillis() - start);
+        }
+    }
+
+    private int archiveBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidates = jdbcTemplate.queryForList(CANDIDATES_SQL, Long.class,
+                Timestamp.valueOf(now.minusDays(minAgeDays)), maxRecentViews, batchSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        List<ArticleArchiver.ArchivedArticle> archived = articleArchiver.archive(candidates, now);
+        // Delivered after the batch commits, like any other status change
+        for (ArticleArchiver.ArchivedArticle article : archived) {
+            eventPublisher.publishEvent(new ArticleChangedEvent(article.getArticleId(), article.getTitle(),
+                    article.getAuthorId(), article.getCategoryId(), Article.Status.ARCHIVED,
+                    ArticleChangedEvent.Type.STATUS_CHANGED, null));
+        }
+        return archived.size();
+    }
+}
@@ -0,0 +1,225 @@
+package news.app.newsApp.archive;
+
+import news.app.newsApp.dto.CommentDto;
+import news.app.newsApp.dto.ReplyDto;
+import news.app.newsApp.dto.UserDto;
+import news.app.newsApp.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Moves articles between the hot tables and the archive tables of V8, and reads archived content and comments.
+// Callers run each move in a transaction; all statements are plain SQL so a batch is a fixed number of statements.
+@Component
+public class ArticleArchiver {
+
+    private static final String COMMENT_COLUMNS =
+            "id, comment, likes, status, reply_count, article_id, user_id, email, created_at, updated_at";
+    private static final String REPLY_COLUMNS =
+            "id, content, likes, status, comment_id, user_id, email, parent_reply_id, created_at, updated_at";
+    private static final String USER_COLUMNS =
+            "u.username, u.email AS user_email, u.first_name, u.last_name, u.profile_pic, u.role, u.is_active, " +
+            "u.created_at AS user_created_at";
+
+    private static final String[] ARCHIVE_SQL = {
+            "INSERT INTO article_contents_archive (article_id, content) SELECT id, content FROM articles WHERE id = ANY(?)",
+            "INSERT INTO comments_archive (" + COMMENT_COLUMNS + ") SELECT " + COMMENT_COLUMNS +
+                    " FROM comments WHERE article_id = ANY(?)",
+            "INSERT INTO replies_archive (" + REPLY_COLUMNS + ") SELECT r." + REPLY_COLUMNS.replace(", ", ", r.") +
+                    " FROM replies r JOIN comments c ON c.id = r.comment_id WHERE c.article_id = ANY(?)",
+            "DELETE FROM replies r USING comments c WHERE c.id = r.comment_id AND c.article_id = ANY(?)",
+            "DELETE FROM comments WHERE article_id = ANY(?)"
+    };
+
+    private static final String MARK_ARCHIVED_SQL =
+            "UPDATE articles SET status = 'ARCHIVED', content = NULL, archived_at = ?, updated_at = ? " +
+            "WHERE id = ANY(?) AND archived_at IS NULL " +
+            "RETURNING id, title, author_id, category_id";
+
+    private static final String[] RESTORE_SQL = {
+            "INSERT INTO comments (" + COMMENT_COLUMNS + ") SELECT " + COMMENT_COLUMNS +
+                    " FROM comments_archive WHERE article_id = ?",
+            "INSERT INTO replies (" + REPLY_COLUMNS + ") SELECT r." + REPLY_COLUMNS.replace(", ", ", r.") +
+                    " FROM replies_archive r JOIN comments_archive c ON c.id = r.comment_id WHERE c.article_id = ?",
+            // Replies go with their comments through the foreign key
+            "DELETE FROM comments_archive WHERE article_id = ?"
+    };
+
+    private static final String RESTORE_CONTENT_SQL =
+            "UPDATE articles a SET content = x.content, archived_at = NULL " +
+            "FROM article_contents_archive x WHERE x.article_id = a.id AND a.id = ? RETURNING a.content";
+
+    private static final String COMMENTS_SQL =
+            "SELECT c.id, c.comment, c.likes, c.status, c.reply_count, c.article_id, c.user_id, c.email, " +
+            "c.created_at, c.updated_at, " + USER_COLUMNS + ", COUNT(*) OVER () AS total " +
+            "FROM comments_archive c JOIN users u ON u.id = c.user_id " +
+            "WHERE c.article_id = ? ORDER BY c.created_at DESC, c.id DESC LIMIT ? OFFSET ?";
+
+    private static final String REPLIES_SQL =
+            "SELECT r.id, r.content, r.likes, r.status, r.comment_id, r.user_id, r.email, r.parent_reply_id, " +
+            "r.created_at, r.updated_at, " + USER_COLUMNS + " " +
+            "FROM replies_archive r JOIN users u ON u.id = r.user_id " +
+            "WHERE r.comment_id = ANY(?) ORDER BY r.created_at, r.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Moves the articles to the archive tables and marks them ARCHIVED; returns the rows actually moved
+    public List<ArchivedArticle> archive(List<Long> articleIds, LocalDateTime now) {
+        Long[] ids = articleIds.toArray(new Long[0]);
+        for (String sql : ARCHIVE_SQL) {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                return statement;
+            });
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MARK_ARCHIVED_SQL);
+            statement.setTimestamp(1, Timestamp.valueOf(now));
+            statement.setTimestamp(2, Timestamp.valueOf(now));
+            statement.setArray(3, connection.createArrayOf("bigint", ids));
+            return statement;
+        }, (rs, rowNum) -> new ArchivedArticle(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getLong("author_id"),
+                rs.getObject("category_id", Long.class)));
+    }
+
+    // Moves an archived article back to the hot tables and returns its content; the status is left to the caller
+    public String restore(Long articleId) {
+        for (String sql : RESTORE_SQL) {
+            jdbcTemplate.update(sql, articleId);
+        }
+        List<String> content = jdbcTemplate.queryForList(RESTORE_CONTENT_SQL, String.class, articleId);
+        jdbcTemplate.update("DELETE FROM article_contents_archive WHERE article_id = ?", articleId);
+        return content.isEmpty() ? null : content.get(0);
+    }
+
+    // The article an archived comment or reply belongs to, or null when the id is not in the archive
+    public Long findArticleIdOfComment(Long commentId) {
+        List<Long> articleIds = jdbcTemplate.queryForList(
+                "SELECT article_id FROM comments_archive WHERE id = ?", Long.class, commentId);
+        return articleIds.isEmpty() ? null : articleIds.get(0);
+    }
+
+    public Long findArticleIdOfReply(Long replyId) {
+        List<Long> articleIds = jdbcTemplate.queryForList("SELECT c.article_id FROM replies_archive r " +
+                "JOIN comments_archive c ON c.id = r.comment_id WHERE r.id = ?", Long.class, replyId);
+        return articleIds.isEmpty() ? null : articleIds.get(0);
+    }
+
+    public String findContent(Long articleId) {
+        List<String> content = jdbcTemplate.queryForList(
+                "SELECT content FROM article_contents_archive WHERE article_id = ?", String.class, articleId);
+        return content.isEmpty() ? null : content.get(0);
+    }
+
+    // Same shape as CommentService's page for hot articles, newest first, in two statements
+    public Page<CommentDto> findComments(Long articleId, Pageable pageable) {
+        long[] total = {0};
+        Map<Long, CommentDto> comments = new LinkedHashMap<>();
+        jdbcTemplate.query(COMMENTS_SQL, rs -> {
+            total[0] = rs.getLong("total");
+            CommentDto comment = new CommentDto();
+            comment.setId(rs.getLong("id"));
+            comment.setComment(rs.getString("comment"));
+            comment.setLikes(rs.getObject("likes", Integer.class));
+            comment.setStatus(rs.getObject("status", Integer.class));
+            comment.setReplyCount(rs.getInt("reply_count"));
+            comment.setArticleId(rs.getLong("article_id"));
+            comment.setEmail(rs.getString("email"));
+            comment.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+            comment.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+            comment.setUser(toUser(rs));
+            comment.setReplies(new ArrayList<>());
+            comments.put(comment.getId(), comment);
+        }, articleId, pageable.getPageSize(), pageable.getOffset());
+
+        if (!comments.isEmpty()) {
+            Long[] commentIds = comments.keySet().toArray(new Long[0]);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(REPLIES_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", commentIds));
+                return statement;
+            }, rs -> {
+                ReplyDto reply = new ReplyDto();
+                reply.setId(rs.getLong("id"));
+                reply.setContent(rs.getString("content"));
+                reply.setLikes(rs.getObject("likes", Integer.class));
+                reply.setStatus(rs.getObject("status", Integer.class));
+                reply.setCommentId(rs.getLong("comment_id"));
+                reply.setEmail(rs.getString("email"));
+                reply.setParentReplyId(rs.getObject("parent_reply_id", Long.class));
+                reply.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+                reply.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+                reply.setUser(toUser(rs));
+                comments.get(reply.getCommentId()).getReplies().add(reply);
+            });
+        }
+        return new PageImpl<>(new ArrayList<>(comments.values()), pageable, total[0]);
+    }
+
+    private static UserDto toUser(ResultSet rs) throws SQLException {
+        UserDto user = new UserDto();
+        user.setId(rs.getLong("user_id"));
+        user.setUsername(rs.getString("username"));
+        user.setEmail(rs.getString("user_email"));
+        user.setFirstName(rs.getString("first_name"));
+        user.setLastName(rs.getString("last_name"));
+        user.setProfilePic(rs.getString("profile_pic"));
+        String role = rs.getString("role");
+        user.setRole(role != null ? User.Role.valueOf(role) : null);
+        user.setIsActive(rs.getObject("is_active", Boolean.class));
+        user.setCreatedAt(toLocalDateTime(rs.getTimestamp("user_created_at")));
+        return user;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    public static final class ArchivedArticle {
+        private final long articleId;
+        private final String title;
+        private final long authorId;
+        private final Long categoryId;
+
+        ArchivedArticle(long articleId, String title, long authorId, Long categoryId) {
+            this.articleId = articleId;
+            this.title = title;
+            this.authorId = authorId;
+            this.categoryId = categoryId;
+        }
+
+        public long getArticleId() {
+            return articleId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public long getAuthorId() {
+            return authorId;
+        }
+
+        public Long getCategoryId() {
+            return categoryId;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package news.app.newsApp.cache;
+
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.event.CategoryChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// First pages of each author's article timeline. An author's pages are dropped whenever one of their articles is
+// created, updated, deleted or changes status.
+@Component
+public class AuthorTimelineCache extends SummaryPageCache {
+
+    @Value("${app.cache.author-timelines.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.author-timelines.pages:3}")
+    private int cachedPages;
+
+    @Value("${app.cache.author-timelines.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${app.cache.author-timelines.max-authors:5000}")
+    private int maxAuthors;
+
+    @Value("${app.cache.author-timelines.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate(event.getAuthorId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        event.getAuthorIds().forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Summaries carry their category name
+        clear();
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected int cachedPages() {
+        return cachedPages;
+    }
+
+    @Override
+    protected int maxPageSize() {
+        return maxPageSize;
+    }
+
+    @Override
+    protected int maxOwners() {
+        return maxAuthors;
+    }
+
+    @Override
+    protected long ttlMillis() {
+        return ttlSeconds * 1000;
+    }
+}
@@ -0,0 +1,72 @@
+package news.app.newsApp.cache;
+
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.event.CategoryChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// First pages of each category's article list. A changed article drops its category's pages, and those of any
+// category that listed it, since an update may have moved it out.
+@Component
+public class CategoryFeedCache extends SummaryPageCache {
+
+    @Value("${app.cache.category-feeds.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.category-feeds.pages:3}")
+    private int cachedPages;
+
+    @Value("${app.cache.category-feeds.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${app.cache.category-feeds.max-categories:1000}")
+    private int maxCategories;
+
+    @Value("${app.cache.category-feeds.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getCategoryId() != null) {
+            invalidate(event.getCategoryId());
+        }
+        invalidateListing(event.getArticleId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        event.getCategoryIds().forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate(event.getCategoryId());
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected int cachedPages() {
+        return cachedPages;
+    }
+
+    @Override
+    protected int maxPageSize() {
+        return maxPageSize;
+    }
+
+    @Override
+    protected int maxOwners() {
+        return maxCategories;
+    }
+
+    @Override
+    protected long ttlMillis() {
+        return ttlSeconds * 1000;
+    }
+}
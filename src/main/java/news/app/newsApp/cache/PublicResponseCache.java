@@ -0,0 +1,323 @@
+package news.app.newsApp.cache;
+
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.event.CategoryChangedEvent;
+import news.app.newsApp.event.CommentChangedEvent;
+import news.app.newsApp.event.TagChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class PublicResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(PublicResponseCache.class);
+
+    static final String ARTICLES_PREFIX = "/api/articles/";
+    static final String PUBLISHED_PATH = "/api/articles/published";
+    static final String CATEGORIES_PREFIX = "/api/categories";
+    static final String TAGS_PREFIX = "/api/tags";
+
+    private static final int GZIP_MIN_BYTES = 1024;
+    private static final int GENERATION_STRIPES = 1024;
+
+    @Value("${app.cache.public-responses.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.public-responses.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${app.cache.public-responses.gzip:true}")
+    private boolean gzipEnabled;
+
+    // Views are counted without an invalidation, and a page rendered from a lagging replica right after one could
+    // otherwise outlive it; the TTL bounds how stale either gets
+    @Value("${app.cache.public-responses.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // Guarded by lock
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Path -> its keys, one per query string, so a path's pages are dropped without scanning every entry
+    private final Map<String, Set<String>> keysByPath = new HashMap<>();
+    private long currentBytes;
+    // Generation of the last invalidation of any path hashing to the stripe, and of the last prefix invalidation.
+    // A response rendered before either is not stored; paths sharing a stripe at worst miss once more.
+    private final long[] invalidatedAt = new long[GENERATION_STRIPES];
+    private long prefixInvalidatedAt;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Advanced on every invalidation; renders note it when they start
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public CachedResponse get(String key) {
+        CachedResponse response;
+        lock.lock();
+        try {
+            response = entries.get(key);
+            if (response != null && System.currentTimeMillis() - response.cachedAt > ttlSeconds * 1000) {
+                entries.remove(key);
+                forgetKey(key);
+                currentBytes -= response.sizeInBytes();
+                response = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (response != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return response;
+    }
+
+    public void put(String key, long renderedAtGeneration, String contentType, byte[] body) {
+        if (body.length == 0 || body.length > maxBytes) {
+            return;
+        }
+        byte[] gzippedBody = gzipEnabled && body.length >= GZIP_MIN_BYTES ? gzip(body) : null;
+        CachedResponse response = new CachedResponse(contentType, body, gzippedBody, System.currentTimeMillis());
+
+        lock.lock();
+        try {
+            String path = path(key);
+            if (prefixInvalidatedAt > renderedAtGeneration || invalidatedAt[stripe(path)] > renderedAtGeneration) {
+                return;
+            }
+            CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                currentBytes -= previous.sizeInBytes();
+            }
+            currentBytes += response.sizeInBytes();
+            keysByPath.computeIfAbsent(path, p -> new HashSet<>()).add(key);
+
+            Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, CachedResponse> entry = eldest.next();
+                currentBytes -= entry.getValue().sizeInBytes();
+                eldest.remove();
+                forgetKey(entry.getKey());
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops the path under every query string; renders of other paths still in flight are kept
+    public void invalidate(String path) {
+        int removed = 0;
+        lock.lock();
+        try {
+            invalidatedAt[stripe(path)] = generation.incrementAndGet();
+            Set<String> keys = keysByPath.remove(path);
+            if (keys != null) {
+                for (String key : keys) {
+                    currentBytes -= entries.remove(key).sizeInBytes();
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        invalidations.incrementAndGet();
+        logger.debug("Invalidated {} cached responses for {}", removed, path);
+    }
+
+    // For writes embedded in every payload under the prefix (categories, tags); discards every render in flight
+    public void invalidatePrefix(String prefix) {
+        int removed = 0;
+        lock.lock();
+        try {
+            prefixInvalidatedAt = generation.incrementAndGet();
+            Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, CachedResponse> entry = iterator.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    currentBytes -= entry.getValue().sizeInBytes();
+                    iterator.remove();
+                    forgetKey(entry.getKey());
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        invalidations.incrementAndGet();
+        logger.debug("Invalidated {} cached responses under {}", removed, prefix);
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            prefixInvalidatedAt = generation.incrementAndGet();
+            entries.clear();
+            keysByPath.clear();
+            currentBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    // The article's detail and the published pages are the only cached payloads under /api/articles/
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate(ARTICLES_PREFIX + event.getArticleId());
+        invalidate(PUBLISHED_PATH);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        event.getArticleIds().forEach(articleId -> invalidate(ARTICLES_PREFIX + articleId));
+        invalidate(PUBLISHED_PATH);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        // Article payloads carry comment and reply counts, which likes leave alone
+        if (event.getType() != CommentChangedEvent.Type.LIKED) {
+            invalidate(ARTICLES_PREFIX + event.getArticleId());
+            invalidate(PUBLISHED_PATH);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Article payloads embed their category
+        invalidatePrefix(CATEGORIES_PREFIX);
+        invalidatePrefix(ARTICLES_PREFIX);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        // Article payloads embed their tags
+        invalidatePrefix(TAGS_PREFIX);
+        invalidatePrefix(ARTICLES_PREFIX);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getSizeInBytes() {
+        lock.lock();
+        try {
+            return currentBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        lock.lock();
+        try {
+            statistics.put("entries", entries.size());
+            statistics.put("sizeInBytes", currentBytes);
+        } finally {
+            lock.unlock();
+        }
+        statistics.put("maxBytes", maxBytes);
+        statistics.put("hits", hits.get());
+        statistics.put("misses", misses.get());
+        statistics.put("hitRatio", getHitRatio());
+        statistics.put("evictions", evictions.get());
+        statistics.put("invalidations", invalidations.get());
+        return statistics;
+    }
+
+    private void forgetKey(String key) {
+        String path = path(key);
+        Set<String> keys = keysByPath.get(path);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByPath.remove(path);
+        }
+    }
+
+    private static String path(String key) {
+        int query = key.indexOf('?');
+        return query >= 0 ? key.substring(0, query) : key;
+    }
+
+    private static int stripe(String path) {
+        return Math.floorMod(path.hashCode(), GENERATION_STRIPES);
+    }
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            logger.warn("Could not pre-compress cached response", e);
+            return null;
+        }
+        return buffer.toByteArray();
+    }
+
+    public static final class CachedResponse {
+        private final String contentType;
+        private final byte[] body;
+        private final byte[] gzippedBody;
+        private final long cachedAt;
+
+        CachedResponse(String contentType, byte[] body, byte[] gzippedBody, long cachedAt) {
+            this.contentType = contentType;
+            this.body = body;
+            this.gzippedBody = gzippedBody;
+            this.cachedAt = cachedAt;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public byte[] getGzippedBody() {
+            return gzippedBody;
+        }
+
+        long sizeInBytes() {
+            return body.length + (gzippedBody != null ? gzippedBody.length : 0);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package news.app.newsApp.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import news.app.newsApp.service.ArticleViewRecorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class PublicResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String ARTICLE_DETAIL_PATTERN = "/api/articles/{id:\\d+}";
+
+    private static final List<String> CACHEABLE_PATTERNS = List.of(
+            "/api/articles/published",
+            ARTICLE_DETAIL_PATTERN,
+            "/api/categories/**",
+            "/api/tags/**"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    private PublicResponseCache responseCache;
+
+    @Autowired
+    private ArticleViewRecorder articleViewRecorder;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!responseCache.isEnabled() || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        // Only anonymous traffic is served from the cache
+        if (StringUtils.hasText(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            return true;
+        }
+        String path = getPath(request);
+        return CACHEABLE_PATTERNS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = getCacheKey(request);
+        PublicResponseCache.CachedResponse cached = responseCache.get(key);
+
+        if (cached != null) {
+            recordArticleView(request);
+            writeCachedResponse(cached, request, response);
+            return;
+        }
+
+        long generation = responseCache.currentGeneration();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        responseWrapper.setHeader("X-Cache", "MISS");
+        try {
+            filterChain.doFilter(request, responseWrapper);
+
+            if (responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+                responseCache.put(key, generation, responseWrapper.getContentType(),
+                        responseWrapper.getContentAsByteArray());
+            }
+        } finally {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void writeCachedResponse(PublicResponseCache.CachedResponse cached, HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
+        boolean gzip = cached.getGzippedBody() != null && acceptsGzip(request);
+        byte[] body = gzip ? cached.getGzippedBody() : cached.getBody();
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader("X-Cache", "HIT");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // A cached article detail still counts as a read
+    private void recordArticleView(HttpServletRequest request) {
+        String path = getPath(request);
+        if (pathMatcher.match(ARTICLE_DETAIL_PATTERN, path)) {
+            Map<String, String> variables = pathMatcher.extractUriTemplateVariables(ARTICLE_DETAIL_PATTERN, path);
+            articleViewRecorder.recordView(Long.valueOf(variables.get("id")));
+        }
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private String getCacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query != null ? getPath(request) + "?" + query : getPath(request);
+    }
+
+    private String getPath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
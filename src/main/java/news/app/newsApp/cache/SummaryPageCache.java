@@ -0,0 +1,157 @@
+package news.app.newsApp.cache;
+
+import news.app.newsApp.dto.ArticleSummaryDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Leading pages of article summary lists, grouped by owner (an author, a category) so that a write drops exactly
+// the owner's pages. Entries also expire after a TTL, since views and counters change without article events.
+public abstract class SummaryPageCache {
+
+    // Guarded by lock
+    private final LinkedHashMap<Long, Map<String, CachedPage>> owners = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Map<String, CachedPage>> eldest) {
+            return size() > maxOwners();
+        }
+    };
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Bumped on every invalidation so pages read before a write are never stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    protected abstract boolean isEnabled();
+
+    protected abstract int cachedPages();
+
+    protected abstract int maxPageSize();
+
+    protected abstract int maxOwners();
+
+    protected abstract long ttlMillis();
+
+    // Only the leading pages are kept, each page size and sort separately; deeper pages go to the database
+    public boolean isCacheable(Pageable pageable) {
+        return isEnabled() && pageable.getPageNumber() < cachedPages() && pageable.getPageSize() <= maxPageSize();
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public Page<ArticleSummaryDto> get(Long ownerId, Pageable pageable) {
+        CachedPage cached;
+        lock.lock();
+        try {
+            Map<String, CachedPage> pages = owners.get(ownerId);
+            cached = pages != null ? pages.get(key(pageable)) : null;
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null && System.currentTimeMillis() - cached.cachedAt <= ttlMillis()) {
+            hits.incrementAndGet();
+            return cached.page;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(Long ownerId, Pageable pageable, long readAtGeneration, Page<ArticleSummaryDto> page) {
+        CachedPage cached = new CachedPage(page, System.currentTimeMillis());
+        lock.lock();
+        try {
+            if (generation.get() != readAtGeneration) {
+                return;
+            }
+            owners.computeIfAbsent(ownerId, id -> new HashMap<>()).put(key(pageable), cached);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(Long ownerId) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            owners.remove(ownerId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops every owner with a cached page listing the article, for writes that may have moved it between owners
+    protected void invalidateListing(Long articleId) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            Iterator<Map<String, CachedPage>> iterator = owners.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().values().stream().anyMatch(cached -> cached.lists(articleId))) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            owners.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        lock.lock();
+        try {
+            statistics.put("owners", owners.size());
+            statistics.put("pages", owners.values().stream().mapToInt(Map::size).sum());
+        } finally {
+            lock.unlock();
+        }
+        statistics.put("hits", hits.get());
+        statistics.put("misses", misses.get());
+        return statistics;
+    }
+
+    private static String key(Pageable pageable) {
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+
+    private static final class CachedPage {
+        private final Page<ArticleSummaryDto> page;
+        private final long cachedAt;
+
+        CachedPage(Page<ArticleSummaryDto> page, long cachedAt) {
+            this.page = page;
+            this.cachedAt = cachedAt;
+        }
+
+        boolean lists(Long articleId) {
+            return page.getContent().stream().anyMatch(summary -> articleId.equals(summary.getId()));
+        }
+    }
+}
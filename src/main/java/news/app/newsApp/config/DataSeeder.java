@@ -0,0 +1,298 @@
+package news.app.newsApp.config;
+
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Category;
+import news.app.newsApp.model.Comment;
+import news.app.newsApp.model.Reply;
+import news.app.newsApp.model.Tag;
+import news.app.newsApp.model.User;
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.repository.CategoryRepository;
+import news.app.newsApp.repository.CommentRepository;
+import news.app.newsApp.repository.ReplyRepository;
+import news.app.newsApp.repository.TagRepository;
+import news.app.newsApp.repository.UserRepository;
+import news.app.newsApp.service.CategoryStatisticsView;
+import news.app.newsApp.service.CounterReconciliationJob;
+import news.app.newsApp.service.PartitionMaintenanceJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Deterministic dataset for load tests and local profiling: same seed and volumes, same rows
+@Component
+@Profile("seed")
+@Order(10)
+public class DataSeeder implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    public static final String WRITER_PREFIX = "writer";
+    public static final String READER_PREFIX = "reader";
+    public static final String EMAIL_DOMAIN = "@seed.newsapp.local";
+
+    public static final List<String> VOCABULARY = List.of(
+            "election", "market", "climate", "football", "startup", "health", "science", "energy",
+            "travel", "music", "budget", "policy", "festival", "research", "transport", "education",
+            "security", "innovation", "weather", "agriculture", "tourism", "finance", "culture", "mobile",
+            "vaccine", "trade", "housing", "water", "league", "summit");
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CounterReconciliationJob counterReconciliationJob;
+
+    @Autowired
+    private PartitionMaintenanceJob partitionMaintenanceJob;
+
+    @Autowired
+    private CategoryStatisticsView categoryStatisticsView;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.seed.writers:50}")
+    private int writerCount;
+
+    @Value("${app.seed.readers:1000}")
+    private int readerCount;
+
+    @Value("${app.seed.categories:12}")
+    private int categoryCount;
+
+    @Value("${app.seed.tags:60}")
+    private int tagCount;
+
+    @Value("${app.seed.articles:5000}")
+    private int articleCount;
+
+    @Value("${app.seed.comments-per-article:8}")
+    private int commentsPerArticle;
+
+    @Value("${app.seed.replies-per-comment:2}")
+    private int repliesPerComment;
+
+    @Value("${app.seed.history-days:365}")
+    private int historyDays;
+
+    @Value("${app.seed.password:Passw0rd!}")
+    private String password;
+
+    @Override
+    public void run(String... args) {
+        if (userRepository.existsByUsername(WRITER_PREFIX + 0)) {
+            logger.info("Seed data already present, skipping");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        // One hash for every seeded account; BCrypt per row would dominate the seeding time
+        String encodedPassword = passwordEncoder.encode(password);
+
+        List<User> writers = userRepository.saveAll(users(WRITER_PREFIX, writerCount, User.Role.WRITER, encodedPassword));
+        List<User> readers = userRepository.saveAll(users(READER_PREFIX, readerCount, User.Role.READER, encodedPassword));
+        List<Category> categories = categoryRepository.saveAll(categories());
+        List<Tag> tags = tagRepository.saveAll(tags());
+
+        int remaining = articleCount;
+        while (remaining > 0) {
+            int batch = Math.min(BATCH_SIZE, remaining);
+            List<Article> articles = new ArrayList<>(batch);
+            for (int i = 0; i < batch; i++) {
+                articles.add(article(articleCount - remaining + i, random, writers, categories, tags));
+            }
+            articles = articleRepository.saveAll(articles);
+            seedComments(articles, random, writers, readers);
+            remaining -= batch;
+        }
+
+        // Backdated comments and replies belong in their month's partition rather than the default one
+        YearMonth month = YearMonth.now();
+        partitionMaintenanceJob.createPartitions(month.minusMonths(historyDays / 28 + 1), month.plusMonths(1));
+        spreadTimestamps();
+        // Bulk-inserted comments and replies bypass the services that maintain the counters
+        counterReconciliationJob.reconcile();
+        categoryStatisticsView.refresh();
+        logger.info("Seeded {} writers, {} readers, {} categories, {} tags and {} articles in {} ms",
+                writerCount, readerCount, categoryCount, tagCount, articleCount, System.currentTimeMillis() - start);
+    }
+
+    private List<User> users(String prefix, int count, User.Role role, String encodedPassword) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + EMAIL_DOMAIN);
+            user.setPassword(encodedPassword);
+            user.setFirstName(capitalize(prefix));
+            user.setLastName(String.valueOf(i));
+            user.setRole(role);
+            user.setIsActive(true);
+            users.add(user);
+        }
+        return users;
+    }
+
+    private List<Category> categories() {
+        List<Category> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            Category category = new Category();
+            category.setName(capitalize(VOCABULARY.get(i % VOCABULARY.size())) + (i < VOCABULARY.size() ? "" : " " + i));
+            category.setDescription("Seeded category " + i);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private List<Tag> tags() {
+        List<Tag> tags = new ArrayList<>(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            Tag tag = new Tag();
+            tag.setName(VOCABULARY.get(i % VOCABULARY.size()) + "-" + i);
+            tags.add(tag);
+        }
+        return tags;
+    }
+
+    private Article article(int index, Random random, List<User> writers, List<Category> categories, List<Tag> tags) {
+        Article article = new Article();
+        article.setTitle(words(random, 6) + " " + index);
+        article.setDescription(words(random, 20));
+        article.setContent(paragraphs(random, 4 + random.nextInt(8)));
+        article.setFeaturedImage("https://images.seed.newsapp.local/" + index + ".jpg");
+
+        int roll = random.nextInt(100);
+        article.setStatus(roll < 80 ? Article.Status.PUBLISHED : roll < 95 ? Article.Status.DRAFT : Article.Status.ARCHIVED);
+        // Long-tailed popularity: most articles get a few views, a handful get most of them
+        article.setViews((int) (Math.pow(random.nextDouble(), 4) * 50000));
+
+        // A few prolific writers and popular categories, as in real newsrooms
+        article.setAuthor(writers.get(skewedIndex(random, writers.size())));
+        article.setCategory(categories.get(skewedIndex(random, categories.size())));
+
+        Set<Tag> articleTags = new HashSet<>();
+        int articleTagCount = 1 + random.nextInt(Math.min(5, tags.size()));
+        while (articleTags.size() < articleTagCount) {
+            articleTags.add(tags.get(skewedIndex(random, tags.size())));
+        }
+        article.setTags(articleTags);
+        return article;
+    }
+
+    private void seedComments(List<Article> articles, Random random, List<User> writers, List<User> readers) {
+        List<Comment> comments = new ArrayList<>();
+        for (Article article : articles) {
+            if (article.getStatus() != Article.Status.PUBLISHED) {
+                continue;
+            }
+            int count = commentsPerArticle == 0 ? 0 : random.nextInt(2 * commentsPerArticle + 1);
+            for (int i = 0; i < count; i++) {
+                User reader = readers.get(random.nextInt(readers.size()));
+                Comment comment = new Comment();
+                comment.setComment(words(random, 5 + random.nextInt(30)));
+                comment.setLikes(random.nextInt(20));
+                comment.setArticle(article);
+                comment.setUser(reader);
+                comment.setEmail(reader.getEmail());
+                comments.add(comment);
+            }
+        }
+        comments = commentRepository.saveAll(comments);
+
+        List<Reply> replies = new ArrayList<>();
+        for (Comment comment : comments) {
+            int count = repliesPerComment == 0 ? 0 : random.nextInt(2 * repliesPerComment + 1);
+            for (int i = 0; i < count; i++) {
+                // Authors answer their readers roughly a third of the time
+                User user = random.nextInt(3) == 0 ? comment.getArticle().getAuthor() : readers.get(random.nextInt(readers.size()));
+                Reply reply = new Reply();
+                reply.setContent(words(random, 3 + random.nextInt(20)));
+                reply.setLikes(random.nextInt(5));
+                reply.setComment(comment);
+                reply.setUser(user);
+                reply.setEmail(user.getEmail());
+                replies.add(reply);
+            }
+        }
+        replyRepository.saveAll(replies);
+    }
+
+    // created_at is stamped by Hibernate on insert, so spread it over the history window afterwards (derived from ids, hence repeatable)
+    private void spreadTimestamps() {
+        jdbcTemplate.update("UPDATE articles SET created_at = now() - ((id * 7919) % (? * 24)) * interval '1 hour', "
+                + "updated_at = now() - ((id * 7919) % (? * 24)) * interval '1 hour'", historyDays, historyDays);
+        jdbcTemplate.update("UPDATE comments c SET created_at = a.created_at + ((c.id * 31) % 72) * interval '1 hour', "
+                + "updated_at = a.created_at + ((c.id * 31) % 72) * interval '1 hour' "
+                + "FROM articles a WHERE a.id = c.article_id");
+        jdbcTemplate.update("UPDATE replies r SET created_at = c.created_at + ((r.id * 17) % 48) * interval '1 hour', "
+                + "updated_at = c.created_at + ((r.id * 17) % 48) * interval '1 hour' "
+                + "FROM comments c WHERE c.id = r.comment_id");
+        jdbcTemplate.update("UPDATE users SET created_at = now() - ((id * 104729) % (? * 24)) * interval '1 hour' "
+                + "WHERE email LIKE ?", historyDays, "%" + EMAIL_DOMAIN);
+    }
+
+    private int skewedIndex(Random random, int size) {
+        return (int) (Math.pow(random.nextDouble(), 2) * size);
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(VOCABULARY.get(random.nextInt(VOCABULARY.size())));
+        }
+        return text.toString();
+    }
+
+    private String paragraphs(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append("<p>").append(capitalize(words(random, 40 + random.nextInt(80)))).append(".</p>");
+        }
+        return text.toString();
+    }
+
+    private String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
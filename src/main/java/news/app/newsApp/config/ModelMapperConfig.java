@@ -1,6 +1,6 @@
 package news.app.newsApp.config;
 
-import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.Hibernate;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.context.annotation.Bean;
@@ -19,11 +19,8 @@ public class ModelMapperConfig {
             .setAmbiguityIgnored(true)
             .setMatchingStrategy(MatchingStrategies.STRICT)
             .setPropertyCondition(context -> {
-                // Skip uninitialized lazy-loaded collections
-                if (context.getSource() instanceof PersistentCollection) {
-                    return ((PersistentCollection<?>) context.getSource()).wasInitialized();
-                }
-                return context.getSource() != null;
+                // Skip lazy collections and proxies the fetch plan did not load
+                return context.getSource() != null && Hibernate.isInitialized(context.getSource());
             });
             
         return modelMapper;
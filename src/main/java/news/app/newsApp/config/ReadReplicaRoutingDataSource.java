@@ -0,0 +1,51 @@
+package news.app.newsApp.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Sends read-only transactions to the replica pool and everything else to the primary. Must sit behind a
+// LazyConnectionDataSourceProxy: the read-only flag is only set once the transaction has begun.
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    // Set while work that must read a write it just committed runs on this thread
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replicas, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replicas));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // Runs work with its read-only transactions on the primary; a no-op wrapper when replicas are disabled
+    public static void readFromPrimary(Runnable work) {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            work.run();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_READS.get() == null
+                && !readYourWritesTracker.requiresPrimary()) {
+            return Route.REPLICA;
+        }
+        readYourWritesTracker.onPrimaryConnection();
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,83 @@
+package news.app.newsApp.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps a user's reads on the primary for a short window after one of their write transactions commits,
+// so they see their own changes even when the replicas are a few seconds behind. State is per node.
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Set<String> ignoredTransactions;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window, Set<String> ignoredTransactions) {
+        this.windowNanos = window.toNanos();
+        this.ignoredTransactions = ignoredTransactions;
+    }
+
+    public boolean requiresPrimary() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteByUser.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        lastWriteByUser.remove(user, lastWrite);
+        return false;
+    }
+
+    // Called when a transaction takes a primary connection; only committed write transactions start the window
+    public void onPrimaryConnection() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName != null && ignoredTransactions.contains(transactionName)) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(user);
+            }
+        });
+    }
+
+    public void recordWrite(String user) {
+        long now = System.nanoTime();
+        lastWriteByUser.put(user, now);
+        if (lastWriteByUser.size() > PURGE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+        }
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
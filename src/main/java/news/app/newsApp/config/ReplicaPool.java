@@ -0,0 +1,166 @@
+package news.app.newsApp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Round-robins connections over the healthy replicas and falls back to the primary when none is usable.
+// A background check takes replicas out of rotation when they stop answering or lag too far behind.
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    // 0 on a primary or a replica that has replayed everything it received, otherwise ms since the last replayed commit
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private Counter fallbacks;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaPool(List<Replica> replicas, DataSource primary, long maxLagMillis) {
+        this.replicas = List.copyOf(replicas);
+        this.primary = primary;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("datasource.replicas.healthy", this, ReplicaPool::getHealthyCount)
+                .description("Replicas currently in the read rotation")
+                .register(registry);
+        fallbacks = Counter.builder("datasource.replicas.fallbacks")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(registry);
+    }
+
+    public void startHealthChecks(long intervalMillis) {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        if (fallbacks != null) {
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica connections use the configured credentials");
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    markDown(replica, "connection validation failed");
+                    continue;
+                }
+                long lagMillis = maxLagMillis > 0 ? lagMillis(connection) : 0;
+                if (lagMillis > maxLagMillis && maxLagMillis > 0) {
+                    markDown(replica, "replication lag " + lagMillis + "ms");
+                } else {
+                    markUp(replica);
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    public int getHealthyCount() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource hikariDataSource) {
+                hikariDataSource.close();
+            }
+        }
+    }
+
+    private long lagMillis(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(LAG_QUERY)) {
+            return result.next() ? result.getLong(1) : 0;
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("Replica {} taken out of rotation: {}", replica.name, reason);
+        }
+    }
+
+    private void markUp(Replica replica) {
+        if (!replica.healthy) {
+            replica.healthy = true;
+            logger.info("Replica {} back in rotation", replica.name);
+        }
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package news.app.newsApp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replicas.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replicas.health-check-interval-ms:5000}")
+    private long healthCheckIntervalMillis;
+
+    @Value("${app.datasource.replicas.max-lag-ms:10000}")
+    private long maxLagMillis;
+
+    @Value("${app.datasource.replicas.read-your-writes-window-ms:5000}")
+    private long readYourWritesWindowMillis;
+
+    // Write transactions that should not pin the user to the primary afterwards
+    @Value("${app.datasource.replicas.read-your-writes-ignored-transactions:}")
+    private List<String> readYourWritesIgnoredTransactions;
+
+    // Same pool settings as the auto-configured one; still a HikariDataSource bean so the concurrency limiter applies
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                   DataSourceProperties properties, MeterRegistry meterRegistry) {
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName(properties.getDriverClassName());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // Do not fail startup when a replica is down; the health check keeps it out of rotation
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaPool.Replica(replica.getPoolName(), replica));
+        }
+
+        ReplicaPool pool = new ReplicaPool(replicas, primaryDataSource, maxLagMillis);
+        pool.bindMetrics(meterRegistry);
+        pool.checkHealth();
+        pool.startHealthChecks(healthCheckIntervalMillis);
+        logger.info("Routing read-only transactions to {} replica(s), {} healthy", replicas.size(), pool.getHealthyCount());
+        return pool;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(Duration.ofMillis(readYourWritesWindowMillis),
+                new HashSet<>(readYourWritesIgnoredTransactions));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, ReplicaPool replicaPool,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        // The lazy proxy defers picking a target until the first statement, after the transaction is marked read-only
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaPool, readYourWritesTracker));
+    }
+}
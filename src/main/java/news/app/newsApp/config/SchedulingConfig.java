@@ -0,0 +1,10 @@
+package news.app.newsApp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs on Spring Boot's scheduler, sized by spring.task.scheduling.pool.size (see application.properties)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,36 @@
+package news.app.newsApp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        // Default to the pool size so waiting happens in the semaphore rather than inside Hikari
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int permits = environment.getProperty("app.datasource.concurrency-limit.permits", Integer.class, poolSize);
+        long acquireTimeoutMillis = environment.getProperty(
+                "app.datasource.concurrency-limit.acquire-timeout-ms", Long.class, 5000L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource) {
+                    logger.info("Limiting concurrent database access on '{}' to {} connections", beanName, permits);
+                    return new ConcurrencyLimitingDataSource(hikariDataSource, permits, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
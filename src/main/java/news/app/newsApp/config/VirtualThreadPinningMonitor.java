@@ -0,0 +1,60 @@
+package news.app.newsApp.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+// Logs every virtual thread that blocks while pinned to its carrier (e.g. inside a synchronized block)
+// for longer than the threshold, with the top of its stack, using the JDK 21 jdk.VirtualThreadPinned event.
+@Component
+@ConditionalOnProperty(name = "app.virtual-threads.pinning-diagnostics.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 8;
+
+    @Value("${app.virtual-threads.pinning-diagnostics.threshold-ms:20}")
+    private long thresholdMillis;
+
+    private RecordingStream recordingStream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::logPinnedThread);
+        recordingStream.startAsync();
+        logger.info("Virtual thread pinning diagnostics enabled (threshold {}ms)", thresholdMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void logPinnedThread(RecordedEvent event) {
+        String stack = event.getStackTrace() == null ? "<no stack trace>" : event.getStackTrace().getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(this::formatFrame)
+                .collect(Collectors.joining("\n\tat "));
+        logger.warn("Virtual thread pinned for {}ms\n\tat {}", event.getDuration().toMillis(), stack);
+    }
+
+    private String formatFrame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,13 +1,24 @@
 package news.app.newsApp.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import news.app.newsApp.dto.StatisticsDto;
+import news.app.newsApp.exception.ResourceNotFoundException;
+import news.app.newsApp.live.StatisticsStream;
 import news.app.newsApp.service.AdminStatisticsService;
+import news.app.newsApp.service.StatisticsExportService;
+import news.app.newsApp.service.StatisticsReport;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -19,11 +30,27 @@ public class AdminStatisticsController {
     @Autowired
     private AdminStatisticsService adminStatisticsService;
 
+    @Autowired
+    private StatisticsExportService statisticsExportService;
+
+    @Autowired
+    private StatisticsStream statisticsStream;
+
     @GetMapping("/dashboard")
     public ResponseEntity<StatisticsDto> getDashboardStatistics() {
         return ResponseEntity.ok(adminStatisticsService.getDashboardStatistics());
     }
 
+    // Server-sent "delta" events with the counts since the previous one; 503 when every connection slot is taken
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatistics() {
+        return statisticsStream.subscribe()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
+    }
+
     @GetMapping("/articles/overview")
     public ResponseEntity<Map<String, Object>> getArticlesOverview(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
@@ -58,4 +85,24 @@ public class AdminStatisticsController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         return ResponseEntity.ok(adminStatisticsService.getEngagementMetrics(startDate, endDate));
     }
-} 
\ No newline at end of file
+
+    // CSV written to the response while the rows are read; reports: daily-views, daily-comments,
+    // daily-registrations, writers, categories
+    @GetMapping("/export/{report}")
+    public void exportReport(
+            @PathVariable String report,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            HttpServletResponse response) throws IOException {
+        StatisticsReport statisticsReport = StatisticsReport.fromName(report)
+                .orElseThrow(() -> new ResourceNotFoundException("Report not found: " + report));
+        LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+        LocalDateTime start = startDate != null ? startDate : end.minusMonths(1);
+
+        response.setContentType("text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report + "_"
+                + start.toLocalDate() + "_" + end.toLocalDate() + ".csv\"");
+        statisticsExportService.export(statisticsReport, start, end, response.getWriter());
+    }
+}
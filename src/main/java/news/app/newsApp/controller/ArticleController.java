@@ -3,8 +3,16 @@ package news.app.newsApp.controller;
 import jakarta.validation.Valid;
 import news.app.newsApp.dto.ArticleDto;
 import news.app.newsApp.dto.ArticleRequest;
+import news.app.newsApp.dto.ArticleSummaryDto;
+import news.app.newsApp.dto.RelatedArticleDto;
+import news.app.newsApp.dto.TagFacetDto;
+import news.app.newsApp.dto.TrendingArticleDto;
+import news.app.newsApp.facet.ArticleFacetEngine;
+import news.app.newsApp.feed.PersonalizedFeedEngine;
 import news.app.newsApp.model.Article;
+import news.app.newsApp.related.RelatedArticlesEngine;
 import news.app.newsApp.service.ArticleService;
+import news.app.newsApp.trending.TrendingEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +21,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +34,18 @@ public class ArticleController {
     @Autowired
     private ArticleService articleService;
 
+    @Autowired
+    private TrendingEngine trendingEngine;
+
+    @Autowired
+    private RelatedArticlesEngine relatedArticlesEngine;
+
+    @Autowired
+    private PersonalizedFeedEngine personalizedFeedEngine;
+
+    @Autowired
+    private ArticleFacetEngine articleFacetEngine;
+
     @GetMapping
     public ResponseEntity<Page<ArticleDto>> getAllArticles(
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) 
@@ -41,6 +62,16 @@ public class ArticleController {
         return ResponseEntity.ok(articles);
     }
 
+    // Newest articles from the reader's own categories, authors and tags; the "/{id}" permitAll rule matches this path too
+    @GetMapping("/feed")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Page<ArticleDto>> getPersonalizedFeed(
+            @PageableDefault(size = 20) Pageable pageable,
+            Authentication authentication) {
+        Page<ArticleDto> articles = personalizedFeedEngine.getFeed(authentication.getName(), pageable);
+        return ResponseEntity.ok(articles);
+    }
+
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
     public ResponseEntity<ArticleDto> getArticleById(@PathVariable Long id) {
@@ -58,23 +89,49 @@ public class ArticleController {
     }
 
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<Page<ArticleDto>> getArticlesByAuthor(
+    public ResponseEntity<Page<ArticleSummaryDto>> getArticlesByAuthor(
             @PathVariable Long authorId, 
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) 
             Pageable pageable) {
-        Page<ArticleDto> articles = articleService.getArticlesByAuthor(authorId, pageable);
+        Page<ArticleSummaryDto> articles = articleService.getArticlesByAuthor(authorId, pageable);
         return ResponseEntity.ok(articles);
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<ArticleDto>> getArticlesByCategory(
+    public ResponseEntity<Page<ArticleSummaryDto>> getArticlesByCategory(
             @PathVariable Long categoryId, 
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) 
             Pageable pageable) {
-        Page<ArticleDto> articles = articleService.getArticlesByCategory(categoryId, pageable);
+        Page<ArticleSummaryDto> articles = articleService.getArticlesByCategory(categoryId, pageable);
+        return ResponseEntity.ok(articles);
+    }
+
+    // all: every tag required, any: at least one of them, none: none of them; newest first
+    @GetMapping("/by-tags")
+    public ResponseEntity<Page<ArticleSummaryDto>> getArticlesByTags(
+            @RequestParam(required = false) List<Long> all,
+            @RequestParam(required = false) List<Long> any,
+            @RequestParam(required = false) List<Long> none,
+            @RequestParam(defaultValue = "PUBLISHED") Article.Status status,
+            @RequestParam(required = false) Long category,
+            @PageableDefault(size = 10) Pageable pageable) {
+        Page<ArticleSummaryDto> articles = articleService.getArticlesByTags(
+                all != null ? all : List.of(),
+                any != null ? any : List.of(),
+                none != null ? none : List.of(),
+                status, category, pageable);
         return ResponseEntity.ok(articles);
     }
 
+    // Tag counts over the category's published articles, from in-memory bitsets
+    @GetMapping("/category/{categoryId}/tag-facets")
+    public ResponseEntity<List<TagFacetDto>> getCategoryTagFacets(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<TagFacetDto> facets = articleFacetEngine.getCategoryTagFacets(categoryId, limit);
+        return ResponseEntity.ok(facets);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Page<ArticleDto>> searchArticles(
             @RequestParam String keyword, 
@@ -84,12 +141,39 @@ public class ArticleController {
         return ResponseEntity.ok(articles);
     }
 
+    // Tag counts over all published articles matching the keyword
+    @GetMapping("/search/tag-facets")
+    public ResponseEntity<List<TagFacetDto>> getSearchTagFacets(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<TagFacetDto> facets = articleFacetEngine.getSearchTagFacets(keyword, limit);
+        return ResponseEntity.ok(facets);
+    }
+
     @GetMapping("/top")
     public ResponseEntity<List<ArticleDto>> getTopArticles(@RequestParam(defaultValue = "5") int count) {
         List<ArticleDto> articles = articleService.getTopArticles(count);
         return ResponseEntity.ok(articles);
     }
 
+    // Served from memory; scores decay over time so recent engagement outranks old view totals
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingArticleDto>> getTrendingArticles(
+            @RequestParam(required = false) Long category,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TrendingArticleDto> articles = trendingEngine.getTrending(category, limit);
+        return ResponseEntity.ok(articles);
+    }
+
+    // Precomputed per article, so this is a map lookup; unknown or unpublished articles get an empty list
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<RelatedArticleDto>> getRelatedArticles(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<RelatedArticleDto> articles = relatedArticlesEngine.getRelated(id, limit);
+        return ResponseEntity.ok(articles);
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'WRITER')")
     public ResponseEntity<ArticleDto> createArticle(@Valid @RequestBody ArticleRequest articleRequest) {
@@ -98,7 +182,7 @@ public class ArticleController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @articleService.getArticleById(#id).author.username == authentication.name")
+    @PreAuthorize("hasRole('ADMIN') or @articleService.isAuthor(#id, authentication.name)")
     public ResponseEntity<ArticleDto> updateArticle(
             @PathVariable Long id, 
             @Valid @RequestBody ArticleRequest articleRequest) {
@@ -107,14 +191,14 @@ public class ArticleController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @articleService.getArticleById(#id).author.username == authentication.name")
+    @PreAuthorize("hasRole('ADMIN') or @articleService.isAuthor(#id, authentication.name)")
     public ResponseEntity<Void> deleteArticle(@PathVariable Long id) {
         articleService.deleteArticle(id);
         return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/{id}/status")
-    @PreAuthorize("hasRole('ADMIN') or @articleService.getArticleById(#id).author.username == authentication.name")
+    @PreAuthorize("hasRole('ADMIN') or @articleService.isAuthor(#id, authentication.name)")
     public ResponseEntity<ArticleDto> updateArticleStatus(
             @PathVariable Long id, 
             @RequestParam Article.Status status) {
@@ -0,0 +1,59 @@
+package news.app.newsApp.controller;
+
+import news.app.newsApp.cache.AuthorTimelineCache;
+import news.app.newsApp.cache.CategoryFeedCache;
+import news.app.newsApp.cache.PublicResponseCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheController {
+
+    @Autowired
+    private PublicResponseCache publicResponseCache;
+
+    @Autowired
+    private AuthorTimelineCache authorTimelineCache;
+
+    @Autowired
+    private CategoryFeedCache categoryFeedCache;
+
+    @GetMapping("/public-responses")
+    public ResponseEntity<Map<String, Object>> getPublicResponseCacheStatistics() {
+        return ResponseEntity.ok(publicResponseCache.getStatistics());
+    }
+
+    @DeleteMapping("/public-responses")
+    public ResponseEntity<Void> clearPublicResponseCache() {
+        publicResponseCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/author-timelines")
+    public ResponseEntity<Map<String, Object>> getAuthorTimelineCacheStatistics() {
+        return ResponseEntity.ok(authorTimelineCache.getStatistics());
+    }
+
+    @DeleteMapping("/author-timelines")
+    public ResponseEntity<Void> clearAuthorTimelineCache() {
+        authorTimelineCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/category-feeds")
+    public ResponseEntity<Map<String, Object>> getCategoryFeedCacheStatistics() {
+        return ResponseEntity.ok(categoryFeedCache.getStatistics());
+    }
+
+    @DeleteMapping("/category-feeds")
+    public ResponseEntity<Void> clearCategoryFeedCache() {
+        categoryFeedCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -3,15 +3,19 @@ package news.app.newsApp.controller;
 import jakarta.validation.Valid;
 import news.app.newsApp.dto.CommentDto;
 import news.app.newsApp.dto.CommentRequest;
+import news.app.newsApp.live.CommentStream;
 import news.app.newsApp.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -20,6 +24,9 @@ public class CommentController {
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private CommentStream commentStream;
+
     @GetMapping("/article/{articleId}")
     public ResponseEntity<Page<CommentDto>> getCommentsByArticle(
             @PathVariable Long articleId, 
@@ -28,6 +35,20 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    // Server-sent "comment" events for the article's new, edited, liked, moderated and deleted comments and replies;
+    // 503 when every connection slot on this instance is taken
+    @GetMapping(value = "/article/{articleId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCommentsByArticle(@PathVariable Long articleId) {
+        if (!commentService.articleExists(articleId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return commentStream.subscribe(articleId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CommentDto> getCommentById(@PathVariable Long id) {
         CommentDto comment = commentService.getCommentById(id);
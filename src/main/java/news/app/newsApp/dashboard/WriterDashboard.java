@@ -0,0 +1,132 @@
+package news.app.newsApp.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import news.app.newsApp.dto.WriterStatisticsDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// One writer's dashboard: totals computed at builtAt plus every engagement event recorded since. Not thread-safe;
+// WriterDashboardEngine guards all instances with its lock.
+@Getter
+public class WriterDashboard {
+
+    private final long authorId;
+    private final long builtAt;
+    private final int maxTopArticles;
+    private long totalArticles;
+    private long totalViews;
+    private long totalComments;
+    private long totalLikes;
+    private final Map<String, Long> articlesByStatus;
+    private final Map<String, Long> categoryPerformance;
+    // Most viewed first, at most maxTopArticles long
+    private final List<TopArticle> topArticles;
+    // Changed since it was last written to writer_dashboard_snapshots
+    private boolean dirty;
+
+    public WriterDashboard(long authorId, long builtAt, int maxTopArticles, long totalArticles, long totalViews,
+                           long totalComments, long totalLikes, Map<String, Long> articlesByStatus,
+                           Map<String, Long> categoryPerformance, List<TopArticle> topArticles, boolean dirty) {
+        this.authorId = authorId;
+        this.builtAt = builtAt;
+        this.maxTopArticles = maxTopArticles;
+        this.totalArticles = totalArticles;
+        this.totalViews = totalViews;
+        this.totalComments = totalComments;
+        this.totalLikes = totalLikes;
+        this.articlesByStatus = new LinkedHashMap<>(articlesByStatus);
+        this.categoryPerformance = new LinkedHashMap<>(categoryPerformance);
+        this.topArticles = new ArrayList<>(topArticles);
+        this.topArticles.sort(TopArticle::compareTo);
+        while (this.topArticles.size() > maxTopArticles) {
+            this.topArticles.remove(this.topArticles.size() - 1);
+        }
+        this.dirty = dirty;
+    }
+
+    // views is the article's total including the ones being recorded
+    public void recordViews(long articleId, String title, long views, int count) {
+        totalViews += count;
+        dirty = true;
+
+        int existing = indexOf(articleId);
+        if (existing >= 0) {
+            topArticles.remove(existing);
+        } else if (topArticles.size() >= maxTopArticles && views <= topArticles.get(topArticles.size() - 1).views) {
+            return;
+        }
+        TopArticle article = new TopArticle(articleId, title, views);
+        int position = 0;
+        while (position < topArticles.size() && topArticles.get(position).compareTo(article) < 0) {
+            position++;
+        }
+        topArticles.add(position, article);
+        if (topArticles.size() > maxTopArticles) {
+            topArticles.remove(topArticles.size() - 1);
+        }
+    }
+
+    public void recordComments(int count) {
+        totalComments += count;
+        dirty = true;
+    }
+
+    public void recordLikes(int count) {
+        totalLikes += count;
+        dirty = true;
+    }
+
+    public WriterDashboard copy() {
+        return new WriterDashboard(authorId, builtAt, maxTopArticles, totalArticles, totalViews, totalComments, totalLikes,
+                articlesByStatus, categoryPerformance, topArticles, dirty);
+    }
+
+    public void markSaved() {
+        dirty = false;
+    }
+
+    public WriterStatisticsDto toDto() {
+        WriterStatisticsDto statistics = new WriterStatisticsDto();
+        statistics.setTotalArticles(totalArticles);
+        statistics.setTotalViews(totalViews);
+        statistics.setTotalComments(totalComments);
+        statistics.setTotalLikes(totalLikes);
+        statistics.setArticlesByStatus(new LinkedHashMap<>(articlesByStatus));
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (TopArticle article : topArticles) {
+            // Titles are not unique; the more viewed article keeps the entry
+            top.putIfAbsent(article.title, article.views);
+        }
+        statistics.setTopArticles(top);
+        statistics.setCategoryPerformance(new LinkedHashMap<>(categoryPerformance));
+        return statistics;
+    }
+
+    private int indexOf(long articleId) {
+        for (int i = 0; i < topArticles.size(); i++) {
+            if (topArticles.get(i).articleId == articleId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class TopArticle implements Comparable<TopArticle> {
+        private final long articleId;
+        private final String title;
+        private final long views;
+
+        // Most viewed first, then by id as the cold-start query orders them
+        @Override
+        public int compareTo(TopArticle other) {
+            int byViews = Long.compare(other.views, views);
+            return byViews != 0 ? byViews : Long.compare(articleId, other.articleId);
+        }
+    }
+}
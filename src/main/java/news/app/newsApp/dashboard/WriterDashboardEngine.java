@@ -0,0 +1,399 @@
+package news.app.newsApp.dashboard;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import news.app.newsApp.dto.WriterStatisticsDto;
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticleEngagementEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.event.CommentChangedEvent;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.repository.CommentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Serves /api/writer/statistics/dashboard from per-writer WriterDashboards. A writer's first load builds theirs with
+// four aggregate queries; after that committed views, comments and likes on their articles are added to it as they
+// happen, and article changes rebuild it in the background. Dashboards are snapshotted to writer_dashboard_snapshots
+// periodically and restored on startup.
+@Component
+public class WriterDashboardEngine {
+    private static final Logger logger = LoggerFactory.getLogger(WriterDashboardEngine.class);
+
+    private static final int MAX_PENDING_ARTICLES = 10000;
+
+    @Value("${app.dashboard.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.dashboard.top-articles:10}")
+    private int topArticles;
+
+    @Value("${app.dashboard.max-writers:5000}")
+    private int maxWriters;
+
+    @Value("${app.dashboard.max-articles:100000}")
+    private int maxArticles;
+
+    @Value("${app.dashboard.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private WriterDashboardStore snapshotStore;
+
+    // All guarded by lock
+    private final LinkedHashMap<Long, WriterDashboard> dashboards = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, WriterDashboard> eldest) {
+            return size() > maxWriters;
+        }
+    };
+    // Author, title and current views of articles seen in events, so their engagement is routed without a query
+    private final LinkedHashMap<Long, ArticleRef> articles = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ArticleRef> eldest) {
+            return size() > maxArticles;
+        }
+    };
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Event counts (by ArticleEngagementEvent.Type ordinal) for articles not in articles yet
+    private final Map<Long, int[]> pending = new ConcurrentHashMap<>();
+
+    // Articles not in articles yet whose comments were deleted or moderated; their writers are marked stale once resolved
+    private final Set<Long> staleArticles = ConcurrentHashMap.newKeySet();
+
+    // Writers whose articles changed or whose dashboard outlived max-age; rebuilt in the background
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            List<WriterDashboard> restored = snapshotStore.load(start - maxAgeMillis(), maxWriters, topArticles);
+            lock.lock();
+            try {
+                // Oldest first, so the newest end up most recently used
+                for (int i = restored.size() - 1; i >= 0; i--) {
+                    dashboards.put(restored.get(i).getAuthorId(), restored.get(i));
+                }
+            } finally {
+                lock.unlock();
+            }
+            logger.info("Restored {} writer dashboards in {} ms", restored.size(), System.currentTimeMillis() - start);
+        } catch (DataAccessException e) {
+            logger.warn("Could not restore the writer dashboard snapshot, starting empty", e);
+        }
+    }
+
+    public WriterStatisticsDto getDashboard(long authorId) {
+        lock.lock();
+        try {
+            WriterDashboard dashboard = dashboards.get(authorId);
+            if (dashboard != null) {
+                if (System.currentTimeMillis() - dashboard.getBuiltAt() > maxAgeMillis()) {
+                    // Served as is this time; the rebuild corrects drift from events this instance never saw
+                    stale.add(authorId);
+                }
+                return dashboard.toDto();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        WriterDashboard dashboard = build(authorId);
+        if (enabled) {
+            install(dashboard);
+        }
+        return dashboard.toDto();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ArticleEngagementEvent event) {
+        Long articleId = event.getArticleId();
+        // Dashboard totals count comments and their likes only
+        if (!enabled || articleId == null || event.isReply()) {
+            return;
+        }
+        lock.lock();
+        try {
+            ArticleRef article = articles.get(articleId);
+            if (article != null) {
+                record(articleId, article, event.getType(), 1, false);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (pending.size() < MAX_PENDING_ARTICLES || pending.containsKey(articleId)) {
+            pending.compute(articleId, (id, counts) -> {
+                int[] updated = counts != null ? counts : new int[ArticleEngagementEvent.Type.values().length];
+                updated[event.getType().ordinal()]++;
+                return updated;
+            });
+        }
+    }
+
+    // Deleting or moderating a comment takes it and its likes off the totals, which no engagement event describes,
+    // and it may have been counted by another instance; the writer's dashboard is rebuilt instead
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        if (!enabled || event.getReplyId() != null || (event.getType() != CommentChangedEvent.Type.DELETED
+                && event.getType() != CommentChangedEvent.Type.STATUS_CHANGED)) {
+            return;
+        }
+        lock.lock();
+        try {
+            ArticleRef article = articles.get(event.getArticleId());
+            if (article != null) {
+                if (dashboards.containsKey(article.authorId)) {
+                    stale.add(article.authorId);
+                }
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (staleArticles.size() < MAX_PENDING_ARTICLES) {
+            staleArticles.add(event.getArticleId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (event.getType() == ArticleChangedEvent.Type.DELETED) {
+                articles.remove(event.getArticleId());
+            } else {
+                ArticleRef article = articles.get(event.getArticleId());
+                if (article != null) {
+                    article.title = event.getTitle();
+                }
+            }
+            // Counts per status and category move with the change, which the event alone does not describe
+            if (event.getAuthorId() != null && dashboards.containsKey(event.getAuthorId())) {
+                stale.add(event.getAuthorId());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (Long authorId : event.getAuthorIds()) {
+                if (dashboards.containsKey(authorId)) {
+                    stale.add(authorId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.refresh-interval-ms:2000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        resolvePending();
+        rebuildStale();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.snapshot-interval-ms:60000}",
+            initialDelayString = "${app.dashboard.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!enabled) {
+            return;
+        }
+        List<WriterDashboard> changed = new ArrayList<>();
+        lock.lock();
+        try {
+            for (WriterDashboard dashboard : dashboards.values()) {
+                if (dashboard.isDirty()) {
+                    changed.add(dashboard.copy());
+                    dashboard.markSaved();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            snapshotStore.save(changed);
+            logger.debug("Snapshotted {} writer dashboards", changed.size());
+        } catch (DataAccessException e) {
+            // The rows stay as they were; the next snapshot writes whatever changes after this one
+            logger.warn("Could not write the writer dashboard snapshot", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private void resolvePending() {
+        if (pending.isEmpty() && staleArticles.isEmpty()) {
+            return;
+        }
+        Set<Long> unresolved = new LinkedHashSet<>(pending.keySet());
+        unresolved.addAll(staleArticles);
+        List<Long> articleIds = new ArrayList<>(unresolved);
+        List<Object[]> rows = articleRepository.findAuthorsTitlesAndViews(articleIds);
+        lock.lock();
+        try {
+            for (Object[] row : rows) {
+                Long articleId = (Long) row[0];
+                ArticleRef article = new ArticleRef((Long) row[1], (String) row[2], ((Number) row[3]).longValue());
+                articles.put(articleId, article);
+                if (staleArticles.remove(articleId) && dashboards.containsKey(article.authorId)) {
+                    stale.add(article.authorId);
+                }
+                int[] counts = pending.remove(articleId);
+                if (counts == null) {
+                    continue;
+                }
+                for (ArticleEngagementEvent.Type type : ArticleEngagementEvent.Type.values()) {
+                    if (counts[type.ordinal()] > 0) {
+                        // The row's views already include the parked ones
+                        record(articleId, article, type, counts[type.ordinal()], true);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Deleted in the meantime
+        articleIds.forEach(pending::remove);
+        articleIds.forEach(staleArticles::remove);
+    }
+
+    private void rebuildStale() {
+        for (Long authorId : new ArrayList<>(stale)) {
+            // Removed first so changes made while this one is built mark it again
+            stale.remove(authorId);
+            try {
+                install(build(authorId));
+            } catch (DataAccessException e) {
+                stale.add(authorId);
+                logger.warn("Could not rebuild the dashboard of writer {}", authorId, e);
+                return;
+            }
+        }
+    }
+
+    // Called with lock held
+    private void record(long articleId, ArticleRef article, ArticleEngagementEvent.Type type, int count, boolean viewsIncluded) {
+        if (type == ArticleEngagementEvent.Type.VIEW && !viewsIncluded) {
+            article.views += count;
+        }
+        WriterDashboard dashboard = dashboards.get(article.authorId);
+        if (dashboard == null) {
+            return;
+        }
+        if (type == ArticleEngagementEvent.Type.VIEW) {
+            dashboard.recordViews(articleId, article.title, article.views, count);
+        } else if (type == ArticleEngagementEvent.Type.COMMENT) {
+            dashboard.recordComments(count);
+        } else {
+            dashboard.recordLikes(count);
+        }
+    }
+
+    private WriterDashboard build(long authorId) {
+        long builtAt = System.currentTimeMillis();
+
+        Map<String, Long> articlesByStatus = new LinkedHashMap<>();
+        for (Article.Status status : Article.Status.values()) {
+            articlesByStatus.put(status.name(), 0L);
+        }
+        long totalArticles = 0;
+        long totalViews = 0;
+        long totalComments = 0;
+        for (Object[] row : articleRepository.getDashboardTotalsByAuthor(authorId)) {
+            long count = ((Number) row[1]).longValue();
+            articlesByStatus.put(((Article.Status) row[0]).name(), count);
+            totalArticles += count;
+            totalViews += ((Number) row[2]).longValue();
+            totalComments += ((Number) row[3]).longValue();
+        }
+        long totalLikes = commentRepository.sumLikesByArticleAuthor(authorId);
+
+        Map<String, Long> categoryPerformance = new LinkedHashMap<>();
+        for (Object[] row : articleRepository.getCategoryPerformanceByAuthorAsList(authorId)) {
+            categoryPerformance.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        List<WriterDashboard.TopArticle> top = new ArrayList<>(topArticles);
+        for (Object[] row : articleRepository.findTopArticlesByAuthor(authorId, PageRequest.of(0, topArticles))) {
+            top.add(new WriterDashboard.TopArticle((Long) row[0], (String) row[1], ((Number) row[2]).longValue()));
+        }
+
+        return new WriterDashboard(authorId, builtAt, topArticles, totalArticles, totalViews, totalComments, totalLikes,
+                articlesByStatus, categoryPerformance, top, true);
+    }
+
+    // Events applied to the previous dashboard between build's queries and this call are lost; the next
+    // max-age rebuild corrects them
+    private void install(WriterDashboard dashboard) {
+        lock.lock();
+        try {
+            dashboards.put(dashboard.getAuthorId(), dashboard);
+            for (WriterDashboard.TopArticle top : dashboard.getTopArticles()) {
+                articles.putIfAbsent(top.getArticleId(), new ArticleRef(dashboard.getAuthorId(), top.getTitle(), top.getViews()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long maxAgeMillis() {
+        return maxAgeMinutes * 60_000;
+    }
+
+    private static final class ArticleRef {
+        final long authorId;
+        String title;
+        long views;
+
+        ArticleRef(long authorId, String title, long views) {
+            this.authorId = authorId;
+            this.title = title;
+            this.views = views;
+        }
+    }
+}
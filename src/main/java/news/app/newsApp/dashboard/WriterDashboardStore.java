@@ -0,0 +1,128 @@
+package news.app.newsApp.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class WriterDashboardStore {
+
+    private static final String LOAD_SQL =
+            "SELECT author_id, built_at, total_articles, total_views, total_comments, total_likes, " +
+            "articles_by_status, category_performance, top_articles " +
+            "FROM writer_dashboard_snapshots WHERE built_at > ? ORDER BY built_at DESC LIMIT ?";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO writer_dashboard_snapshots (author_id, built_at, total_articles, total_views, total_comments, " +
+            "total_likes, articles_by_status, category_performance, top_articles) " +
+            "SELECT u.id, ?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), CAST(? AS jsonb) FROM users u WHERE u.id = ? " +
+            "ON CONFLICT (author_id) DO UPDATE SET built_at = EXCLUDED.built_at, total_articles = EXCLUDED.total_articles, " +
+            "total_views = EXCLUDED.total_views, total_comments = EXCLUDED.total_comments, " +
+            "total_likes = EXCLUDED.total_likes, articles_by_status = EXCLUDED.articles_by_status, " +
+            "category_performance = EXCLUDED.category_performance, top_articles = EXCLUDED.top_articles";
+
+    private static final TypeReference<LinkedHashMap<String, Long>> COUNTS = new TypeReference<>() {
+    };
+
+    private static final TypeReference<List<Map<String, Object>>> ARTICLES = new TypeReference<>() {
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The newest dashboards built after builtAfter, newest first
+    public List<WriterDashboard> load(long builtAfter, int limit, int maxTopArticles) {
+        return jdbcTemplate.query(LOAD_SQL, (rs, rowNum) -> new WriterDashboard(
+                rs.getLong("author_id"),
+                rs.getTimestamp("built_at").getTime(),
+                maxTopArticles,
+                rs.getLong("total_articles"),
+                rs.getLong("total_views"),
+                rs.getLong("total_comments"),
+                rs.getLong("total_likes"),
+                read(rs, "articles_by_status", COUNTS),
+                read(rs, "category_performance", COUNTS),
+                toTopArticles(read(rs, "top_articles", ARTICLES)),
+                false), new Timestamp(builtAfter), limit);
+    }
+
+    // Writers deleted in the meantime match no users row and are skipped
+    public void save(List<WriterDashboard> dashboards) {
+        if (dashboards.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                WriterDashboard dashboard = dashboards.get(i);
+                ps.setTimestamp(1, new Timestamp(dashboard.getBuiltAt()));
+                ps.setLong(2, dashboard.getTotalArticles());
+                ps.setLong(3, dashboard.getTotalViews());
+                ps.setLong(4, dashboard.getTotalComments());
+                ps.setLong(5, dashboard.getTotalLikes());
+                ps.setString(6, write(dashboard.getArticlesByStatus()));
+                ps.setString(7, write(dashboard.getCategoryPerformance()));
+                ps.setString(8, write(fromTopArticles(dashboard.getTopArticles())));
+                ps.setLong(9, dashboard.getAuthorId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return dashboards.size();
+            }
+        });
+    }
+
+    private <T> T read(ResultSet rs, String column, TypeReference<T> type) throws SQLException {
+        try {
+            return objectMapper.readValue(rs.getString(column), type);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable " + column + " in writer_dashboard_snapshots", e);
+        }
+    }
+
+    private String write(Object value) throws SQLException {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Could not serialize a writer dashboard", e);
+        }
+    }
+
+    private static List<WriterDashboard.TopArticle> toTopArticles(List<Map<String, Object>> rows) {
+        List<WriterDashboard.TopArticle> articles = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            articles.add(new WriterDashboard.TopArticle(((Number) row.get("articleId")).longValue(),
+                    (String) row.get("title"), ((Number) row.get("views")).longValue()));
+        }
+        return articles;
+    }
+
+    private static List<Map<String, Object>> fromTopArticles(List<WriterDashboard.TopArticle> articles) {
+        List<Map<String, Object>> rows = new ArrayList<>(articles.size());
+        for (WriterDashboard.TopArticle article : articles) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("articleId", article.getArticleId());
+            row.put("title", article.getTitle());
+            row.put("views", article.getViews());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
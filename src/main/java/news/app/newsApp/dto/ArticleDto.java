@@ -18,9 +18,11 @@ public class ArticleDto {
     private Integer views;
     private UserDto author;
     private CategoryDto category;
+    private LocalDateTime publishAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<ArticleImageDto> images;
     private Set<TagDto> tags;
     private Integer commentCount;
+    private Integer replyCount;
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package news.app.newsApp.dto;
 
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import news.app.newsApp.model.Article;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -20,6 +22,10 @@ public class ArticleRequest {
     
     private Article.Status status = Article.Status.DRAFT;
     
+    // Publishes the article at this time; it stays a draft until then
+    @Future(message = "Publish time must be in the future")
+    private LocalDateTime publishAt;
+    
     private Long categoryId;
     
     private List<Long> tagIds;
@@ -0,0 +1,23 @@
+package news.app.newsApp.dto;
+
+import lombok.Data;
+import news.app.newsApp.model.Article;
+
+import java.time.LocalDateTime;
+
+// List view of an article: no content, images or tags
+@Data
+public class ArticleSummaryDto {
+    private Long id;
+    private String title;
+    private String description;
+    private String featuredImage;
+    private Article.Status status;
+    private Integer views;
+    private Integer commentCount;
+    private Integer replyCount;
+    private Long categoryId;
+    private String categoryName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
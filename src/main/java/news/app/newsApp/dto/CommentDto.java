@@ -11,6 +11,7 @@ public class CommentDto {
     private String comment;
     private Integer likes;
     private Integer status;
+    private Integer replyCount;
     private Long articleId;
     private UserDto user;
     private String email;
@@ -0,0 +1,14 @@
+package news.app.newsApp.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class RelatedArticleDto {
+    private Long articleId;
+    private String title;
+    private Long categoryId;
+    private LocalDateTime createdAt;
+    private Double score;
+}
@@ -0,0 +1,10 @@
+package news.app.newsApp.dto;
+
+import lombok.Data;
+
+@Data
+public class TagFacetDto {
+    private Long tagId;
+    private String name;
+    private Integer count;
+}
@@ -0,0 +1,15 @@
+package news.app.newsApp.dto;
+
+import lombok.Data;
+
+@Data
+public class TrendingArticleDto {
+    private Long articleId;
+    private String title;
+    private Long categoryId;
+    private Double score;
+    // Event counts within the trending window
+    private Integer views;
+    private Integer comments;
+    private Integer likes;
+}
@@ -0,0 +1,27 @@
+package news.app.newsApp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import news.app.newsApp.model.Article;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ArticleChangedEvent {
+
+    private final Long articleId;
+    private final String title;
+    private final Long authorId;
+    private final Long categoryId;
+    private final Article.Status status;
+    private final Type type;
+    // Set for drafts scheduled by publishAt
+    private final LocalDateTime publishAt;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, STATUS_CHANGED
+    }
+}
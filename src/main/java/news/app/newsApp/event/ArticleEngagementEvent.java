@@ -0,0 +1,20 @@
+package news.app.newsApp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ArticleEngagementEvent {
+
+    private final Long articleId;
+    private final Type type;
+    // Set for replies and likes of replies, which trending counts but the writer dashboard totals do not
+    private final boolean reply;
+
+    public enum Type {
+        VIEW, COMMENT, LIKE
+    }
+}
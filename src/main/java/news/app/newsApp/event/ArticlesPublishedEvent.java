@@ -0,0 +1,19 @@
+package news.app.newsApp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Set;
+
+// One batch of scheduled articles flipped to PUBLISHED together; listeners invalidate once per batch
+@Getter
+@ToString
+@AllArgsConstructor
+public class ArticlesPublishedEvent {
+
+    private final List<Long> articleIds;
+    private final Set<Long> authorIds;
+    private final Set<Long> categoryIds;
+}
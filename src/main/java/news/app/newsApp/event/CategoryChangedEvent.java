@@ -0,0 +1,13 @@
+package news.app.newsApp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class CategoryChangedEvent {
+
+    private final Long categoryId;
+}
@@ -0,0 +1,40 @@
+package news.app.newsApp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import news.app.newsApp.dto.CommentDto;
+import news.app.newsApp.dto.ReplyDto;
+
+// A comment or reply as readers of its article see it after the change; pushed as is to the article's live channel
+@Getter
+@ToString
+@AllArgsConstructor
+public class CommentChangedEvent {
+
+    private final Long articleId;
+    private final Long commentId;
+    // Set when the change is to a reply of the comment
+    private final Long replyId;
+    private final Type type;
+    // The comment or reply as GET /api/comments/article/{id} returns it; both null for deletions
+    private final CommentDto comment;
+    private final ReplyDto reply;
+
+    public enum Type {
+        CREATED, UPDATED, LIKED, STATUS_CHANGED, DELETED
+    }
+
+    public static CommentChangedEvent comment(Type type, Long articleId, CommentDto comment) {
+        return new CommentChangedEvent(articleId, comment.getId(), null, type, comment, null);
+    }
+
+    public static CommentChangedEvent reply(Type type, Long articleId, Long commentId, ReplyDto reply) {
+        return new CommentChangedEvent(articleId, commentId, reply.getId(), type, null, reply);
+    }
+
+    public int likes() {
+        Integer likes = comment != null ? comment.getLikes() : reply != null ? reply.getLikes() : null;
+        return likes != null ? likes : 0;
+    }
+}
@@ -0,0 +1,16 @@
+package news.app.newsApp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import news.app.newsApp.model.User;
+
+// A new account, from sign-up or created by an admin
+@Getter
+@ToString
+@AllArgsConstructor
+public class UserRegisteredEvent {
+
+    private final Long userId;
+    private final User.Role role;
+}
@@ -0,0 +1,26 @@
+package news.app.newsApp.exception;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+    private final String operation;
+    private final int budget;
+    private final int statements;
+
+    public SqlStatementBudgetExceededException(String operation, int budget, int statements, String queryShapes) {
+        super(String.format("%s issued %d SQL statements (budget %d):%n%s", operation, statements, budget, queryShapes));
+        this.operation = operation;
+        this.budget = budget;
+        this.statements = statements;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+}
@@ -0,0 +1,173 @@
+package news.app.newsApp.facet;
+
+import news.app.newsApp.dto.TagFacetDto;
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Tag;
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Keeps the ArticleFacetIndex behind the tag facet and tag filter endpoints: built from the database on startup and nightly, and
+// updated whenever ArticleService creates, updates, archives or deletes an article
+@Component
+public class ArticleFacetEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleFacetEngine.class);
+
+    @Value("${app.facets.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.facets.max-search-results:10000}")
+    private int maxSearchResults;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    private volatile ArticleFacetIndex index = new ArticleFacetIndex();
+
+    // Articles changed while a rebuild was reading the database, replayed once the new index is in place
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.facets.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        if (!enabled || !rebuildLock.tryLock()) {
+            return;
+        }
+        rebuilding = true;
+        try {
+            long start = System.currentTimeMillis();
+            ArticleFacetIndex rebuilt = new ArticleFacetIndex();
+
+            Map<Long, List<Long>> tagIds = new HashMap<>();
+            for (Object[] row : articleRepository.findAllTagIds()) {
+                tagIds.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            }
+            for (Object[] row : articleRepository.findCategoriesAndStatuses()) {
+                Long articleId = (Long) row[0];
+                rebuilt.put(articleId, (Long) row[1], (Article.Status) row[2], tagIds.getOrDefault(articleId, List.of()));
+            }
+
+            index = rebuilt;
+            rebuilding = false;
+            for (Long articleId : new ArrayList<>(changedDuringRebuild)) {
+                changedDuringRebuild.remove(articleId);
+                refresh(articleId);
+            }
+            logger.info("Built tag facets for {} articles in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuilding = false;
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(event.getArticleId());
+        }
+        if (event.getType() == ArticleChangedEvent.Type.DELETED) {
+            index.remove(event.getArticleId());
+        } else {
+            refresh(event.getArticleId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getArticleIds());
+        }
+        event.getArticleIds().forEach(this::refresh);
+    }
+
+    // Newest first; see ArticleFacetIndex.match
+    public long[] matchByTags(Collection<Long> all, Collection<Long> any, Collection<Long> none,
+                              Article.Status status, Long categoryId) {
+        return index.match(all, any, none, status, categoryId);
+    }
+
+    public List<TagFacetDto> getCategoryTagFacets(Long categoryId, int limit) {
+        return toFacets(index.tagCountsInCategory(categoryId), limit);
+    }
+
+    // Facets over every published article matching the keyword, not only the requested page
+    public List<TagFacetDto> getSearchTagFacets(String keyword, int limit) {
+        List<Long> articleIds = articleRepository.searchPublishedIds(keyword);
+        if (articleIds.size() > maxSearchResults) {
+            articleIds = articleIds.subList(0, maxSearchResults);
+        }
+        return toFacets(index.tagCountsAmong(articleIds), limit);
+    }
+
+    // Largest counts first; tags deleted since the index was built are dropped with the name lookup
+    private List<TagFacetDto> toFacets(Map<Long, Integer> counts, int limit) {
+        if (counts.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Map.Entry<Long, Integer>> top = counts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+        Map<Long, String> names = tagRepository.findAllById(top.stream().map(Map.Entry::getKey).toList()).stream()
+                .collect(Collectors.toMap(Tag::getId, Tag::getName));
+
+        List<TagFacetDto> facets = new ArrayList<>(top.size());
+        for (Map.Entry<Long, Integer> entry : top) {
+            String name = names.get(entry.getKey());
+            if (name != null) {
+                TagFacetDto facet = new TagFacetDto();
+                facet.setTagId(entry.getKey());
+                facet.setName(name);
+                facet.setCount(entry.getValue());
+                facets.add(facet);
+            }
+        }
+        return facets;
+    }
+
+    // Reloads one article's category, status and tags; removes it if it no longer exists
+    private void refresh(Long articleId) {
+        List<Object[]> rows = articleRepository.findCategoryAndStatus(articleId);
+        if (rows.isEmpty()) {
+            index.remove(articleId);
+            return;
+        }
+        Object[] row = rows.get(0);
+        index.put(articleId, (Long) row[1], (Article.Status) row[2], articleRepository.findTagIds(articleId));
+    }
+}
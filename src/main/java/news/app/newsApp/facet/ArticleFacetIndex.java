@@ -0,0 +1,231 @@
+package news.app.newsApp.facet;
+
+import news.app.newsApp.model.Article;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Articles as bitsets: each article gets a dense ordinal, and every tag, category and status keeps the set of
+// ordinals of its articles. Tag facets and tag filters are intersections, unions and differences of those sets.
+public class ArticleFacetIndex {
+
+    private static final long NO_CATEGORY = 0;
+
+    // All guarded by lock
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, BitSet> byTag = new HashMap<>();
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<Article.Status, BitSet> byStatus = new EnumMap<>(Article.Status.class);
+    // Per ordinal, to map matches back to articles and to clear exactly an article's bits when it is removed
+    private long[] articleIds = new long[1024];
+    private long[] categoryIds = new long[1024];
+    private Article.Status[] statuses = new Article.Status[1024];
+    private long[][] tagIds = new long[1024][];
+    // Ordinals of removed articles, reused before the ordinal range grows
+    private final BitSet freeOrdinals = new BitSet();
+    private int nextOrdinal;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public int size() {
+        lock.lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(long articleId, Long categoryId, Article.Status status, Collection<Long> articleTagIds) {
+        lock.lock();
+        try {
+            removeLocked(articleId);
+            int ordinal = allocate();
+            ordinals.put(articleId, ordinal);
+            articleIds[ordinal] = articleId;
+
+            categoryIds[ordinal] = categoryId != null ? categoryId : NO_CATEGORY;
+            if (categoryId != null) {
+                byCategory.computeIfAbsent(categoryId, id -> new BitSet()).set(ordinal);
+            }
+            statuses[ordinal] = status;
+            if (status != null) {
+                byStatus.computeIfAbsent(status, s -> new BitSet()).set(ordinal);
+            }
+            long[] tags = articleTagIds.stream().mapToLong(Long::longValue).distinct().toArray();
+            tagIds[ordinal] = tags;
+            for (long tagId : tags) {
+                byTag.computeIfAbsent(tagId, id -> new BitSet()).set(ordinal);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+        lock.lock();
+        try {
+            removeLocked(articleId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Tag id -> number of published articles in the category carrying it
+    public Map<Long, Integer> tagCountsInCategory(long categoryId) {
+        lock.lock();
+        try {
+            BitSet category = byCategory.get(categoryId);
+            if (category == null) {
+                return Map.of();
+            }
+            BitSet scope = published();
+            scope.and(category);
+            return tagCounts(scope);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Tag id -> number of the given published articles carrying it; articles the index does not hold are ignored
+    public Map<Long, Integer> tagCountsAmong(Collection<Long> articleIds) {
+        lock.lock();
+        try {
+            BitSet scope = new BitSet(nextOrdinal);
+            for (Long articleId : articleIds) {
+                Integer ordinal = ordinals.get(articleId);
+                if (ordinal != null) {
+                    scope.set(ordinal);
+                }
+            }
+            scope.and(published());
+            return scope.isEmpty() ? Map.of() : tagCounts(scope);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ids of the articles with the status (and category, when given) that carry every tag in all, at least one tag
+    // in any (when not empty) and no tag in none; newest first, which for sequence ids is highest first
+    public long[] match(Collection<Long> all, Collection<Long> any, Collection<Long> none,
+                        Article.Status status, Long categoryId) {
+        lock.lock();
+        try {
+            BitSet result = copy(byStatus.get(status));
+            if (categoryId != null) {
+                result.and(orEmpty(byCategory.get(categoryId)));
+            }
+            // Rarest tags first, so the set shrinks as early as possible
+            BitSet[] required = all.stream().distinct().map(tagId -> orEmpty(byTag.get(tagId)))
+                    .sorted((a, b) -> Integer.compare(a.cardinality(), b.cardinality()))
+                    .toArray(BitSet[]::new);
+            for (int i = 0; i < required.length && !result.isEmpty(); i++) {
+                result.and(required[i]);
+            }
+            if (!any.isEmpty() && !result.isEmpty()) {
+                BitSet union = new BitSet(nextOrdinal);
+                for (Long tagId : any) {
+                    union.or(orEmpty(byTag.get(tagId)));
+                }
+                result.and(union);
+            }
+            for (Long tagId : none) {
+                BitSet excluded = byTag.get(tagId);
+                if (excluded != null) {
+                    result.andNot(excluded);
+                }
+            }
+
+            long[] matches = new long[result.cardinality()];
+            int count = 0;
+            for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+                matches[count++] = articleIds[ordinal];
+            }
+            Arrays.sort(matches);
+            for (int i = 0, j = matches.length - 1; i < j; i++, j--) {
+                long swap = matches[i];
+                matches[i] = matches[j];
+                matches[j] = swap;
+            }
+            return matches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<Long, Integer> tagCounts(BitSet scope) {
+        Map<Long, Integer> counts = new HashMap<>();
+        BitSet intersection = new BitSet(nextOrdinal);
+        for (Map.Entry<Long, BitSet> tag : byTag.entrySet()) {
+            intersection.clear();
+            intersection.or(tag.getValue());
+            intersection.and(scope);
+            int count = intersection.cardinality();
+            if (count > 0) {
+                counts.put(tag.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    private BitSet published() {
+        return copy(byStatus.get(Article.Status.PUBLISHED));
+    }
+
+    private static BitSet copy(BitSet bits) {
+        return bits != null ? (BitSet) bits.clone() : new BitSet();
+    }
+
+    private static BitSet orEmpty(BitSet bits) {
+        return bits != null ? bits : new BitSet();
+    }
+
+    private void removeLocked(long articleId) {
+        Integer ordinal = ordinals.remove(articleId);
+        if (ordinal == null) {
+            return;
+        }
+        long categoryId = categoryIds[ordinal];
+        if (categoryId != NO_CATEGORY) {
+            clear(byCategory, categoryId, ordinal);
+        }
+        if (statuses[ordinal] != null) {
+            byStatus.get(statuses[ordinal]).clear(ordinal);
+        }
+        for (long tagId : tagIds[ordinal]) {
+            clear(byTag, tagId, ordinal);
+        }
+        categoryIds[ordinal] = NO_CATEGORY;
+        statuses[ordinal] = null;
+        tagIds[ordinal] = null;
+        freeOrdinals.set(ordinal);
+    }
+
+    private static void clear(Map<Long, BitSet> sets, long key, int ordinal) {
+        BitSet bits = sets.get(key);
+        bits.clear(ordinal);
+        if (bits.isEmpty()) {
+            sets.remove(key);
+        }
+    }
+
+    private int allocate() {
+        int free = freeOrdinals.nextSetBit(0);
+        if (free >= 0) {
+            freeOrdinals.clear(free);
+            return free;
+        }
+        if (nextOrdinal == articleIds.length) {
+            int capacity = nextOrdinal * 2;
+            articleIds = Arrays.copyOf(articleIds, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            tagIds = Arrays.copyOf(tagIds, capacity);
+        }
+        return nextOrdinal++;
+    }
+}
@@ -0,0 +1,12 @@
+package news.app.newsApp.feed;
+
+// One entry of a candidate stream: a published article and its creation time
+final class FeedCandidate {
+    final long articleId;
+    final long createdAtMillis;
+
+    FeedCandidate(long articleId, long createdAtMillis) {
+        this.articleId = articleId;
+        this.createdAtMillis = createdAtMillis;
+    }
+}
@@ -0,0 +1,120 @@
+package news.app.newsApp.feed;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+class FeedCandidateStore {
+
+    // One row per recent comment or reply: the article it was written under, with that article's category, author and tags
+    private static final String HISTORY_SQL =
+            "SELECT a.id, a.category_id, a.author_id, " +
+            "       ARRAY(SELECT t.tag_id FROM article_tags t WHERE t.article_id = a.id) AS tag_ids " +
+            "FROM ((SELECT c.article_id FROM comments c WHERE c.user_id = ? AND c.status = 1 " +
+            "       ORDER BY c.created_at DESC LIMIT ?) " +
+            "      UNION ALL " +
+            "      (SELECT c.article_id FROM replies r JOIN comments c ON c.id = r.comment_id " +
+            "       WHERE r.user_id = ? AND r.status = 1 ORDER BY r.created_at DESC LIMIT ?)) h " +
+            "JOIN articles a ON a.id = h.article_id";
+
+    // Newest published articles per followed category, author and tag (and overall, for readers without history),
+    // each stream a bounded index scan
+    private static final String STREAMS_SQL =
+            "SELECT 'C' AS kind, s.id AS stream_id, x.id, x.created_at FROM unnest(?::bigint[]) AS s(id) CROSS JOIN LATERAL (" +
+            "    SELECT a.id, a.created_at FROM articles a " +
+            "    WHERE a.category_id = s.id AND a.status = 'PUBLISHED' AND a.created_at > ? " +
+            "    ORDER BY a.created_at DESC LIMIT ?) x " +
+            "UNION ALL " +
+            "SELECT 'A', s.id, x.id, x.created_at FROM unnest(?::bigint[]) AS s(id) CROSS JOIN LATERAL (" +
+            "    SELECT a.id, a.created_at FROM articles a " +
+            "    WHERE a.author_id = s.id AND a.status = 'PUBLISHED' AND a.created_at > ? " +
+            "    ORDER BY a.created_at DESC LIMIT ?) x " +
+            "UNION ALL " +
+            "SELECT 'T', s.id, x.id, x.created_at FROM unnest(?::bigint[]) AS s(id) CROSS JOIN LATERAL (" +
+            "    SELECT a.id, a.created_at FROM article_tags t JOIN articles a ON a.id = t.article_id " +
+            "    WHERE t.tag_id = s.id AND a.status = 'PUBLISHED' AND a.created_at > ? " +
+            "    ORDER BY a.created_at DESC LIMIT ?) x " +
+            "UNION ALL " +
+            "(SELECT 'L', 0, a.id, a.created_at FROM articles a " +
+            " WHERE ? AND a.status = 'PUBLISHED' AND a.created_at > ? " +
+            " ORDER BY a.created_at DESC LIMIT ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    ReaderProfile loadProfile(long userId, int historySize, int maxInterests) {
+        Map<Long, Integer> categories = new HashMap<>();
+        Map<Long, Integer> authors = new HashMap<>();
+        Map<Long, Integer> tags = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+
+        jdbcTemplate.query(HISTORY_SQL, rs -> {
+            seen.add(rs.getLong(1));
+            Long categoryId = rs.getObject(2, Long.class);
+            if (categoryId != null) {
+                categories.merge(categoryId, 1, Integer::sum);
+            }
+            Long authorId = rs.getObject(3, Long.class);
+            // Writers replying under their own articles are not interested in themselves
+            if (authorId != null && authorId != userId) {
+                authors.merge(authorId, 1, Integer::sum);
+            }
+            for (Object tagId : (Object[]) rs.getArray(4).getArray()) {
+                tags.merge(((Number) tagId).longValue(), 1, Integer::sum);
+            }
+        }, userId, historySize, userId, historySize);
+
+        return new ReaderProfile(strongest(categories, maxInterests), strongest(authors, maxInterests),
+                strongest(tags, maxInterests), seen);
+    }
+
+    // Candidate streams newer than sinceMillis, each sorted newest first
+    Collection<List<FeedCandidate>> loadStreams(ReaderProfile profile, long sinceMillis, int perStream) {
+        Timestamp since = new Timestamp(sinceMillis);
+        Map<String, List<FeedCandidate>> streams = new HashMap<>();
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAMS_SQL);
+            int index = 1;
+            for (List<Long> ids : List.of(profile.categoryIds, profile.authorIds, profile.tagIds)) {
+                ps.setArray(index++, connection.createArrayOf("bigint", ids.toArray()));
+                ps.setTimestamp(index++, since);
+                ps.setInt(index++, perStream);
+            }
+            ps.setBoolean(index++, profile.isEmpty());
+            ps.setTimestamp(index++, since);
+            ps.setInt(index, perStream);
+            return ps;
+        }, rs -> {
+            String key = rs.getString(1) + rs.getLong(2);
+            streams.computeIfAbsent(key, k -> new ArrayList<>())
+                    .add(new FeedCandidate(rs.getLong(3), rs.getTimestamp(4).getTime()));
+        });
+
+        Comparator<FeedCandidate> newestFirst = Comparator.comparingLong((FeedCandidate candidate) -> candidate.createdAtMillis)
+                .thenComparingLong(candidate -> candidate.articleId)
+                .reversed();
+        streams.values().forEach(stream -> stream.sort(newestFirst));
+        return streams.values();
+    }
+
+    private static List<Long> strongest(Map<Long, Integer> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
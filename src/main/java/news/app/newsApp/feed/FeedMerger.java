@@ -0,0 +1,61 @@
+package news.app.newsApp.feed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// k-way merge of candidate streams that are each sorted newest first
+final class FeedMerger {
+
+    private FeedMerger() {
+    }
+
+    // Newest first across all streams, each article once, skipping excluded ones; stops after limit articles
+    static List<FeedCandidate> merge(Collection<List<FeedCandidate>> streams, Set<Long> excluded, int limit) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, streams.size()), FeedMerger::newerFirst);
+        for (List<FeedCandidate> stream : streams) {
+            if (!stream.isEmpty()) {
+                heads.add(new Cursor(stream));
+            }
+        }
+
+        List<FeedCandidate> merged = new ArrayList<>(Math.min(limit, 256));
+        Set<Long> seen = new HashSet<>();
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            FeedCandidate candidate = cursor.head();
+            if (!excluded.contains(candidate.articleId) && seen.add(candidate.articleId)) {
+                merged.add(candidate);
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static int newerFirst(Cursor a, Cursor b) {
+        int byTime = Long.compare(b.head().createdAtMillis, a.head().createdAtMillis);
+        return byTime != 0 ? byTime : Long.compare(b.head().articleId, a.head().articleId);
+    }
+
+    private static final class Cursor {
+        private final List<FeedCandidate> stream;
+        private int position;
+
+        Cursor(List<FeedCandidate> stream) {
+            this.stream = stream;
+        }
+
+        FeedCandidate head() {
+            return stream.get(position);
+        }
+
+        boolean advance() {
+            return ++position < stream.size();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package news.app.newsApp.feed;
+
+// The cached head of one reader's feed: article ids newest first, plus what is needed to extend it
+final class FeedWindow {
+    final long userId;
+    final ReaderProfile profile;
+    final long[] articleIds;
+    // Creation time of the newest article in the window; refreshes only ask for articles after it
+    final long newestCreatedAt;
+    final long profileBuiltAt;
+    final long refreshedAt;
+    // PersonalizedFeedEngine publish generation the streams were read at
+    final long generation;
+
+    FeedWindow(long userId, ReaderProfile profile, long[] articleIds, long newestCreatedAt,
+               long profileBuiltAt, long refreshedAt, long generation) {
+        this.userId = userId;
+        this.profile = profile;
+        this.articleIds = articleIds;
+        this.newestCreatedAt = newestCreatedAt;
+        this.profileBuiltAt = profileBuiltAt;
+        this.refreshedAt = refreshedAt;
+        this.generation = generation;
+    }
+}
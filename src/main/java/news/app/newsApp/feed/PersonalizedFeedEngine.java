@@ -0,0 +1,203 @@
+package news.app.newsApp.feed;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import news.app.newsApp.dto.ArticleDto;
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.exception.ResourceNotFoundException;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.repository.UserRepository;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Builds /api/articles/feed for logged-in readers. A reader's interests (categories, authors, tags) come from the
+// articles they recently commented on or replied under; the newest articles of each interest are k-way merged by
+// recency into a window that is cached per reader and extended with only the articles published since.
+@Component
+public class PersonalizedFeedEngine {
+
+    @Value("${app.feed.window-size:200}")
+    private int windowSize;
+
+    @Value("${app.feed.stream-size:50}")
+    private int streamSize;
+
+    @Value("${app.feed.history-size:200}")
+    private int historySize;
+
+    @Value("${app.feed.max-interests:5}")
+    private int maxInterests;
+
+    @Value("${app.feed.refresh-interval-seconds:60}")
+    private long refreshIntervalSeconds;
+
+    @Value("${app.feed.profile-ttl-minutes:30}")
+    private long profileTtlMinutes;
+
+    @Value("${app.feed.max-readers:10000}")
+    private int maxReaders;
+
+    @Autowired
+    private FeedCandidateStore candidateStore;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Guarded by lock
+    private final LinkedHashMap<String, FeedWindow> windows = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FeedWindow> eldest) {
+            return size() > maxReaders;
+        }
+    };
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Bumped when an article is published; windows read before that re-read their streams, since a draft published
+    // now can be older than their newest article and an incremental refresh would miss it
+    private final AtomicLong publishGeneration = new AtomicLong();
+
+    @Transactional(readOnly = true)
+    public Page<ArticleDto> getFeed(String username, Pageable pageable) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String mode = "cached";
+        try {
+            long now = System.currentTimeMillis();
+            FeedWindow window = cached(username);
+            if (window == null || now - window.profileBuiltAt > profileTtlMinutes * 60_000) {
+                window = build(username, now);
+                mode = "build";
+            } else if (window.generation != publishGeneration.get()) {
+                window = restream(username, window, now);
+                mode = "restream";
+            } else if (now - window.refreshedAt > refreshIntervalSeconds * 1000) {
+                window = refresh(username, window, now);
+                mode = "refresh";
+            }
+            return page(window, pageable);
+        } finally {
+            sample.stop(meterRegistry.timer("feed.requests", "mode", mode));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getStatus() == Article.Status.PUBLISHED
+                && (event.getType() == ArticleChangedEvent.Type.CREATED || event.getType() == ArticleChangedEvent.Type.STATUS_CHANGED)) {
+            publishGeneration.incrementAndGet();
+        }
+        // Unpublished and deleted articles drop out when a page is loaded
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        publishGeneration.incrementAndGet();
+    }
+
+    private FeedWindow build(String username, long now) {
+        long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        ReaderProfile profile = candidateStore.loadProfile(userId, historySize, maxInterests);
+        return store(username, fromStreams(userId, profile, now, now));
+    }
+
+    private FeedWindow restream(String username, FeedWindow window, long now) {
+        return store(username, fromStreams(window.userId, window.profile, window.profileBuiltAt, now));
+    }
+
+    // Prepends the articles published since the newest one in the window and trims the tail
+    private FeedWindow refresh(String username, FeedWindow window, long now) {
+        long generation = publishGeneration.get();
+        Set<Long> excluded = new HashSet<>(window.profile.seenArticleIds);
+        for (long articleId : window.articleIds) {
+            excluded.add(articleId);
+        }
+        List<FeedCandidate> fresh = FeedMerger.merge(
+                candidateStore.loadStreams(window.profile, window.newestCreatedAt, streamSize), excluded, windowSize);
+
+        long[] articleIds = new long[Math.min(windowSize, fresh.size() + window.articleIds.length)];
+        for (int i = 0; i < articleIds.length; i++) {
+            articleIds[i] = i < fresh.size() ? fresh.get(i).articleId : window.articleIds[i - fresh.size()];
+        }
+        long newestCreatedAt = fresh.isEmpty() ? window.newestCreatedAt : fresh.get(0).createdAtMillis;
+        return store(username, new FeedWindow(window.userId, window.profile, articleIds, newestCreatedAt,
+                window.profileBuiltAt, now, generation));
+    }
+
+    private FeedWindow fromStreams(long userId, ReaderProfile profile, long profileBuiltAt, long now) {
+        long generation = publishGeneration.get();
+        List<FeedCandidate> merged = FeedMerger.merge(
+                candidateStore.loadStreams(profile, 0, streamSize), profile.seenArticleIds, windowSize);
+        long[] articleIds = merged.stream().mapToLong(candidate -> candidate.articleId).toArray();
+        long newestCreatedAt = merged.isEmpty() ? 0 : merged.get(0).createdAtMillis;
+        return new FeedWindow(userId, profile, articleIds, newestCreatedAt, profileBuiltAt, now, generation);
+    }
+
+    private Page<ArticleDto> page(FeedWindow window, Pageable pageable) {
+        int start = (int) Math.min(pageable.getOffset(), window.articleIds.length);
+        int end = Math.min(start + pageable.getPageSize(), window.articleIds.length);
+        if (start == end) {
+            return new PageImpl<>(List.of(), pageable, window.articleIds.length);
+        }
+
+        List<Long> pageIds = Arrays.stream(window.articleIds, start, end).boxed().toList();
+        Map<Long, Article> articles = articleRepository.findPublishedByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+        List<ArticleDto> content = new ArrayList<>(pageIds.size());
+        for (Long articleId : pageIds) {
+            Article article = articles.get(articleId);
+            if (article != null) {
+                content.add(modelMapper.map(article, ArticleDto.class));
+            }
+        }
+        return new PageImpl<>(content, pageable, window.articleIds.length);
+    }
+
+    private FeedWindow cached(String username) {
+        lock.lock();
+        try {
+            return windows.get(username);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FeedWindow store(String username, FeedWindow window) {
+        lock.lock();
+        try {
+            windows.put(username, window);
+        } finally {
+            lock.unlock();
+        }
+        return window;
+    }
+}
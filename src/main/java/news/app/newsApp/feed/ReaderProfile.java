@@ -0,0 +1,24 @@
+package news.app.newsApp.feed;
+
+import java.util.List;
+import java.util.Set;
+
+// A reader's strongest interests, from the articles they recently commented on or replied under
+final class ReaderProfile {
+    final List<Long> categoryIds;
+    final List<Long> authorIds;
+    final List<Long> tagIds;
+    // Articles the reader already took part in; kept out of their feed
+    final Set<Long> seenArticleIds;
+
+    ReaderProfile(List<Long> categoryIds, List<Long> authorIds, List<Long> tagIds, Set<Long> seenArticleIds) {
+        this.categoryIds = categoryIds;
+        this.authorIds = authorIds;
+        this.tagIds = tagIds;
+        this.seenArticleIds = seenArticleIds;
+    }
+
+    boolean isEmpty() {
+        return categoryIds.isEmpty() && authorIds.isEmpty() && tagIds.isEmpty();
+    }
+}
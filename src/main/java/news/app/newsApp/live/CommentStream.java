@@ -0,0 +1,130 @@
+package news.app.newsApp.live;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import news.app.newsApp.event.CommentChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Live comments for article pages: every committed CommentChangedEvent is pushed to the subscribers of its article.
+// Subscribers are kept per article in copy-on-write sets, so a fan-out iterates a snapshot without locking while
+// joins and leaves, which are far rarer, copy the set. Likes are held back and flushed once per interval with only
+// the latest count per comment or reply, since a popular comment can be liked faster than clients need to redraw it.
+@Component
+public class CommentStream {
+
+    private static final String COMMENT = "comment";
+
+    @Value("${app.comments.stream.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.comments.stream.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${app.comments.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.comments.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Autowired
+    private SseSender sseSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, Set<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    // Latest like count per comment or reply since the last flush
+    private final Map<String, CommentChangedEvent> pendingLikes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("live.subscribers", connections, AtomicInteger::get)
+                .description("Open server-sent event connections")
+                .tag("stream", "comments")
+                .register(meterRegistry);
+    }
+
+    // Empty when the stream is disabled or every connection slot on this instance is taken
+    public Optional<SseEmitter> subscribe(Long articleId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return Optional.empty();
+        }
+        SseEmitter emitter = newEmitter();
+        SseSubscriber subscriber = new SseSubscriber(emitter, bufferSize, sseSender::execute, closed -> {
+            // Dropping the article's set once empty keeps the map at the articles that are actually being read
+            subscribers.computeIfPresent(articleId, (id, set) -> {
+                set.remove(closed);
+                return set.isEmpty() ? null : set;
+            });
+            connections.decrementAndGet();
+        });
+        subscribers.compute(articleId, (id, set) -> {
+            Set<SseSubscriber> joined = set != null ? set : new CopyOnWriteArraySet<>();
+            joined.add(subscriber);
+            return joined;
+        });
+        subscriber.send("connected", Map.of("articleId", articleId));
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        if (!enabled || !subscribers.containsKey(event.getArticleId())) {
+            return;
+        }
+        if (event.getType() == CommentChangedEvent.Type.LIKED) {
+            pendingLikes.merge(likesKey(event), event, CommentStream::mostLiked);
+            return;
+        }
+        for (SseSubscriber subscriber : subscribers.getOrDefault(event.getArticleId(), Set.of())) {
+            subscriber.send(COMMENT, event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.comments.stream.like-flush-interval-ms:500}")
+    public void flushLikes() {
+        for (String key : pendingLikes.keySet()) {
+            CommentChangedEvent event = pendingLikes.remove(key);
+            if (event == null) {
+                continue;
+            }
+            // Keyed, so a like count still waiting in a slow client's buffer is replaced rather than queued behind
+            for (SseSubscriber subscriber : subscribers.getOrDefault(event.getArticleId(), Set.of())) {
+                subscriber.send(COMMENT, key, event, CommentStream::mostLiked);
+            }
+        }
+    }
+
+    // Overridden in tests to record what is sent instead of writing to a response
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private static String likesKey(CommentChangedEvent event) {
+        return "likes:" + event.getArticleId() + ":" + event.getCommentId() + ":" + event.getReplyId();
+    }
+
+    // Likes only ever go up, so the higher count is the later one even when commits are seen out of order
+    private static CommentChangedEvent mostLiked(CommentChangedEvent older, CommentChangedEvent newer) {
+        return newer.likes() >= older.likes() ? newer : older;
+    }
+}
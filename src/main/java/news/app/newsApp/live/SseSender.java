@@ -0,0 +1,62 @@
+package news.app.newsApp.live;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Drains SseSubscriber buffers on a fixed number of platform threads, or on one virtual thread per drain when virtual
+// threads are enabled. Each subscriber has at most one drain queued or running, so the queue never outgrows the
+// connection limits; a client that reads slowly only ever holds one thread, and while its drain waits for a turn its
+// buffer fills and is replaced by a resync. Deliberately not an Executor bean, which would stop Spring Boot from
+// creating its applicationTaskExecutor.
+@Component
+public class SseSender {
+
+    @Value("${app.sse.sender-threads:32}")
+    private int senderThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final AtomicInteger threads = new AtomicInteger();
+
+    private Executor executor;
+
+    @PostConstruct
+    public void init() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("sse-sender-");
+            virtual.setVirtualThreads(true);
+            executor = virtual;
+            return;
+        }
+        executor = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "sse-sender-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtual) {
+            virtual.close();
+        }
+    }
+}
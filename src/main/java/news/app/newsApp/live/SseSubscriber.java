@@ -0,0 +1,184 @@
+package news.app.newsApp.live;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+// One SSE connection behind a bounded buffer. Publishers only ever append to the buffer; a sender task drains it,
+// with at most one drain queued or running per subscriber, so a slow client holds one sender thread and never the publisher.
+// Events sent with a key replace the buffered event with the same key (merged by the caller's operator). When the
+// buffer is full anyway, it is cleared and a single RESYNC event is queued: the client reloads instead of missing
+// events silently.
+public class SseSubscriber {
+
+    public static final String RESYNC = "resync";
+
+    private static final Pending YIELD = new Pending("", null, null);
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor sender;
+    private final Consumer<SseSubscriber> onClose;
+
+    // All guarded by lock
+    private final ArrayDeque<Pending> buffer = new ArrayDeque<>();
+    private boolean sending;
+    private boolean closed;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SseSubscriber(SseEmitter emitter, int capacity, Executor sender, Consumer<SseSubscriber> onClose) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.sender = sender;
+        this.onClose = onClose;
+        emitter.onCompletion(this::release);
+        emitter.onTimeout(this::release);
+        emitter.onError(error -> release());
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void send(String name, Object data) {
+        enqueue(new Pending(name, null, data), null);
+    }
+
+    // Merged into a still-buffered event with the same key instead of queued behind it
+    @SuppressWarnings("unchecked")
+    public <T> void send(String name, Object key, T data, BinaryOperator<T> merge) {
+        enqueue(new Pending(name, key, data), (BinaryOperator<Object>) merge);
+    }
+
+    public void close() {
+        if (release()) {
+            emitter.complete();
+        }
+    }
+
+    // Returns whether this call closed the subscriber
+    private boolean release() {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            buffer.clear();
+        } finally {
+            lock.unlock();
+        }
+        onClose.accept(this);
+        return true;
+    }
+
+    private void enqueue(Pending event, BinaryOperator<Object> merge) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (event.key != null && merge(event, merge)) {
+                return;
+            }
+            if (buffer.size() >= capacity) {
+                buffer.clear();
+                buffer.add(new Pending(RESYNC, RESYNC, ""));
+            } else if (!(buffer.size() == 1 && RESYNC.equals(buffer.peekFirst().name))) {
+                // A queued resync already covers this event: the client reloads after receiving it
+                buffer.add(event);
+            }
+            if (sending) {
+                return;
+            }
+            sending = true;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            sender.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            close();
+        }
+    }
+
+    private boolean merge(Pending event, BinaryOperator<Object> merge) {
+        Iterator<Pending> iterator = buffer.descendingIterator();
+        while (iterator.hasNext()) {
+            Pending buffered = iterator.next();
+            if (Objects.equals(buffered.key, event.key) && buffered.name.equals(event.name)) {
+                buffered.data = merge.apply(buffered.data, event.data);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Sends at most one buffer's worth per turn, then goes to the back of the sender queue so busy subscribers
+    // take turns on the shared threads
+    private void drain() {
+        for (int sent = 0; ; sent++) {
+            Pending next;
+            lock.lock();
+            try {
+                next = sent < capacity ? buffer.pollFirst() : buffer.isEmpty() ? null : YIELD;
+                if (next == null || closed) {
+                    sending = false;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (next == YIELD) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close();
+                }
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(next.name).data(next.data));
+            } catch (IOException | IllegalStateException e) {
+                // Client gone or response already completed; the container completes the request itself
+                lock.lock();
+                try {
+                    sending = false;
+                } finally {
+                    lock.unlock();
+                }
+                release();
+                return;
+            }
+        }
+    }
+
+    private static final class Pending {
+        final String name;
+        final Object key;
+        Object data;
+
+        Pending(String name, Object key, Object data) {
+            this.name = name;
+            this.key = key;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package news.app.newsApp.live;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// What happened between from and to, as pushed to /api/admin/statistics/stream. viewsLastMinute is a gauge as of to;
+// everything else is a count that clients add to the totals they loaded from the dashboard endpoint.
+@Getter
+@ToString
+@AllArgsConstructor
+public class StatisticsDelta {
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final long articlesCreated;
+    private final long articlesPublished;
+    private final long comments;
+    private final long replies;
+    private final long likes;
+    private final long registrations;
+    private final long views;
+    private final long viewsLastMinute;
+
+    // One delta covering both, for subscribers that fell behind
+    public static StatisticsDelta combine(StatisticsDelta older, StatisticsDelta newer) {
+        return new StatisticsDelta(older.from, newer.to,
+                older.articlesCreated + newer.articlesCreated,
+                older.articlesPublished + newer.articlesPublished,
+                older.comments + newer.comments,
+                older.replies + newer.replies,
+                older.likes + newer.likes,
+                older.registrations + newer.registrations,
+                older.views + newer.views,
+                newer.viewsLastMinute);
+    }
+}
@@ -0,0 +1,159 @@
+package news.app.newsApp.live;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticleEngagementEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.event.UserRegisteredEvent;
+import news.app.newsApp.model.Article;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live admin statistics: committed article, comment, like, view and registration events are counted as they are
+// published and pushed to every subscriber once per interval as a StatisticsDelta. Subscribers that cannot keep up
+// get their unsent deltas combined into one instead of a growing queue.
+@Component
+public class StatisticsStream {
+
+    private static final String DELTA = "delta";
+
+    @Value("${app.statistics.stream.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.statistics.stream.interval-ms:1000}")
+    private long intervalMillis;
+
+    @Value("${app.statistics.stream.max-subscribers:50}")
+    private int maxSubscribers;
+
+    @Value("${app.statistics.stream.buffer-size:16}")
+    private int bufferSize;
+
+    @Value("${app.statistics.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Autowired
+    private SseSender sseSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LongAdder articlesCreated = new LongAdder();
+    private final LongAdder articlesPublished = new LongAdder();
+    private final LongAdder comments = new LongAdder();
+    private final LongAdder replies = new LongAdder();
+    private final LongAdder likes = new LongAdder();
+    private final LongAdder registrations = new LongAdder();
+    private final LongAdder views = new LongAdder();
+
+    private final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    // Views per tick over the last minute, only touched by the scheduler thread
+    private long[] viewWindow;
+    private int viewSlot;
+    private long viewsLastMinute;
+    private LocalDateTime lastTick = LocalDateTime.now();
+
+    @PostConstruct
+    public void init() {
+        viewWindow = new long[(int) Math.max(1, 60_000 / intervalMillis)];
+        Gauge.builder("live.subscribers", connections, AtomicInteger::get)
+                .description("Open server-sent event connections")
+                .tag("stream", "statistics")
+                .register(meterRegistry);
+    }
+
+    // Empty when the stream is disabled or every connection slot is taken
+    public Optional<SseEmitter> subscribe() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (connections.incrementAndGet() > maxSubscribers) {
+            connections.decrementAndGet();
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SseSubscriber subscriber = new SseSubscriber(emitter, bufferSize, sseSender::execute, closed -> {
+            subscribers.remove(closed);
+            connections.decrementAndGet();
+        });
+        subscribers.add(subscriber);
+        subscriber.send("connected", Map.of("intervalMs", intervalMillis));
+        return Optional.of(emitter);
+    }
+
+    @Scheduled(fixedRateString = "${app.statistics.stream.interval-ms:1000}")
+    public void publish() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long tickViews = views.sumThenReset();
+        viewsLastMinute += tickViews - viewWindow[viewSlot];
+        viewWindow[viewSlot] = tickViews;
+        viewSlot = (viewSlot + 1) % viewWindow.length;
+
+        StatisticsDelta delta = new StatisticsDelta(lastTick, now,
+                articlesCreated.sumThenReset(),
+                articlesPublished.sumThenReset(),
+                comments.sumThenReset(),
+                replies.sumThenReset(),
+                likes.sumThenReset(),
+                registrations.sumThenReset(),
+                tickViews,
+                viewsLastMinute);
+        lastTick = now;
+        for (SseSubscriber subscriber : subscribers) {
+            subscriber.send(DELTA, DELTA, delta, StatisticsDelta::combine);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getType() == ArticleChangedEvent.Type.CREATED) {
+            articlesCreated.increment();
+        }
+        if (event.getStatus() == Article.Status.PUBLISHED && (event.getType() == ArticleChangedEvent.Type.CREATED
+                || event.getType() == ArticleChangedEvent.Type.STATUS_CHANGED)) {
+            articlesPublished.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        articlesPublished.add(event.getArticleIds().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ArticleEngagementEvent event) {
+        if (event.getType() == ArticleEngagementEvent.Type.VIEW) {
+            views.increment();
+        } else if (event.getType() == ArticleEngagementEvent.Type.LIKE) {
+            likes.increment();
+        } else if (event.isReply()) {
+            replies.increment();
+        } else {
+            comments.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        registrations.increment();
+    }
+}
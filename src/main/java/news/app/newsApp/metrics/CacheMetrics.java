@@ -0,0 +1,58 @@
+package news.app.newsApp.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import news.app.newsApp.cache.AuthorTimelineCache;
+import news.app.newsApp.cache.CategoryFeedCache;
+import news.app.newsApp.cache.PublicResponseCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    @Autowired
+    private PublicResponseCache publicResponseCache;
+
+    @Autowired
+    private AuthorTimelineCache authorTimelineCache;
+
+    @Autowired
+    private CategoryFeedCache categoryFeedCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.public_responses.requests", publicResponseCache, PublicResponseCache::getHits)
+                .description("Public response cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.public_responses.requests", publicResponseCache, PublicResponseCache::getMisses)
+                .description("Public response cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("cache.public_responses.hit.ratio", publicResponseCache, PublicResponseCache::getHitRatio)
+                .description("Share of public response cache lookups served from memory")
+                .register(registry);
+        Gauge.builder("cache.public_responses.size", publicResponseCache, PublicResponseCache::getSizeInBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("cache.author_timelines.requests", authorTimelineCache, AuthorTimelineCache::getHits)
+                .description("Author timeline cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.author_timelines.requests", authorTimelineCache, AuthorTimelineCache::getMisses)
+                .description("Author timeline cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.category_feeds.requests", categoryFeedCache, CategoryFeedCache::getHits)
+                .description("Category feed cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.category_feeds.requests", categoryFeedCache, CategoryFeedCache::getMisses)
+                .description("Category feed cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package news.app.newsApp.metrics;
+
+import news.app.newsApp.exception.SqlStatementBudgetExceededException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Aspect
+@Component
+public class SqlStatementBudgetAspect {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementBudgetAspect.class);
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    // off: not checked, log: offenders are logged with their query shapes, fail: offenders also throw
+    @Value("${app.sql-budget.mode:off}")
+    private String mode;
+
+    @Around("@annotation(budget)")
+    public Object enforceBudget(ProceedingJoinPoint joinPoint, SqlStatementBudget budget) throws Throwable {
+        if ("off".equalsIgnoreCase(mode)) {
+            return joinPoint.proceed();
+        }
+
+        int before = sqlStatementCounter.current();
+        int marker = sqlStatementCounter.startCapture();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            sqlStatementCounter.stopCapture(marker);
+            throw ex;
+        }
+        List<String> statements = sqlStatementCounter.stopCapture(marker);
+        int issued = sqlStatementCounter.current() - before;
+
+        if (issued > budget.value()) {
+            String operation = joinPoint.getSignature().toShortString();
+            String shapes = SqlStatementShapes.summarize(statements);
+            if ("fail".equalsIgnoreCase(mode)) {
+                throw new SqlStatementBudgetExceededException(operation, budget.value(), issued, shapes);
+            }
+            logger.warn("{} issued {} SQL statements (budget {}):\n{}", operation, issued, budget.value(), shapes);
+        }
+        return result;
+    }
+}
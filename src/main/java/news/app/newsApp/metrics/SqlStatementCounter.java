@@ -0,0 +1,52 @@
+package news.app.newsApp.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Registered with Hibernate as its StatementInspector; counts every SQL statement prepared on the current thread.
+// Callers take a reading before and after a unit of work and record the difference, so nested measurements compose.
+// Statement text is only retained while a capture is open, keeping the always-on path to a counter increment.
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<StatementLog> STATEMENTS = ThreadLocal.withInitial(StatementLog::new);
+
+    @Override
+    public String inspect(String sql) {
+        StatementLog log = STATEMENTS.get();
+        log.count++;
+        if (log.openCaptures > 0) {
+            log.captured.add(sql);
+        }
+        return sql;
+    }
+
+    public int current() {
+        return STATEMENTS.get().count;
+    }
+
+    // Returns a marker to pass to stopCapture
+    public int startCapture() {
+        StatementLog log = STATEMENTS.get();
+        log.openCaptures++;
+        return log.captured.size();
+    }
+
+    public List<String> stopCapture(int marker) {
+        StatementLog log = STATEMENTS.get();
+        List<String> statements = new ArrayList<>(log.captured.subList(marker, log.captured.size()));
+        if (--log.openCaptures == 0) {
+            log.captured.clear();
+        }
+        return statements;
+    }
+
+    private static final class StatementLog {
+        private int count;
+        private int openCaptures;
+        private final List<String> captured = new ArrayList<>();
+    }
+}
@@ -0,0 +1,92 @@
+package news.app.newsApp.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import news.app.newsApp.exception.SqlStatementBudgetExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Records how many SQL statements each request issued, per endpoint, to make N+1 patterns visible, and holds whole
+// requests to app.sql-budget.per-request-max the way SqlStatementBudgetAspect holds budgeted methods to theirs
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementMetricsFilter.class);
+
+    static final String METRIC_NAME = "http.server.requests.sql.statements";
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql-budget.mode:off}")
+    private String budgetMode;
+
+    // 0 disables the per-request check
+    @Value("${app.sql-budget.per-request-max:0}")
+    private int perRequestBudget;
+
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean checkBudget = perRequestBudget > 0 && !"off".equalsIgnoreCase(budgetMode);
+        int before = sqlStatementCounter.current();
+        int marker = checkBudget ? sqlStatementCounter.startCapture() : 0;
+        int issued;
+        List<String> statements = List.of();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            issued = sqlStatementCounter.current() - before;
+
+            // Requests answered before reaching a handler (cache hits, rejected auth) have no pattern and are skipped
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                summary(request.getMethod(), pattern.toString()).record(issued);
+            }
+            if (checkBudget) {
+                statements = sqlStatementCounter.stopCapture(marker);
+            }
+        }
+
+        // Only reached when the request itself succeeded, so its own exception is never masked
+        if (checkBudget && issued > perRequestBudget) {
+            String operation = request.getMethod() + " " + request.getRequestURI();
+            String shapes = SqlStatementShapes.summarize(statements);
+            if ("fail".equalsIgnoreCase(budgetMode)) {
+                throw new SqlStatementBudgetExceededException(operation, perRequestBudget, issued, shapes);
+            }
+            logger.warn("{} issued {} SQL statements (request budget {}):\n{}", operation, issued, perRequestBudget, shapes);
+        }
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        return summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued while handling a request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,37 @@
+package news.app.newsApp.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class SqlStatementShapes {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private SqlStatementShapes() {
+    }
+
+    // Strips literals and collapses IN-lists so repeated executions of the same query group together
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?, ...)");
+        return shape.trim();
+    }
+
+    public static String summarize(List<String> statements) {
+        Map<String, Long> shapes = statements.stream()
+                .collect(Collectors.groupingBy(SqlStatementShapes::normalize, LinkedHashMap::new, Collectors.counting()));
+
+        return shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(entry -> entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n  ", "  ", ""));
+    }
+}
@@ -3,7 +3,9 @@ package news.app.newsApp.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,10 +20,32 @@ import java.util.Set;
 @AllArgsConstructor
 @Entity
 @Table(name = "articles")
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Article.LIST_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("category")
+    }),
+    @NamedEntityGraph(name = Article.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("tags"),
+        @NamedAttributeNode("images")
+    }),
+    @NamedEntityGraph(name = Article.OWNERSHIP_GRAPH, attributeNodes = @NamedAttributeNode("author")),
+    // Scalar columns only; used with FETCH semantics so nothing outside the graph is loaded
+    @NamedEntityGraph(name = Article.STATS_GRAPH)
+})
 public class Article {
+
+    // Fetch plans per use case; every association is lazy unless one of these asks for it
+    public static final String LIST_GRAPH = "Article.list";
+    public static final String DETAIL_GRAPH = "Article.detail";
+    public static final String OWNERSHIP_GRAPH = "Article.ownership";
+    public static final String STATS_GRAPH = "Article.stats";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articles_seq")
+    @SequenceGenerator(name = "articles_seq", sequenceName = "articles_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -40,15 +64,34 @@ public class Article {
     private Status status;
     
     private Integer views = 0;
+
+    // Active comments and their replies; only ever changed by the atomic updates in ArticleRepository
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private Integer commentCount = 0;
+
+    @Column(name = "reply_count", insertable = false, updatable = false)
+    private Integer replyCount = 0;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User author;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Category category;
     
+    // Drafts with a publish time are published by ScheduledPublisher once it passes
+    @Column(name = "publish_at")
+    private LocalDateTime publishAt;
+
+    // Set while the content, comments and replies live in the archive tables (ArticleArchiver)
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -58,9 +101,13 @@ public class Article {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Comment> comments = new ArrayList<>();
     
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<ArticleImage> images = new ArrayList<>();
     
     @ManyToMany(fetch = FetchType.LAZY)
@@ -69,6 +116,8 @@ public class Article {
         joinColumns = @JoinColumn(name = "article_id"),
         inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Set<Tag> tags = new HashSet<>();
     
     public enum Status {
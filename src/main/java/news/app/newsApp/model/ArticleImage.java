@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class ArticleImage {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_images_seq")
+    @SequenceGenerator(name = "article_images_seq", sequenceName = "article_images_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -19,7 +20,8 @@ import java.util.List;
 public class Comment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
     
     @Lob
@@ -29,6 +31,10 @@ public class Comment {
     private Integer likes = 0;
     
     private Integer status = 1;
+
+    // Active replies; only ever changed by the atomic updates in CommentRepository
+    @Column(name = "reply_count", insertable = false, updatable = false)
+    private Integer replyCount = 0;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "article_id", nullable = false)
@@ -44,7 +50,9 @@ public class Comment {
     @OneToMany(mappedBy = "comment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Reply> replies = new ArrayList<>();
     
+    // Partition key (V9): entity updates and deletes filter on it too, so they touch only this row's partition
     @CreationTimestamp
+    @PartitionKey
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -17,7 +18,8 @@ import java.time.LocalDateTime;
 public class Reply {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "replies_seq")
+    @SequenceGenerator(name = "replies_seq", sequenceName = "replies_seq", allocationSize = 50)
     private Long id;
     
     @Lob
@@ -42,7 +44,9 @@ public class Reply {
     @Column(name = "parent_reply_id")
     private Long parentReplyId;
     
+    // Partition key (V9): entity updates and deletes filter on it too, so they touch only this row's partition
     @CreationTimestamp
+    @PartitionKey
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
@@ -0,0 +1,94 @@
+package news.app.newsApp.publishing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Scheduled articles ordered by publish time; an article is in the queue at most once
+final class PublishQueue {
+
+    // Both guarded by lock
+    private final TreeSet<Entry> byTime = new TreeSet<>();
+    private final Map<Long, Entry> byArticle = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    void schedule(long articleId, long publishAtMillis) {
+        lock.lock();
+        try {
+            Entry entry = new Entry(articleId, publishAtMillis);
+            Entry previous = byArticle.put(articleId, entry);
+            if (previous != null) {
+                byTime.remove(previous);
+            }
+            byTime.add(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void cancel(long articleId) {
+        lock.lock();
+        try {
+            Entry previous = byArticle.remove(articleId);
+            if (previous != null) {
+                byTime.remove(previous);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes and returns up to max articles due at now, earliest first
+    List<Long> pollDue(long now, int max) {
+        lock.lock();
+        try {
+            List<Long> due = new ArrayList<>();
+            while (due.size() < max && !byTime.isEmpty() && byTime.first().publishAtMillis <= now) {
+                Entry entry = byTime.pollFirst();
+                byArticle.remove(entry.articleId);
+                due.add(entry.articleId);
+            }
+            return due;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Publish time of the earliest entry, or Long.MAX_VALUE when nothing is scheduled
+    long nextPublishAt() {
+        lock.lock();
+        try {
+            return byTime.isEmpty() ? Long.MAX_VALUE : byTime.first().publishAtMillis;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return byArticle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final long articleId;
+        private final long publishAtMillis;
+
+        Entry(long articleId, long publishAtMillis) {
+            this.articleId = articleId;
+            this.publishAtMillis = publishAtMillis;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(publishAtMillis, other.publishAtMillis);
+            return byTime != 0 ? byTime : Long.compare(articleId, other.articleId);
+        }
+    }
+}
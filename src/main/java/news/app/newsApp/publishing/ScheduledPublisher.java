@@ -0,0 +1,183 @@
+package news.app.newsApp.publishing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import news.app.newsApp.cache.PublicResponseCache;
+import news.app.newsApp.config.ReadReplicaRoutingDataSource;
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.service.ArticleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Publishes drafts whose publishAt has passed. Due articles are taken from an in-memory queue ordered by publish
+// time (rebuilt from the database on startup and periodically), flipped in batches with one statement, announced
+// with one ArticlesPublishedEvent per batch, and the first pages readers hit next are rendered right away.
+@Component
+public class ScheduledPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledPublisher.class);
+
+    // Conditional on the row still being a due draft, so a concurrent edit or a second instance cannot double-publish
+    private static final String PUBLISH_SQL =
+            "UPDATE articles SET status = 'PUBLISHED', publish_at = NULL, updated_at = ? " +
+            "WHERE id = ANY(?) AND status = 'DRAFT' AND publish_at <= ? " +
+            "RETURNING id, author_id, category_id";
+
+    // What ArticleController's @PageableDefault produces, so warmed entries are the ones requests look up
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+    private static final String PUBLISHED_FEED_KEY = "/api/articles/published";
+
+    @Value("${app.publishing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.publishing.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.publishing.warm-caches:true}")
+    private boolean warmCaches;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PublicResponseCache publicResponseCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final PublishQueue queue = new PublishQueue();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        resync();
+    }
+
+    // Picks up schedules written by other instances; the queue is only a cache of the publish_at column
+    @Scheduled(fixedDelayString = "${app.publishing.resync-interval-ms:300000}",
+            initialDelayString = "${app.publishing.resync-interval-ms:300000}")
+    public void resync() {
+        if (!enabled) {
+            return;
+        }
+        List<Object[]> scheduled = articleRepository.findScheduled();
+        for (Object[] row : scheduled) {
+            queue.schedule((Long) row[0], toMillis((LocalDateTime) row[1]));
+        }
+        logger.debug("{} articles scheduled for publishing", queue.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getType() != ArticleChangedEvent.Type.DELETED
+                && event.getStatus() == Article.Status.DRAFT && event.getPublishAt() != null) {
+            queue.schedule(event.getArticleId(), toMillis(event.getPublishAt()));
+        } else {
+            queue.cancel(event.getArticleId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.publishing.poll-interval-ms:1000}")
+    public void publishDue() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        while (queue.nextPublishAt() <= toMillis(now)) {
+            List<Long> due = queue.pollDue(toMillis(now), batchSize);
+            try {
+                publish(due, now);
+            } catch (DataAccessException e) {
+                // Still drafts in the database; the next resync puts them back in the queue
+                logger.warn("Could not publish {} scheduled articles", due.size(), e);
+                return;
+            }
+        }
+    }
+
+    private void publish(List<Long> articleIds, LocalDateTime now) {
+        List<Long> published = new ArrayList<>();
+        Set<Long> authorIds = new LinkedHashSet<>();
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(PUBLISH_SQL);
+            statement.setTimestamp(1, Timestamp.valueOf(now));
+            statement.setArray(2, connection.createArrayOf("bigint", articleIds.toArray()));
+            statement.setTimestamp(3, Timestamp.valueOf(now));
+            return statement;
+        }, rs -> {
+            published.add(rs.getLong("id"));
+            authorIds.add(rs.getLong("author_id"));
+            Long categoryId = rs.getObject("category_id", Long.class);
+            if (categoryId != null) {
+                categoryIds.add(categoryId);
+            }
+        });
+        if (published.isEmpty()) {
+            return;
+        }
+
+        eventPublisher.publishEvent(new ArticlesPublishedEvent(published, authorIds, categoryIds));
+        logger.info("Published {} scheduled articles", published.size());
+        if (warmCaches) {
+            warm(authorIds, categoryIds);
+        }
+    }
+
+    // Renders the pages that link to newly published articles once, instead of letting the first readers all miss.
+    // Read from the primary: a lagging replica would render pages without the articles just published, and the
+    // public cache would keep them under a fresh generation until its TTL.
+    private void warm(Set<Long> authorIds, Set<Long> categoryIds) {
+        ReadReplicaRoutingDataSource.readFromPrimary(() -> render(authorIds, categoryIds));
+    }
+
+    private void render(Set<Long> authorIds, Set<Long> categoryIds) {
+        try {
+            long generation = publicResponseCache.currentGeneration();
+            byte[] body = objectMapper.writeValueAsBytes(articleService.getPublishedArticles(FIRST_PAGE));
+            publicResponseCache.put(PUBLISHED_FEED_KEY, generation, MediaType.APPLICATION_JSON_VALUE, body);
+            categoryIds.forEach(categoryId -> articleService.getArticlesByCategory(categoryId, FIRST_PAGE));
+            authorIds.forEach(authorId -> articleService.getArticlesByAuthor(authorId, FIRST_PAGE));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The pages are simply rendered by the next request instead
+            logger.warn("Could not warm caches after scheduled publishing", e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
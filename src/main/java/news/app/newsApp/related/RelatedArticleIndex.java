@@ -0,0 +1,374 @@
+package news.app.newsApp.related;
+
+import news.app.newsApp.dto.RelatedArticleDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Precomputed "read next" lists for published articles. Similarity between two articles is
+//   tagWeight * weighted Jaccard of their tag sets (tags weighted by inverse document frequency)
+//   + categoryWeight if they share a category
+//   + recencyWeight * 2^(-age of the candidate / recency half-life)
+// Candidates come from the tag postings and the newest articles of the same category, so scoring an article
+// never looks at unrelated ones. Each article keeps its top N as parallel primitive arrays. Candidacy is not
+// symmetric (an old article lists the newest of its category, which do not list it back), so removals find the
+// lists to repair through a reverse index rather than through the removed article's own candidates.
+public class RelatedArticleIndex {
+
+    private final int maxRelated;
+    private final int maxTagPostings;
+    private final int categoryCandidates;
+    private final double tagWeight;
+    private final double categoryWeight;
+    private final double recencyWeight;
+    private final double recencyHalfLifeMillis;
+
+    // All guarded by lock
+    private final Map<Long, Entry> articles = new HashMap<>();
+    private final Map<Long, List<Entry>> byTag = new HashMap<>();
+    // Newest first
+    private final Map<Long, List<Entry>> byCategory = new HashMap<>();
+    // Article id -> entries whose related list contains it
+    private final Map<Long, Set<Entry>> listedBy = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public RelatedArticleIndex(int maxRelated, int maxTagPostings, int categoryCandidates, double tagWeight,
+                               double categoryWeight, double recencyWeight, long recencyHalfLifeMillis) {
+        this.maxRelated = maxRelated;
+        this.maxTagPostings = maxTagPostings;
+        this.categoryCandidates = categoryCandidates;
+        this.tagWeight = tagWeight;
+        this.categoryWeight = categoryWeight;
+        this.recencyWeight = recencyWeight;
+        this.recencyHalfLifeMillis = recencyHalfLifeMillis;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return articles.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<RelatedArticleDto> related(long articleId, int limit) {
+        lock.lock();
+        try {
+            Entry entry = articles.get(articleId);
+            if (entry == null) {
+                return List.of();
+            }
+            List<RelatedArticleDto> related = new ArrayList<>(Math.min(limit, entry.relatedIds.length));
+            for (int i = 0; i < entry.relatedIds.length && related.size() < limit; i++) {
+                Entry other = articles.get(entry.relatedIds[i]);
+                if (other == null) {
+                    // Removals repair every list through listedBy; never fail a read if one slipped through
+                    continue;
+                }
+                RelatedArticleDto dto = new RelatedArticleDto();
+                dto.setArticleId(other.articleId);
+                dto.setTitle(other.title);
+                dto.setCategoryId(other.categoryId);
+                dto.setCreatedAt(other.createdAt);
+                dto.setScore((double) entry.relatedScores[i]);
+                related.add(dto);
+            }
+            return related;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Bulk load without touching any list; call computeAll afterwards
+    public void load(long articleId, String title, Long categoryId, LocalDateTime createdAt, Collection<Long> tagIds) {
+        lock.lock();
+        try {
+            add(new Entry(articleId, title, categoryId, createdAt, tagIds));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void computeAll(long now) {
+        lock.lock();
+        try {
+            for (Entry entry : articles.values()) {
+                compute(entry, now, false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Adds or replaces an article, computes its list and offers it to the lists of its candidates
+    public void put(long articleId, String title, Long categoryId, LocalDateTime createdAt, Collection<Long> tagIds, long now) {
+        lock.lock();
+        try {
+            removeAndRepair(articleId, now);
+            Entry entry = new Entry(articleId, title, categoryId, createdAt, tagIds);
+            add(entry);
+            compute(entry, now, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(long articleId, long now) {
+        lock.lock();
+        try {
+            removeAndRepair(articleId, now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(Entry entry) {
+        articles.put(entry.articleId, entry);
+        for (long tagId : entry.tagIds) {
+            byTag.computeIfAbsent(tagId, id -> new ArrayList<>()).add(entry);
+        }
+        if (entry.categoryId != null) {
+            List<Entry> category = byCategory.computeIfAbsent(entry.categoryId, id -> new ArrayList<>());
+            int position = 0;
+            while (position < category.size() && category.get(position).createdAtMillis >= entry.createdAtMillis) {
+                position++;
+            }
+            category.add(position, entry);
+        }
+    }
+
+    private void removeAndRepair(long articleId, long now) {
+        Entry removed = articles.remove(articleId);
+        if (removed == null) {
+            return;
+        }
+        Set<Entry> listing = listedBy.remove(articleId);
+        relink(removed, removed.relatedIds, new long[0], new float[0]);
+        for (long tagId : removed.tagIds) {
+            List<Entry> postings = byTag.get(tagId);
+            postings.remove(removed);
+            if (postings.isEmpty()) {
+                byTag.remove(tagId);
+            }
+        }
+        if (removed.categoryId != null) {
+            List<Entry> category = byCategory.get(removed.categoryId);
+            category.remove(removed);
+            if (category.isEmpty()) {
+                byCategory.remove(removed.categoryId);
+            }
+        }
+        // Lists that pointed at the removed article are recomputed so they stay full
+        if (listing != null) {
+            for (Entry entry : new ArrayList<>(listing)) {
+                compute(entry, now, false);
+            }
+        }
+    }
+
+    private Set<Entry> candidates(Entry entry) {
+        Set<Entry> candidates = new LinkedHashSet<>();
+        for (long tagId : entry.tagIds) {
+            List<Entry> postings = byTag.get(tagId);
+            // Tags on a large share of the catalogue say little about similarity and would make this quadratic
+            if (postings != null && postings.size() <= maxTagPostings) {
+                candidates.addAll(postings);
+            }
+        }
+        if (entry.categoryId != null) {
+            List<Entry> category = byCategory.get(entry.categoryId);
+            if (category != null) {
+                candidates.addAll(category.subList(0, Math.min(categoryCandidates, category.size())));
+            }
+        }
+        candidates.remove(entry);
+        return candidates;
+    }
+
+    private void compute(Entry entry, long now, boolean reciprocate) {
+        PriorityQueue<Scored> best = new PriorityQueue<>(Comparator.comparingDouble((Scored scored) -> scored.score));
+        for (Entry candidate : candidates(entry)) {
+            double shared = sharedScore(entry, candidate);
+            offer(best, new Scored(candidate.articleId, shared + recencyScore(candidate, now)));
+            if (reciprocate) {
+                long[] previous = candidate.relatedIds;
+                candidate.offer(entry.articleId, (float) (shared + recencyScore(entry, now)), maxRelated);
+                relink(candidate, previous, candidate.relatedIds, candidate.relatedScores);
+            }
+        }
+
+        int size = best.size();
+        long[] ids = new long[size];
+        float[] scores = new float[size];
+        for (int i = size - 1; i >= 0; i--) {
+            Scored scored = best.poll();
+            ids[i] = scored.articleId;
+            scores[i] = (float) scored.score;
+        }
+        relink(entry, entry.relatedIds, ids, scores);
+    }
+
+    // Sets an entry's list and moves it between the listedBy sets of the ids that left or joined it
+    private void relink(Entry entry, long[] previous, long[] ids, float[] scores) {
+        for (long id : previous) {
+            if (!contains(ids, id)) {
+                Set<Entry> listing = listedBy.get(id);
+                if (listing != null && listing.remove(entry) && listing.isEmpty()) {
+                    listedBy.remove(id);
+                }
+            }
+        }
+        for (long id : ids) {
+            if (!contains(previous, id)) {
+                listedBy.computeIfAbsent(id, key -> new HashSet<>()).add(entry);
+            }
+        }
+        entry.relatedIds = ids;
+        entry.relatedScores = scores;
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        for (long candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void offer(PriorityQueue<Scored> best, Scored scored) {
+        if (best.size() < maxRelated) {
+            best.add(scored);
+        } else if (scored.score > best.peek().score) {
+            best.poll();
+            best.add(scored);
+        }
+    }
+
+    // The symmetric part of the similarity: tag overlap and category match
+    private double sharedScore(Entry a, Entry b) {
+        double intersection = 0;
+        double union = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.tagIds.length || j < b.tagIds.length) {
+            if (j == b.tagIds.length || (i < a.tagIds.length && a.tagIds[i] < b.tagIds[j])) {
+                union += tagIdf(a.tagIds[i++]);
+            } else if (i == a.tagIds.length || b.tagIds[j] < a.tagIds[i]) {
+                union += tagIdf(b.tagIds[j++]);
+            } else {
+                double weight = tagIdf(a.tagIds[i]);
+                intersection += weight;
+                union += weight;
+                i++;
+                j++;
+            }
+        }
+        double jaccard = union > 0 ? intersection / union : 0;
+        boolean sameCategory = a.categoryId != null && a.categoryId.equals(b.categoryId);
+        return tagWeight * jaccard + (sameCategory ? categoryWeight : 0);
+    }
+
+    private double tagIdf(long tagId) {
+        List<Entry> postings = byTag.get(tagId);
+        int documentFrequency = postings != null ? postings.size() : 0;
+        return Math.log(1 + (double) articles.size() / Math.max(1, documentFrequency));
+    }
+
+    private double recencyScore(Entry candidate, long now) {
+        double age = Math.max(0, now - candidate.createdAtMillis);
+        return recencyWeight * Math.pow(2, -age / recencyHalfLifeMillis);
+    }
+
+    public static long toMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+
+    private static final class Scored {
+        final long articleId;
+        final double score;
+
+        Scored(long articleId, double score) {
+            this.articleId = articleId;
+            this.score = score;
+        }
+    }
+
+    private static final class Entry {
+        final long articleId;
+        final String title;
+        final Long categoryId;
+        final LocalDateTime createdAt;
+        final long createdAtMillis;
+        // Sorted, for the merge in sharedScore
+        final long[] tagIds;
+        // Best first
+        long[] relatedIds = new long[0];
+        float[] relatedScores = new float[0];
+
+        Entry(long articleId, String title, Long categoryId, LocalDateTime createdAt, Collection<Long> tagIds) {
+            this.articleId = articleId;
+            this.title = title;
+            this.categoryId = categoryId;
+            this.createdAt = createdAt;
+            this.createdAtMillis = toMillis(createdAt);
+            this.tagIds = tagIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        }
+
+        int indexOf(long otherId) {
+            for (int i = 0; i < relatedIds.length; i++) {
+                if (relatedIds[i] == otherId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Inserts or re-scores another article, keeping the arrays sorted and at most max long
+        void offer(long otherId, float score, int max) {
+            int existing = indexOf(otherId);
+            int size = relatedIds.length;
+            if (existing < 0 && size >= max && score <= relatedScores[size - 1]) {
+                return;
+            }
+            long[] ids = new long[existing >= 0 ? size : Math.min(size + 1, max)];
+            float[] scores = new float[ids.length];
+            int target = 0;
+            boolean inserted = false;
+            for (int i = 0; i < size && target < ids.length; i++) {
+                if (i == existing) {
+                    continue;
+                }
+                if (!inserted && score > relatedScores[i]) {
+                    ids[target] = otherId;
+                    scores[target++] = score;
+                    inserted = true;
+                    if (target == ids.length) {
+                        break;
+                    }
+                }
+                ids[target] = relatedIds[i];
+                scores[target++] = relatedScores[i];
+            }
+            if (!inserted && target < ids.length) {
+                ids[target] = otherId;
+                scores[target++] = score;
+            }
+            relatedIds = Arrays.copyOf(ids, target);
+            relatedScores = Arrays.copyOf(scores, target);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package news.app.newsApp.related;
+
+import news.app.newsApp.dto.RelatedArticleDto;
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps the RelatedArticleIndex behind /api/articles/{id}/related: built from the database on startup and nightly,
+// and updated incrementally whenever ArticleService creates, updates, archives or deletes an article
+@Component
+public class RelatedArticlesEngine {
+    private static final Logger logger = LoggerFactory.getLogger(RelatedArticlesEngine.class);
+
+    @Value("${app.related.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.related.max-related:10}")
+    private int maxRelated;
+
+    @Value("${app.related.max-tag-postings:5000}")
+    private int maxTagPostings;
+
+    @Value("${app.related.category-candidates:200}")
+    private int categoryCandidates;
+
+    @Value("${app.related.weights.tags:0.7}")
+    private double tagWeight;
+
+    @Value("${app.related.weights.category:0.2}")
+    private double categoryWeight;
+
+    @Value("${app.related.weights.recency:0.1}")
+    private double recencyWeight;
+
+    @Value("${app.related.recency-half-life-days:30}")
+    private long recencyHalfLifeDays;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private volatile RelatedArticleIndex index;
+
+    // Articles changed while a rebuild was reading the database, replayed once the new index is in place
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        index = newIndex();
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.related.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        if (!enabled || !rebuildLock.tryLock()) {
+            return;
+        }
+        rebuilding = true;
+        try {
+            long start = System.currentTimeMillis();
+            RelatedArticleIndex rebuilt = newIndex();
+
+            Map<Long, List<Long>> tagIds = new HashMap<>();
+            for (Object[] row : articleRepository.findPublishedTagIds()) {
+                tagIds.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            }
+            for (Object[] row : articleRepository.findPublishedSummaries()) {
+                Long articleId = (Long) row[0];
+                rebuilt.load(articleId, (String) row[1], (Long) row[2], (LocalDateTime) row[3],
+                        tagIds.getOrDefault(articleId, List.of()));
+            }
+            rebuilt.computeAll(now());
+
+            index = rebuilt;
+            rebuilding = false;
+            for (Long articleId : new ArrayList<>(changedDuringRebuild)) {
+                changedDuringRebuild.remove(articleId);
+                refresh(articleId);
+            }
+            logger.info("Built related articles for {} articles in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuilding = false;
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!enabled || index == null) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(event.getArticleId());
+        }
+        if (event.getType() == ArticleChangedEvent.Type.DELETED || event.getStatus() != Article.Status.PUBLISHED) {
+            index.remove(event.getArticleId(), now());
+        } else {
+            refresh(event.getArticleId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        if (!enabled || index == null) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getArticleIds());
+        }
+        event.getArticleIds().forEach(this::refresh);
+    }
+
+    public List<RelatedArticleDto> getRelated(Long articleId, int limit) {
+        RelatedArticleIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        return current.related(articleId, Math.max(limit, 0));
+    }
+
+    // Reloads one article's title, category, creation time and tags; removes it if it is no longer published
+    private void refresh(Long articleId) {
+        List<Object[]> summary = articleRepository.findPublishedSummary(articleId);
+        if (summary.isEmpty()) {
+            index.remove(articleId, now());
+            return;
+        }
+        Object[] row = summary.get(0);
+        index.put(articleId, (String) row[1], (Long) row[2], (LocalDateTime) row[3],
+                articleRepository.findTagIds(articleId), now());
+    }
+
+    private RelatedArticleIndex newIndex() {
+        return new RelatedArticleIndex(maxRelated, maxTagPostings, categoryCandidates, tagWeight, categoryWeight,
+                recencyWeight, recencyHalfLifeDays * 24 * 3_600_000);
+    }
+
+    private long now() {
+        return RelatedArticleIndex.toMillis(LocalDateTime.now());
+    }
+}
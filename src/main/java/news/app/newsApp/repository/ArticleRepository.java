@@ -6,20 +6,50 @@ import news.app.newsApp.model.User;
 import news.app.newsApp.model.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
+
+    // Columns of ArticleService.toSummary, in order
+    String SUMMARY_SELECT = "SELECT a.id, a.title, a.description, a.featuredImage, a.status, a.views, a.commentCount, " +
+            "a.replyCount, c.id, c.name, a.createdAt, a.updatedAt FROM Article a LEFT JOIN a.category c ";
+
+    @EntityGraph(Article.LIST_GRAPH)
     Page<Article> findByAuthor(User author, Pageable pageable);
+
+    // Author timelines and category feeds: summary columns only, filtered on the foreign key so the
+    // author or category row is only joined for the category name
+    @Query(value = SUMMARY_SELECT + "WHERE a.author.id = :authorId",
+           countQuery = "SELECT COUNT(a) FROM Article a WHERE a.author.id = :authorId")
+    Page<Object[]> findSummariesByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE a.category.id = :categoryId",
+           countQuery = "SELECT COUNT(a) FROM Article a WHERE a.category.id = :categoryId")
+    Page<Object[]> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @EntityGraph(Article.LIST_GRAPH)
     Page<Article> findByCategory(Category category, Pageable pageable);
+
+    @EntityGraph(Article.LIST_GRAPH)
     Page<Article> findByStatus(Article.Status status, Pageable pageable);
+
+    @EntityGraph(Article.DETAIL_GRAPH)
+    Optional<Article> findDetailById(Long id);
+
+    @EntityGraph(Article.OWNERSHIP_GRAPH)
+    Optional<Article> findOwnershipById(Long id);
     
     @Query("SELECT DISTINCT a FROM Article a " +
            "LEFT JOIN FETCH a.author " +
@@ -30,40 +60,93 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
            "OR a.description LIKE %?1%")
     List<Article> searchArticlesWithRelationships(String keyword);
 
+    @EntityGraph(Article.LIST_GRAPH)
     @Query(value = "SELECT DISTINCT a FROM Article a " +
            "WHERE CAST(a.title AS string) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR CAST(a.content AS string) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR CAST(a.description AS string) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Article> searchArticles(@Param("keyword") String keyword, Pageable pageable);
+
+    // Same match as searchArticles, ids of published articles only, for tag facets
+    @Query("SELECT a.id FROM Article a WHERE a.status = 'PUBLISHED' " +
+           "AND (CAST(a.title AS string) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR CAST(a.content AS string) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR CAST(a.description AS string) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    List<Long> searchPublishedIds(@Param("keyword") String keyword);
     
+    @Modifying
+    @Query(value = "UPDATE articles SET comment_count = comment_count + :commentDelta, " +
+           "reply_count = reply_count + :replyDelta WHERE id = :id", nativeQuery = true)
+    int adjustCounters(@Param("id") Long id, @Param("commentDelta") int commentDelta, @Param("replyDelta") int replyDelta);
+
+    // Recomputes both counters from comments.reply_count, so comment counters must be reconciled first.
+    // Archived articles keep the counters they had; their comments are no longer in the comments table.
+    @Modifying
+    @Query(value = "UPDATE articles a SET comment_count = x.comments, reply_count = x.replies " +
+           "FROM (SELECT a2.id, COUNT(cm.id) FILTER (WHERE cm.status = 1) AS comments, " +
+           "             COALESCE(SUM(cm.reply_count), 0) AS replies " +
+           "      FROM articles a2 LEFT JOIN comments cm ON cm.article_id = a2.id " +
+           "      WHERE a2.archived_at IS NULL " +
+           "      GROUP BY a2.id) x " +
+           "WHERE x.id = a.id AND (a.comment_count <> x.comments OR a.reply_count <> x.replies)", nativeQuery = true)
+    int reconcileCounters();
+
+    @EntityGraph(Article.LIST_GRAPH)
     @Query("SELECT a FROM Article a WHERE a.status = 'PUBLISHED' ORDER BY a.views DESC")
     List<Article> findTopArticlesByViews(Pageable pageable);
     
+    @EntityGraph(Article.LIST_GRAPH)
     @Query("SELECT a FROM Article a WHERE a.status = 'PUBLISHED' ORDER BY a.createdAt DESC")
     Page<Article> findLatestArticles(Pageable pageable);
 
-    @Query("SELECT DISTINCT a FROM Article a " +
-           "LEFT JOIN FETCH a.author " +
-           "LEFT JOIN FETCH a.category " +
-           "LEFT JOIN FETCH a.tags " +
-           "WHERE a.status = 'PUBLISHED' " +
-           "ORDER BY a.createdAt DESC")
-    List<Article> findPublishedArticlesWithCommentCount();
+    @Query("SELECT a.id, a.title, a.category.id FROM Article a WHERE a.id IN :ids AND a.status = 'PUBLISHED'")
+    List<Object[]> findPublishedTitlesAndCategories(@Param("ids") Collection<Long> ids);
+
+    // Scheduled drafts, to rebuild ScheduledPublisher's queue
+    @Query("SELECT a.id, a.publishAt FROM Article a WHERE a.status = 'DRAFT' AND a.publishAt IS NOT NULL")
+    List<Object[]> findScheduled();
+
+    @EntityGraph(Article.LIST_GRAPH)
+    @Query("SELECT a FROM Article a WHERE a.id IN :ids AND a.status = 'PUBLISHED'")
+    List<Article> findPublishedByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Related-articles index: one row per article, then its (article, tag) pairs
+    @Query("SELECT a.id, a.title, a.category.id, a.createdAt FROM Article a WHERE a.status = 'PUBLISHED'")
+    List<Object[]> findPublishedSummaries();
 
+    @Query("SELECT a.id, t.id FROM Article a JOIN a.tags t WHERE a.status = 'PUBLISHED'")
+    List<Object[]> findPublishedTagIds();
+
+    @Query("SELECT a.id, a.title, a.category.id, a.createdAt FROM Article a WHERE a.id = :id AND a.status = 'PUBLISHED'")
+    List<Object[]> findPublishedSummary(@Param("id") Long id);
+
+    @Query("SELECT t.id FROM Article a JOIN a.tags t WHERE a.id = :id")
+    List<Long> findTagIds(@Param("id") Long id);
+
+    // A writer's own articles in one status, to scope tag filters on unpublished statuses
+    @Query("SELECT a.id FROM Article a WHERE a.author.id = :authorId AND a.status = :status")
+    List<Long> findIdsByAuthorIdAndStatus(@Param("authorId") Long authorId, @Param("status") Article.Status status);
+
+    // Tag, category and status bitsets (ArticleFacetEngine): every article, whatever its status
+    @Query("SELECT a.id, a.category.id, a.status FROM Article a")
+    List<Object[]> findCategoriesAndStatuses();
+
+    @Query("SELECT a.id, t.id FROM Article a JOIN a.tags t")
+    List<Object[]> findAllTagIds();
+
+    @Query("SELECT a.id, a.category.id, a.status FROM Article a WHERE a.id = :id")
+    List<Object[]> findCategoryAndStatus(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :ids")
+    List<Object[]> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(Article.LIST_GRAPH)
     @Query("SELECT a FROM Article a")
     Page<Article> findAllWithTags(Pageable pageable);
     
     @Query("SELECT a FROM Article a LEFT JOIN FETCH a.tags WHERE a IN :articles")
     List<Article> findArticlesWithTags(List<Article> articles);
 
-    @Query("SELECT DISTINCT a FROM Article a " +
-           "LEFT JOIN FETCH a.tags " +
-           "LEFT JOIN FETCH a.images " +
-           "LEFT JOIN FETCH a.category " +
-           "LEFT JOIN FETCH a.author " +
-           "WHERE a.id = :id")
-    Article findByIdWithAllRelationships(@Param("id") Long id);
-
     @Query("SELECT DISTINCT c FROM Comment c " +
            "LEFT JOIN FETCH c.user " +
            "LEFT JOIN FETCH c.replies r " +
@@ -80,15 +163,18 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     // Statistics methods
     Long countByStatus(Article.Status status);
+
+    @Query("SELECT a.status, COUNT(a) FROM Article a GROUP BY a.status")
+    List<Object[]> countGroupByStatus();
     Long countByCategory(Category category);
-    Long countByAuthor(User author);
-    Long countByAuthorAndStatus(User author, Article.Status status);
 
     @Query("SELECT COALESCE(SUM(DISTINCT a.views), 0) FROM Article a")
     Long sumViews();
 
-    @Query("SELECT COALESCE(SUM(DISTINCT a.views), 0) FROM Article a WHERE a.author = :author")
-    Long sumViewsByAuthor(@Param("author") User author);
+    // Writer dashboard cold start: article count, views and comment counters of one author per status
+    @Query("SELECT a.status, COUNT(a), COALESCE(SUM(a.views), 0), COALESCE(SUM(a.commentCount), 0) " +
+           "FROM Article a WHERE a.author.id = :authorId GROUP BY a.status")
+    List<Object[]> getDashboardTotalsByAuthor(@Param("authorId") Long authorId);
 
     Long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     Long countByStatusAndCreatedAtBetween(Article.Status status, LocalDateTime startDate, LocalDateTime endDate);
@@ -102,8 +188,12 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("SELECT c.name, COUNT(DISTINCT a) FROM Article a JOIN a.category c WHERE a.createdAt BETWEEN :startDate AND :endDate GROUP BY c.name")
     List<Object[]> countByCategoryAndCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT DISTINCT a FROM Article a WHERE a.author = :author ORDER BY a.views DESC")
-    List<Article> findTopArticlesByAuthor(@Param("author") User author);
+    // Reads the first entries of idx_articles_author_views rather than every article of the author
+    @Query("SELECT a.id, a.title, a.views FROM Article a WHERE a.author.id = :authorId ORDER BY a.views DESC, a.id")
+    List<Object[]> findTopArticlesByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query("SELECT a.id, a.author.id, a.title, a.views FROM Article a WHERE a.id IN :ids")
+    List<Object[]> findAuthorsTitlesAndViews(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT c.name as category, " +
            "(SELECT COUNT(DISTINCT a2.id) " +
@@ -139,6 +229,7 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("SELECT DATE(a.createdAt) as date, COUNT(DISTINCT a) as count FROM Article a WHERE a.author = :author AND a.createdAt BETWEEN :startDate AND :endDate GROUP BY DATE(a.createdAt)")
     Map<String, Long> getDailyViewsByAuthor(@Param("author") User author, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
+    @EntityGraph(value = Article.STATS_GRAPH, type = EntityGraph.EntityGraphType.FETCH)
     @Query("SELECT DISTINCT a FROM Article a WHERE a.author = :author AND a.createdAt BETWEEN :startDate AND :endDate ORDER BY a.views DESC")
     List<Article> getTopArticlesByAuthor(@Param("author") User author, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
@@ -206,7 +297,7 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("SELECT c.name, COUNT(DISTINCT a.id) " +
            "FROM Category c " +
            "INNER JOIN c.articles a " +
-           "WHERE a.author = :author " +
+           "WHERE a.author.id = :authorId " +
            "GROUP BY c.name")
-    List<Object[]> getCategoryPerformanceByAuthorAsList(@Param("author") User author);
+    List<Object[]> getCategoryPerformanceByAuthorAsList(@Param("authorId") Long authorId);
 }
\ No newline at end of file
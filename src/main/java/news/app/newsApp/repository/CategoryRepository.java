@@ -17,24 +17,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByName(String name);
 
     // Statistics methods
-    @Query("SELECT c.name as category, COALESCE(SUM(a.views), 0) as views FROM Category c LEFT JOIN c.articles a WHERE a.createdAt BETWEEN :startDate AND :endDate GROUP BY c.name")
-    List<Object[]> getCategoryViews(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-    @Query("SELECT c.name as categoryName, COUNT(DISTINCT cm) as commentCount " +
-           "FROM Category c " +
-           "LEFT JOIN c.articles a " +
-           "LEFT JOIN a.comments cm " +
-           "WHERE cm.createdAt BETWEEN :startDate AND :endDate " +
-           "GROUP BY c.name")
-    List<Object[]> getCategoryComments(LocalDateTime startDate, LocalDateTime endDate);
-
-    @Query("SELECT c.name, (COALESCE(SUM(DISTINCT a.views), 0) + COUNT(DISTINCT cm)) as engagement FROM Category c LEFT JOIN c.articles a LEFT JOIN a.comments cm WHERE a.createdAt BETWEEN :startDate AND :endDate GROUP BY c.name")
-    List<Object[]> getCategoryEngagement(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-
-    @Query("SELECT (SELECT COUNT(DISTINCT a) FROM Article a WHERE a.createdAt BETWEEN :startDate AND :endDate) as totalArticles")
-    Long getTotalArticles(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-
-    @Query("SELECT c.name, COUNT(DISTINCT a) as count FROM Category c LEFT JOIN c.articles a WHERE a.createdAt BETWEEN :startDate AND :endDate GROUP BY c.name ORDER BY count DESC")
-    List<Object[]> getTopCategories(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    @Query("SELECT c.name, COUNT(a) FROM Category c LEFT JOIN c.articles a GROUP BY c.name")
+    List<Object[]> countArticlesGroupByCategory();
 
     // Additional methods for detailed category statistics
     @Query("SELECT c.name, COUNT(DISTINCT a) as count FROM Category c LEFT JOIN c.articles a WHERE a.createdAt BETWEEN :startDate AND :endDate GROUP BY c.name ORDER BY count DESC")
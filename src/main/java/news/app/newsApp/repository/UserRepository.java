@@ -14,6 +14,10 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
@@ -21,6 +25,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Statistics methods
     Long countByRole(User.Role role);
+
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countGroupByRole();
+
+    @Query("SELECT u.username, COUNT(a) FROM User u LEFT JOIN u.articles a WHERE u.role = 'WRITER' GROUP BY u.username")
+    List<Object[]> countArticlesGroupByWriter();
     Long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     Long countByRoleAndCreatedAtBetween(User.Role role, LocalDateTime startDate, LocalDateTime endDate);
 
@@ -4,6 +4,11 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -20,12 +25,16 @@ import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationInMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
     
     private Key getSigningKey() {
         byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
@@ -77,22 +86,32 @@ public class JwtTokenProvider {
     }
     
     public boolean validateToken(String authToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
         try {
             Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(authToken);
+            outcome = "valid";
             return true;
         } catch (SignatureException ex) {
-            System.out.println("Invalid JWT signature");
+            outcome = "invalid_signature";
+            logger.debug("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
-            System.out.println("Invalid JWT token");
+            outcome = "malformed";
+            logger.debug("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            System.out.println("Expired JWT token");
+            outcome = "expired";
+            logger.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            System.out.println("Unsupported JWT token");
+            outcome = "unsupported";
+            logger.debug("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            System.out.println("JWT claims string is empty");
+            outcome = "empty";
+            logger.debug("JWT claims string is empty");
+        } finally {
+            sample.stop(meterRegistry.timer("jwt.validation", "outcome", outcome));
         }
         return false;
     }
@@ -1,5 +1,6 @@
 package news.app.newsApp.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -79,8 +80,15 @@ public class WebSecurityConfig {
                     .requestMatchers(HttpMethod.GET, "/api/categories/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/tags/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/articles/published/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/articles/trending").permitAll()
+                    // Open for PUBLISHED only; ArticleService checks the caller for any other status
+                    .requestMatchers(HttpMethod.GET, "/api/articles/by-tags").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/articles/{id}").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/articles/{id}/related").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/comments/article/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/actuator/health/**", "/actuator/prometheus").permitAll()
+                    // Completes server-sent event streams; the request itself was authorized and JWTs are only read once
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .anyRequest().authenticated()
             );
         
@@ -3,22 +3,22 @@ package news.app.newsApp.service;
 import news.app.newsApp.dto.StatisticsDto;
 import news.app.newsApp.model.Article;
 import news.app.newsApp.model.User;
-import news.app.newsApp.model.Category;
 import news.app.newsApp.repository.ArticleRepository;
 import news.app.newsApp.repository.UserRepository;
 import news.app.newsApp.repository.CategoryRepository;
 import news.app.newsApp.repository.CommentRepository;
 import news.app.newsApp.exception.QueryExecutionException;
+import news.app.newsApp.metrics.SqlStatementBudget;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.List;
 
 @Service
@@ -37,14 +37,17 @@ public class AdminStatisticsService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private CategoryStatisticsView categoryStatisticsView;
+
     @Transactional(readOnly = true)
+    @SqlStatementBudget(12)
     public StatisticsDto getDashboardStatistics() {
         StatisticsDto statistics = new StatisticsDto();
         
         // Basic counts
         statistics.setTotalArticles(articleRepository.count());
         statistics.setTotalUsers(userRepository.count());
-        statistics.setTotalWriters(userRepository.countByRole(User.Role.WRITER));
         statistics.setTotalCategories(categoryRepository.count());
         statistics.setTotalComments(commentRepository.count());
         statistics.setTotalViews(articleRepository.sumViews());
@@ -52,33 +55,32 @@ public class AdminStatisticsService {
         // Articles by status
         Map<String, Long> articlesByStatus = new HashMap<>();
         for (Article.Status status : Article.Status.values()) {
-            articlesByStatus.put(status.name(), articleRepository.countByStatus(status));
+            articlesByStatus.put(status.name(), 0L);
+        }
+        for (Object[] row : articleRepository.countGroupByStatus()) {
+            articlesByStatus.put(((Article.Status) row[0]).name(), ((Number) row[1]).longValue());
         }
         statistics.setArticlesByStatus(articlesByStatus);
 
         // Users by role
         Map<String, Long> usersByRole = new HashMap<>();
         for (User.Role role : User.Role.values()) {
-            usersByRole.put(role.name(), userRepository.countByRole(role));
+            usersByRole.put(role.name(), 0L);
+        }
+        for (Object[] row : userRepository.countGroupByRole()) {
+            usersByRole.put(((User.Role) row[0]).name(), ((Number) row[1]).longValue());
         }
         statistics.setUsersByRole(usersByRole);
+        statistics.setTotalWriters(usersByRole.get(User.Role.WRITER.name()));
 
         // Top categories
         statistics.setTopCategories(
-            categoryRepository.findAll().stream()
-                .collect(Collectors.toMap(
-                    Category::getName,
-                    category -> articleRepository.countByCategory(category)
-                ))
+            StatisticsRows.toCountMap(categoryRepository.countArticlesGroupByCategory())
         );
 
         // Top writers
         statistics.setTopWriters(
-            userRepository.findByRole(User.Role.WRITER).stream()
-                .collect(Collectors.toMap(
-                    User::getUsername,
-                    writer -> articleRepository.countByAuthor(writer)
-                ))
+            StatisticsRows.toCountMap(userRepository.countArticlesGroupByWriter())
         );
 
         return statistics;
@@ -166,17 +168,16 @@ public class AdminStatisticsService {
         
         // Get user engagement metrics
         List<Object[]> engagementResults = userRepository.getUserEngagementMetrics(startDate, endDate);
-        Map<String, Long> userEngagement = engagementResults.stream()
-            .collect(Collectors.toMap(
-                row -> row[0].toString(),
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> userEngagement = StatisticsRows.toCountMap(engagementResults);
         overview.put("userActivity", userEngagement);
 
         return overview;
     }
 
+    // Served from the category_daily_stats materialized view, so ranges are whole days and the figures are as of
+    // its last refresh ("refreshedAt", "stalenessSeconds")
     @Transactional(readOnly = true)
+    @SqlStatementBudget(2)
     public Map<String, Object> getCategoriesPerformance(LocalDateTime startDate, LocalDateTime endDate) {
         Map<String, Object> performance = new HashMap<>();
         
@@ -188,48 +189,48 @@ public class AdminStatisticsService {
         }
 
         try {
-            logger.debug("Fetching category views for period: {} to {}", startDate, endDate);
-            List<Object[]> categoryViewsList = categoryRepository.getCategoryViews(startDate, endDate);
-            Map<String, Long> categoryViews = categoryViewsList.stream()
-                .collect(Collectors.toMap(
-                    row -> (String) row[0],
-                    row -> ((Number) row[1]).longValue()
-                ));
+            logger.debug("Fetching category performance for period: {} to {}", startDate, endDate);
+            Map<String, Long> categoryViews = new HashMap<>();
+            Map<String, Long> categoryComments = new HashMap<>();
+            Map<String, Long> categoryEngagement = new HashMap<>();
+            Map<String, Long> topCategories = new HashMap<>();
+            long totalArticles = 0;
+            for (Object[] row : categoryStatisticsView.getTotals(startDate.toLocalDate(), endDate.toLocalDate())) {
+                String category = (String) row[0];
+                long articles = (Long) row[1];
+                long views = (Long) row[2];
+                long articleComments = (Long) row[3];
+                long comments = (Long) row[4];
+                totalArticles += articles;
+                if (category == null) {
+                    // Uncategorized articles only count towards the total
+                    continue;
+                }
+                // Views and engagement are those of the articles created in the period, comments those written in it
+                if (articles > 0) {
+                    categoryViews.put(category, views);
+                    categoryEngagement.put(category, views + articleComments);
+                    topCategories.put(category, articles);
+                }
+                if (comments > 0) {
+                    categoryComments.put(category, comments);
+                }
+            }
+
             performance.put("categoryViews", categoryViews);
             performance.put("totalViews", categoryViews.values().stream().mapToLong(Long::longValue).sum());
-
-            logger.debug("Fetching category comments for period: {} to {}", startDate, endDate);
-            List<Object[]> categoryCommentsList = categoryRepository.getCategoryComments(startDate, endDate);
-            Map<String, Long> categoryComments = categoryCommentsList.stream()
-                .collect(Collectors.toMap(
-                    row -> (String) row[0],
-                    row -> ((Number) row[1]).longValue()
-                ));
             performance.put("categoryComments", categoryComments);
             performance.put("totalComments", categoryComments.values().stream().mapToLong(Long::longValue).sum());
-
-            logger.debug("Fetching category engagement for period: {} to {}", startDate, endDate);
-            List<Object[]> categoryEngagementList = categoryRepository.getCategoryEngagement(startDate, endDate);
-            Map<String, Long> categoryEngagement = categoryEngagementList.stream()
-                .collect(Collectors.toMap(
-                    row -> (String) row[0],
-                    row -> ((Number) row[1]).longValue()
-                ));
             performance.put("categoryEngagement", categoryEngagement);
             performance.put("totalEngagement", categoryEngagement.values().stream().mapToLong(Long::longValue).sum());
-
-            logger.debug("Fetching total articles for period: {} to {}", startDate, endDate);
-            performance.put("totalArticles", categoryRepository.getTotalArticles(startDate, endDate));
-
-            logger.debug("Fetching top categories for period: {} to {}", startDate, endDate);
-            List<Object[]> topCategoriesList = categoryRepository.getTopCategories(startDate, endDate);
-            Map<String, Long> topCategories = topCategoriesList.stream()
-                .collect(Collectors.toMap(
-                    row -> (String) row[0],
-                    row -> ((Number) row[1]).longValue()
-                ));
+            performance.put("totalArticles", totalArticles);
             performance.put("topCategories", topCategories);
 
+            LocalDateTime refreshedAt = categoryStatisticsView.getRefreshedAt();
+            performance.put("refreshedAt", refreshedAt);
+            performance.put("stalenessSeconds",
+                    refreshedAt != null ? Duration.between(refreshedAt, LocalDateTime.now()).getSeconds() : null);
+
         } catch (Exception e) {
             String errorMessage = String.format("Error fetching category performance data for period %s to %s", startDate, endDate);
             logger.error(errorMessage, e);
@@ -277,29 +278,17 @@ public class AdminStatisticsService {
         try {
             // Get daily views
             List<Object[]> dailyViewsList = articleRepository.getDailyViews(startDate, endDate);
-            Map<String, Long> dailyViews = dailyViewsList.stream()
-                .collect(Collectors.toMap(
-                    row -> row[0].toString(),
-                    row -> ((Number) row[1]).longValue()
-                ));
+            Map<String, Long> dailyViews = StatisticsRows.toCountMap(dailyViewsList);
             metrics.put("dailyViews", dailyViews);
 
         metrics.put("dailyComments", commentRepository.getDailyComments(startDate, endDate));
             // Get category views
             List<Object[]> categoryViewsList = articleRepository.getCategoryViews(startDate, endDate);
-            Map<String, Long> categoryViews = categoryViewsList.stream()
-                .collect(Collectors.toMap(
-                    row -> (String) row[0],
-                    row -> ((Number) row[1]).longValue()
-                ));
+            Map<String, Long> categoryViews = StatisticsRows.toCountMap(categoryViewsList);
             metrics.put("engagementByCategory", categoryViews);
             // Get user engagement metrics
             List<Object[]> userEngagementList = userRepository.getUserEngagementMetrics(startDate, endDate);
-            Map<String, Long> userEngagement = userEngagementList.stream()
-                .collect(Collectors.toMap(
-                    row -> row[0].toString(),
-                    row -> ((Number) row[1]).longValue()
-                ));
+            Map<String, Long> userEngagement = StatisticsRows.toCountMap(userEngagementList);
             metrics.put("userEngagement", userEngagement);
         } catch (Exception e) {
             String errorMessage = String.format("Error fetching engagement metrics for period %s to %s", startDate, endDate);
@@ -1,12 +1,17 @@
 package news.app.newsApp.service;
 
+import news.app.newsApp.archive.ArticleArchiver;
+import news.app.newsApp.cache.AuthorTimelineCache;
+import news.app.newsApp.cache.CategoryFeedCache;
 import news.app.newsApp.dto.ArticleDto;
 import news.app.newsApp.dto.ArticleRequest;
+import news.app.newsApp.dto.ArticleSummaryDto;
+import news.app.newsApp.event.ArticleChangedEvent;
 import news.app.newsApp.exception.ResourceNotFoundException;
+import news.app.newsApp.facet.ArticleFacetEngine;
+import news.app.newsApp.metrics.SqlStatementBudget;
 import news.app.newsApp.model.Article;
 import news.app.newsApp.model.Category;
-import news.app.newsApp.model.Comment;
-import news.app.newsApp.model.Reply;
 import news.app.newsApp.model.Tag;
 import news.app.newsApp.model.User;
 import news.app.newsApp.repository.ArticleRepository;
@@ -15,19 +20,25 @@ import news.app.newsApp.repository.TagRepository;
 import news.app.newsApp.repository.UserRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,6 +59,24 @@ public class ArticleService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ArticleViewRecorder articleViewRecorder;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AuthorTimelineCache authorTimelineCache;
+
+    @Autowired
+    private CategoryFeedCache categoryFeedCache;
+
+    @Autowired
+    private ArticleFacetEngine articleFacetEngine;
+
+    @Autowired
+    private ArticleArchiver articleArchiver;
+
     @Transactional(readOnly = true)
     public Page<ArticleDto> getAllArticles(Pageable pageable) {
         Page<Article> articlePage = articleRepository.findAllWithTags(pageable);
@@ -84,94 +113,132 @@ public class ArticleService {
         return articlePage.map(article -> modelMapper.map(article, ArticleDto.class));
     }
 
+    // Paged and sorted in the database with the list graph: the page, its count and the page's tags. Comment and
+    // reply counts come from the article row itself.
     @Transactional(readOnly = true)
+    @SqlStatementBudget(3)
     public Page<ArticleDto> getPublishedArticles(Pageable pageable) {
-        List<Article> allArticles = articleRepository.findPublishedArticlesWithCommentCount();
-        
-        // Manual pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), allArticles.size());
-        List<Article> pageContent = allArticles.subList(start, end);
-        
-        return new org.springframework.data.domain.PageImpl<>(
-            pageContent.stream()
-                .map(article -> {
-                    ArticleDto dto = modelMapper.map(article, ArticleDto.class);
-                    // Initialize comments collection and count if needed
-                    if (article.getComments() != null) {
-                        dto.setCommentCount(article.getComments().size());
-                    } else {
-                        dto.setCommentCount(0);
-                    }
-                    return dto;
-                })
-                .collect(Collectors.toList()),
-            pageable,
-            allArticles.size()
-        );
+        Page<Article> articlePage = articleRepository.findByStatus(Article.Status.PUBLISHED, pageable);
+        if (!articlePage.hasContent()) {
+            return articlePage.map(article -> modelMapper.map(article, ArticleDto.class));
+        }
+
+        Map<Long, Article> articlesWithTags = articleRepository.findArticlesWithTags(articlePage.getContent()).stream()
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+        return articlePage.map(article ->
+                modelMapper.map(articlesWithTags.getOrDefault(article.getId(), article), ArticleDto.class));
     }
 
     @Transactional(readOnly = true)
+    @SqlStatementBudget(3)
     public ArticleDto getArticleById(Long id) {
-        // First fetch the article with its basic relationships
-        Article article = articleRepository.findByIdWithAllRelationships(id);
-        
-        if (article == null) {
-            throw new ResourceNotFoundException("Article not found with id: " + id);
-        }
-        
-        // Then fetch comments separately and maintain as List
-        List<Comment> comments = articleRepository.findCommentsByArticleId(id);
-        
-        // Load LOB data for comments and replies
-        for (Comment comment : comments) {
-            // Load comment content
-            String commentContent = articleRepository.getCommentContent(comment.getId());
-            comment.setComment(commentContent);
-            
-            // Load reply contents
-            if (comment.getReplies() != null) {
-                for (Reply reply : comment.getReplies()) {
-                    String replyContent = articleRepository.getReplyContent(reply.getId());
-                    reply.setContent(replyContent);
-                }
-            }
-        }
-        
-        article.setComments(comments);
+        // Author, category, tags and images in one statement
+        Article article = articleRepository.findDetailById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Article not found with id: " + id));
         
-        // Increment view count in a separate transaction
-        updateArticleViews(id);
+        // Only counted here; the recorder writes it after this transaction has given its connection back
+        articleViewRecorder.recordView(id);
+        article.setViews(article.getViews() + 1);
         
         ArticleDto articleDto = modelMapper.map(article, ArticleDto.class);
-        articleDto.setCommentCount(comments.size());
+        if (article.getArchivedAt() != null) {
+            // Archived articles keep their content in the archive table
+            articleDto.setContent(articleArchiver.findContent(id));
+        }
         return articleDto;
     }
     
-    @Transactional
     public void updateArticleViews(Long id) {
-        articleRepository.findById(id).ifPresent(article -> {
-            article.setViews(article.getViews() + 1);
-            articleRepository.save(article);
-        });
+        articleViewRecorder.recordView(id);
     }
 
+    // Ownership check for @PreAuthorize: loads the article with its author only and leaves the view count alone
     @Transactional(readOnly = true)
-    public Page<ArticleDto> getArticlesByAuthor(Long authorId, Pageable pageable) {
-        User author = userRepository.findById(authorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + authorId));
-        
-        return articleRepository.findByAuthor(author, pageable)
-                .map(article -> modelMapper.map(article, ArticleDto.class));
+    public boolean isAuthor(Long id, String username) {
+        return articleRepository.findOwnershipById(id)
+                .map(article -> article.getAuthor().getUsername().equals(username))
+                .orElseThrow(() -> new ResourceNotFoundException("Article not found with id: " + id));
     }
 
     @Transactional(readOnly = true)
-    public Page<ArticleDto> getArticlesByCategory(Long categoryId, Pageable pageable) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
-        
-        return articleRepository.findByCategory(category, pageable)
-                .map(article -> modelMapper.map(article, ArticleDto.class));
+    @SqlStatementBudget(2)
+    public Page<ArticleSummaryDto> getArticlesByAuthor(Long authorId, Pageable pageable) {
+        boolean cacheable = authorTimelineCache.isCacheable(pageable);
+        if (cacheable) {
+            Page<ArticleSummaryDto> cached = authorTimelineCache.get(authorId, pageable);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long generation = authorTimelineCache.currentGeneration();
+        Page<ArticleSummaryDto> page = articleRepository.findSummariesByAuthorId(authorId, pageable)
+                .map(this::toSummary);
+        // The author only needs to be looked up when they have no articles at all
+        if (page.getTotalElements() == 0 && !userRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("Author not found with id: " + authorId);
+        }
+        if (cacheable) {
+            authorTimelineCache.put(authorId, pageable, generation, page);
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    @SqlStatementBudget(2)
+    public Page<ArticleSummaryDto> getArticlesByCategory(Long categoryId, Pageable pageable) {
+        boolean cacheable = categoryFeedCache.isCacheable(pageable);
+        if (cacheable) {
+            Page<ArticleSummaryDto> cached = categoryFeedCache.get(categoryId, pageable);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long generation = categoryFeedCache.currentGeneration();
+        Page<ArticleSummaryDto> page = articleRepository.findSummariesByCategoryId(categoryId, pageable)
+                .map(this::toSummary);
+        if (page.getTotalElements() == 0 && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with id: " + categoryId);
+        }
+        if (cacheable) {
+            categoryFeedCache.put(categoryId, pageable, generation, page);
+        }
+        return page;
+    }
+
+    // Matching is done on the in-memory tag bitsets; only the requested page is read, in one statement. Other
+    // statuses than PUBLISHED are for administrators, and for writers over their own articles (two more statements)
+    @Transactional(readOnly = true)
+    @SqlStatementBudget(3)
+    public Page<ArticleSummaryDto> getArticlesByTags(List<Long> all, List<Long> any, List<Long> none,
+                                                     Article.Status status, Long categoryId, Pageable pageable) {
+        long[] matches = articleFacetEngine.matchByTags(all, any, none, status, categoryId);
+        if (status != Article.Status.PUBLISHED) {
+            User currentUser = getAuthenticatedUser();
+            if (currentUser == null || currentUser.getRole() == User.Role.READER) {
+                throw new AccessDeniedException("Only administrators and writers can filter unpublished articles");
+            }
+            if (currentUser.getRole() == User.Role.WRITER) {
+                Set<Long> own = new HashSet<>(articleRepository.findIdsByAuthorIdAndStatus(currentUser.getId(), status));
+                matches = Arrays.stream(matches).filter(own::contains).toArray();
+            }
+        }
+        int start = (int) Math.min(pageable.getOffset(), matches.length);
+        int end = Math.min(start + pageable.getPageSize(), matches.length);
+        if (start == end) {
+            return new PageImpl<>(List.of(), pageable, matches.length);
+        }
+
+        List<Long> pageIds = Arrays.stream(matches, start, end).boxed().toList();
+        Map<Long, ArticleSummaryDto> summaries = articleRepository.findSummariesByIdIn(pageIds).stream()
+                .map(this::toSummary)
+                .collect(Collectors.toMap(ArticleSummaryDto::getId, Function.identity()));
+        List<ArticleSummaryDto> content = pageIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, matches.length);
     }
 
     @Transactional(readOnly = true)
@@ -218,7 +285,7 @@ public class ArticleService {
         article.setContent(articleRequest.getContent());
         article.setDescription(articleRequest.getDescription());
         article.setFeaturedImage(articleRequest.getFeaturedImage());
-        article.setStatus(articleRequest.getStatus());
+        applySchedule(article, articleRequest.getStatus(), articleRequest.getPublishAt());
         article.setAuthor(currentUser);
         article.setViews(0);
 
@@ -241,19 +308,21 @@ public class ArticleService {
             savedArticle = articleRepository.save(savedArticle);
         }
 
+        publishArticleChange(savedArticle, ArticleChangedEvent.Type.CREATED);
         return modelMapper.map(savedArticle, ArticleDto.class);
     }
 
     @Transactional
     public ArticleDto updateArticle(Long id, ArticleRequest articleRequest) {
         User currentUser = getCurrentUser();
-        Article article = articleRepository.findById(id)
+        Article article = articleRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Article not found with id: " + id));
 
         if (!currentUser.getRole().equals(User.Role.ADMIN) && !article.getAuthor().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("You don't have permission to update this article");
         }
 
+        restoreIfArchived(article);
         article.setTitle(articleRequest.getTitle());
         article.setContent(articleRequest.getContent());
         article.setDescription(articleRequest.getDescription());
@@ -262,7 +331,7 @@ public class ArticleService {
             article.setFeaturedImage(articleRequest.getFeaturedImage());
         }
         
-        article.setStatus(articleRequest.getStatus());
+        applySchedule(article, articleRequest.getStatus(), articleRequest.getPublishAt());
 
         if (articleRequest.getCategoryId() != null) {
             Category category = categoryRepository.findById(articleRequest.getCategoryId())
@@ -281,13 +350,14 @@ public class ArticleService {
         }
 
         Article updatedArticle = articleRepository.save(article);
+        publishArticleChange(updatedArticle, ArticleChangedEvent.Type.UPDATED);
         return modelMapper.map(updatedArticle, ArticleDto.class);
     }
 
     @Transactional
     public void deleteArticle(Long id) {
         User currentUser = getCurrentUser();
-        Article article = articleRepository.findById(id)
+        Article article = articleRepository.findOwnershipById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Article not found with id: " + id));
 
         if (!currentUser.getRole().equals(User.Role.ADMIN) && !article.getAuthor().getId().equals(currentUser.getId())) {
@@ -295,23 +365,84 @@ public class ArticleService {
         }
 
         articleRepository.delete(article);
+        publishArticleChange(article, ArticleChangedEvent.Type.DELETED);
     }
 
     @Transactional
     public ArticleDto updateArticleStatus(Long id, Article.Status status) {
         User currentUser = getCurrentUser();
-        Article article = articleRepository.findById(id)
+        Article article = articleRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Article not found with id: " + id));
 
         if (!currentUser.getRole().equals(User.Role.ADMIN) && !article.getAuthor().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("You don't have permission to update this article's status");
         }
 
-        article.setStatus(status);
+        restoreIfArchived(article);
+        // Setting a status by hand cancels a pending schedule, unless it only re-confirms the draft
+        applySchedule(article, status, status == Article.Status.DRAFT ? article.getPublishAt() : null);
         Article updatedArticle = articleRepository.save(article);
+        publishArticleChange(updatedArticle, ArticleChangedEvent.Type.STATUS_CHANGED);
         return modelMapper.map(updatedArticle, ArticleDto.class);
     }
 
+    private ArticleSummaryDto toSummary(Object[] row) {
+        ArticleSummaryDto summary = new ArticleSummaryDto();
+        summary.setId((Long) row[0]);
+        summary.setTitle((String) row[1]);
+        summary.setDescription((String) row[2]);
+        summary.setFeaturedImage((String) row[3]);
+        summary.setStatus((Article.Status) row[4]);
+        summary.setViews((Integer) row[5]);
+        summary.setCommentCount((Integer) row[6]);
+        summary.setReplyCount((Integer) row[7]);
+        summary.setCategoryId((Long) row[8]);
+        summary.setCategoryName((String) row[9]);
+        summary.setCreatedAt((LocalDateTime) row[10]);
+        summary.setUpdatedAt((LocalDateTime) row[11]);
+        return summary;
+    }
+
+    private void publishArticleChange(Article article, ArticleChangedEvent.Type type) {
+        eventPublisher.publishEvent(new ArticleChangedEvent(
+                article.getId(),
+                article.getTitle(),
+                article.getAuthor().getId(),
+                article.getCategory() != null ? article.getCategory().getId() : null,
+                article.getStatus(),
+                type,
+                article.getPublishAt()));
+    }
+
+    // Any change to an archived article moves it back to the hot tables first; ArticleArchiveJob archives it again
+    // later if it is still old and unread
+    private void restoreIfArchived(Article article) {
+        if (article.getArchivedAt() != null) {
+            article.setContent(articleArchiver.restore(article.getId()));
+            article.setArchivedAt(null);
+        }
+    }
+
+    // A publish time keeps the article a draft until ScheduledPublisher publishes it; any other status unschedules it
+    private void applySchedule(Article article, Article.Status status, LocalDateTime publishAt) {
+        if (publishAt != null && status != Article.Status.ARCHIVED) {
+            article.setStatus(Article.Status.DRAFT);
+            article.setPublishAt(publishAt);
+        } else {
+            article.setStatus(status);
+            article.setPublishAt(null);
+        }
+    }
+
+    // Null for anonymous callers, whose principal is not a UserDetails
+    private User getAuthenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails userDetails)) {
+            return null;
+        }
+        return userRepository.findByUsername(userDetails.getUsername()).orElse(null);
+    }
+
     private User getCurrentUser() {
         UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         return userRepository.findByUsername(userDetails.getUsername())
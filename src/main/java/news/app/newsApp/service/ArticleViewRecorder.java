@@ -0,0 +1,70 @@
+package news.app.newsApp.service;
+
+import jakarta.annotation.PreDestroy;
+import news.app.newsApp.event.ArticleEngagementEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Views are counted in memory and written once per flush interval in a single batched transaction, so a read
+// (or a cache hit) never takes a connection for its view, let alone a second one inside its own read transaction.
+// Views counted since the last flush are lost if the instance dies.
+@Service
+public class ArticleViewRecorder {
+    private static final String INCREMENT_SQL = "UPDATE articles SET views = views + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Unwritten views per article
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public void recordView(Long articleId) {
+        pending.merge(articleId, 1L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:1000}")
+    @Transactional
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> increments = new ArrayList<>(pending.size());
+        for (Long articleId : pending.keySet()) {
+            Long views = pending.remove(articleId);
+            if (views != null) {
+                increments.add(new Object[]{views, articleId});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, increments);
+        } catch (DataAccessException e) {
+            // Rolled back by rethrowing; counted again so the next flush retries them
+            increments.forEach(row -> pending.merge((Long) row[1], (Long) row[0], Long::sum));
+            throw e;
+        }
+        // One event per view, delivered once the increments commit
+        for (Object[] row : increments) {
+            for (long i = 0; i < (Long) row[0]; i++) {
+                eventPublisher.publishEvent(new ArticleEngagementEvent((Long) row[1], ArticleEngagementEvent.Type.VIEW, false));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -4,12 +4,14 @@ import news.app.newsApp.dto.AuthRequest;
 import news.app.newsApp.dto.JwtResponse;
 import news.app.newsApp.dto.RegisterRequest;
 import news.app.newsApp.dto.TwoFactorAuthResponse;
+import news.app.newsApp.event.UserRegisteredEvent;
 import news.app.newsApp.exception.ResourceAlreadyExistsException;
 import news.app.newsApp.model.User;
 import news.app.newsApp.repository.UserRepository;
 import news.app.newsApp.security.JwtTokenProvider;
 import news.app.newsApp.security.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -35,6 +37,9 @@ public class AuthService {
     @Autowired
     private TwoFactorAuthService twoFactorAuthService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public TwoFactorAuthResponse authenticateUser(AuthRequest loginRequest) {
         // First, authenticate the user's credentials
         Authentication authentication = authenticationManager.authenticate(
@@ -103,6 +108,8 @@ public class AuthService {
         user.setRole(User.Role.READER); // Default role
         user.setIsActive(true);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId(), savedUser.getRole()));
+        return savedUser;
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package news.app.newsApp.service;
 
 import news.app.newsApp.dto.CategoryDto;
 import news.app.newsApp.dto.CategoryRequest;
+import news.app.newsApp.event.CategoryChangedEvent;
 import news.app.newsApp.exception.ResourceAlreadyExistsException;
 import news.app.newsApp.exception.ResourceNotFoundException;
 import news.app.newsApp.model.Category;
@@ -9,6 +10,7 @@ import news.app.newsApp.model.User;
 import news.app.newsApp.repository.CategoryRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,6 +32,9 @@ public class CategoryService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<CategoryDto> getAllCategories() {
         return categoryRepository.findAll().stream()
                 .map(category -> modelMapper.map(category, CategoryDto.class))
@@ -60,6 +65,7 @@ public class CategoryService {
         category.setDescription(categoryRequest.getDescription());
 
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
         return modelMapper.map(savedCategory, CategoryDto.class);
     }
 
@@ -85,6 +91,7 @@ public class CategoryService {
         category.setDescription(categoryRequest.getDescription());
 
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(updatedCategory.getId()));
         return modelMapper.map(updatedCategory, CategoryDto.class);
     }
 
@@ -101,6 +108,7 @@ public class CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     private User getCurrentUser() {
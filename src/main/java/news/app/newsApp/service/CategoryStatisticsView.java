@@ -0,0 +1,79 @@
+package news.app.newsApp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Reads and refreshes the category_daily_stats materialized view (V10). Refreshes run CONCURRENTLY, so reports
+// keep reading the previous contents meanwhile; materialized_view_refreshes records when the data was taken.
+@Component
+public class CategoryStatisticsView {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryStatisticsView.class);
+
+    static final String VIEW_NAME = "category_daily_stats";
+
+    // Per category with a name, plus one row without a name for uncategorized articles
+    private static final String TOTALS_SQL =
+            "SELECT c.name, SUM(s.articles), SUM(s.views), SUM(s.article_comments), SUM(s.comments) " +
+            "FROM category_daily_stats s LEFT JOIN categories c ON c.id = s.category_id " +
+            "WHERE s.day BETWEEN ? AND ? " +
+            "GROUP BY c.name";
+
+    @Value("${app.statistics.category-view.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Refreshes on one instance never overlap; a refresh requested while one runs is covered by it
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // [category name, articles, views, comments on those articles, comments written] per category over whole days
+    public List<Object[]> getTotals(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(TOTALS_SQL, (rs, rowNum) -> new Object[] {
+                rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)
+        }, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        List<Timestamp> refreshedAt = jdbcTemplate.queryForList(
+                "SELECT refreshed_at FROM materialized_view_refreshes WHERE view_name = ?", Timestamp.class, VIEW_NAME);
+        return refreshedAt.isEmpty() ? null : refreshedAt.get(0).toLocalDateTime();
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.category-view.refresh-interval-ms:900000}",
+            initialDelayString = "${app.statistics.category-view.refresh-interval-ms:900000}")
+    public void scheduledRefresh() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    // Also called after bulk writes (seeding, counter repairs) so the report catches up without waiting
+    public void refresh() {
+        if (!refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime takenAt = LocalDateTime.now();
+            jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + VIEW_NAME);
+            jdbcTemplate.update("UPDATE materialized_view_refreshes SET refreshed_at = ? WHERE view_name = ?",
+                    Timestamp.valueOf(takenAt), VIEW_NAME);
+            logger.debug("Refreshed {} in {} ms", VIEW_NAME, System.currentTimeMillis() - start);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
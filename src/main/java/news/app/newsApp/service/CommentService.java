@@ -1,8 +1,12 @@
 package news.app.newsApp.service;
 
+import news.app.newsApp.archive.ArticleArchiver;
 import news.app.newsApp.dto.CommentDto;
 import news.app.newsApp.dto.CommentRequest;
+import news.app.newsApp.event.ArticleEngagementEvent;
+import news.app.newsApp.event.CommentChangedEvent;
 import news.app.newsApp.exception.ResourceNotFoundException;
+import news.app.newsApp.metrics.SqlStatementBudget;
 import news.app.newsApp.model.Article;
 import news.app.newsApp.model.Comment;
 import news.app.newsApp.model.User;
@@ -11,6 +15,7 @@ import news.app.newsApp.repository.CommentRepository;
 import news.app.newsApp.repository.UserRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -20,6 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class CommentService {
@@ -36,10 +42,21 @@ public class CommentService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ArticleArchiver articleArchiver;
+
     @Transactional(readOnly = true)
+    @SqlStatementBudget(3)
     public Page<CommentDto> getCommentsByArticle(Long articleId, Pageable pageable) {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Article not found with id: " + articleId));
+
+        if (article.getArchivedAt() != null) {
+            return articleArchiver.findComments(articleId, pageable);
+        }
         
         // First, get all comments with their replies
         List<Comment> allComments = commentRepository.findByArticleWithReplies(article);
@@ -78,6 +95,11 @@ public class CommentService {
         Article article = articleRepository.findById(commentRequest.getArticleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Article not found with id: " + commentRequest.getArticleId()));
 
+        // A new comment brings an archived article's discussion back to the hot tables
+        if (article.getArchivedAt() != null) {
+            articleArchiver.restore(article.getId());
+        }
+
         Comment comment = new Comment();
         comment.setComment(commentRequest.getComment());
         comment.setArticle(article);
@@ -87,14 +109,17 @@ public class CommentService {
         comment.setStatus(1); // Active
 
         Comment savedComment = commentRepository.save(comment);
-        return modelMapper.map(savedComment, CommentDto.class);
+        articleRepository.adjustCounters(article.getId(), 1, 0);
+        eventPublisher.publishEvent(new ArticleEngagementEvent(article.getId(), ArticleEngagementEvent.Type.COMMENT, false));
+        CommentDto created = modelMapper.map(savedComment, CommentDto.class);
+        eventPublisher.publishEvent(CommentChangedEvent.comment(CommentChangedEvent.Type.CREATED, article.getId(), created));
+        return created;
     }
 
     @Transactional
     public CommentDto updateComment(Long id, CommentRequest commentRequest) {
         User currentUser = getCurrentUser();
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+        Comment comment = findComment(id);
 
         // Check if the user has permission to update the comment
         if (!currentUser.getRole().equals(User.Role.ADMIN) && !comment.getUser().getId().equals(currentUser.getId())) {
@@ -103,14 +128,13 @@ public class CommentService {
 
         comment.setComment(commentRequest.getComment());
         Comment updatedComment = commentRepository.save(comment);
-        return modelMapper.map(updatedComment, CommentDto.class);
+        return published(CommentChangedEvent.Type.UPDATED, updatedComment);
     }
 
     @Transactional
     public void deleteComment(Long id) {
         User currentUser = getCurrentUser();
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+        Comment comment = findComment(id);
 
         // Check if the user has permission to delete the comment
         if (!currentUser.getRole().equals(User.Role.ADMIN) && 
@@ -119,24 +143,28 @@ public class CommentService {
             throw new AccessDeniedException("You don't have permission to delete this comment");
         }
 
+        // The comment's replies are deleted with it
+        articleRepository.adjustCounters(comment.getArticle().getId(), isActive(comment.getStatus()) ? -1 : 0,
+                -comment.getReplyCount());
         commentRepository.delete(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(comment.getArticle().getId(), id, null,
+                CommentChangedEvent.Type.DELETED, null, null));
     }
 
     @Transactional
     public CommentDto likeComment(Long id) {
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+        Comment comment = findComment(id);
         
         comment.setLikes(comment.getLikes() + 1);
         Comment updatedComment = commentRepository.save(comment);
-        return modelMapper.map(updatedComment, CommentDto.class);
+        eventPublisher.publishEvent(new ArticleEngagementEvent(comment.getArticle().getId(), ArticleEngagementEvent.Type.LIKE, false));
+        return published(CommentChangedEvent.Type.LIKED, updatedComment);
     }
 
     @Transactional
     public CommentDto updateCommentStatus(Long id, Integer status) {
         User currentUser = getCurrentUser();
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+        Comment comment = findComment(id);
 
         // Only admin or article author can update comment status
         if (!currentUser.getRole().equals(User.Role.ADMIN) && 
@@ -144,9 +172,43 @@ public class CommentService {
             throw new AccessDeniedException("You don't have permission to update this comment's status");
         }
 
+        int delta = (isActive(status) ? 1 : 0) - (isActive(comment.getStatus()) ? 1 : 0);
+        if (delta != 0) {
+            articleRepository.adjustCounters(comment.getArticle().getId(), delta, 0);
+        }
+
         comment.setStatus(status);
         Comment updatedComment = commentRepository.save(comment);
-        return modelMapper.map(updatedComment, CommentDto.class);
+        return published(CommentChangedEvent.Type.STATUS_CHANGED, updatedComment);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean articleExists(Long articleId) {
+        return articleRepository.existsById(articleId);
+    }
+
+    // Comment pages of archived articles are read from comments_archive, so their ids are not in comments; acting
+    // on one restores the article's discussion first, as a new comment does
+    private Comment findComment(Long id) {
+        Optional<Comment> comment = commentRepository.findById(id);
+        Long archivedArticleId = comment.isEmpty() ? articleArchiver.findArticleIdOfComment(id) : null;
+        if (archivedArticleId != null) {
+            articleArchiver.restore(archivedArticleId);
+            comment = commentRepository.findById(id);
+        }
+        return comment.orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+    }
+
+    // Maps the comment for the response and pushes the same payload to the article's live channel
+    private CommentDto published(CommentChangedEvent.Type type, Comment comment) {
+        CommentDto dto = modelMapper.map(comment, CommentDto.class);
+        eventPublisher.publishEvent(CommentChangedEvent.comment(type, comment.getArticle().getId(), dto));
+        return dto;
+    }
+
+    // Only active comments are counted on the article
+    private boolean isActive(Integer status) {
+        return Integer.valueOf(1).equals(status);
     }
 
     private User getCurrentUser() {
@@ -0,0 +1,46 @@
+package news.app.newsApp.service;
+
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.repository.CommentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Recomputes the denormalized comment and reply counters from the source tables and fixes any row that drifted
+// (e.g. a reply added while its comment was being deleted, or rows written with plain SQL)
+@Component
+public class CounterReconciliationJob {
+    private static final Logger logger = LoggerFactory.getLogger(CounterReconciliationJob.class);
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CategoryStatisticsView categoryStatisticsView;
+
+    @Scheduled(cron = "${app.counters.reconciliation.cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        // Article reply counts are summed from comment reply counts, so comments go first
+        int comments = commentRepository.reconcileReplyCounts();
+        int articles = articleRepository.reconcileCounters();
+
+        if (comments > 0 || articles > 0) {
+            logger.warn("Repaired counters on {} comments and {} articles in {} ms",
+                    comments, articles, System.currentTimeMillis() - start);
+            // The category report sums article comment counters
+            if (articles > 0) {
+                categoryStatisticsView.refresh();
+            }
+        } else {
+            logger.info("Comment and reply counters are consistent ({} ms)", System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package news.app.newsApp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.List;
+
+// Creates the monthly created_at partitions of comments and replies (V9) ahead of time, so new rows never fall
+// into the default partition and the statistics queries keep pruning to the months they ask for
+@Component
+public class PartitionMaintenanceJob {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("comments", "replies");
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Also on startup, so an instance that was down over a month boundary catches up before taking writes
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${app.partitions.cron:0 0 2 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        createPartitions(current, current.plusMonths(monthsAhead));
+    }
+
+    // Months that already have a partition are skipped
+    public void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            for (String table : PARTITIONED_TABLES) {
+                createPartition(table, month);
+            }
+        }
+    }
+
+    public static String partitionName(String table, YearMonth month) {
+        return String.format("%s_p%04d_%02d", table, month.getYear(), month.getMonthValue());
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        String partition = partitionName(table, month);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        } catch (DataAccessException e) {
+            // Typically rows for that month already sit in the default partition and have to be moved by hand
+            logger.warn("Could not create partition {}", partition, e);
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package news.app.newsApp.service;
 
+import news.app.newsApp.archive.ArticleArchiver;
 import news.app.newsApp.dto.ReplyDto;
 import news.app.newsApp.dto.ReplyRequest;
+import news.app.newsApp.event.ArticleEngagementEvent;
+import news.app.newsApp.event.CommentChangedEvent;
 import news.app.newsApp.exception.ResourceNotFoundException;
 import news.app.newsApp.model.Comment;
 import news.app.newsApp.model.Reply;
 import news.app.newsApp.model.User;
+import news.app.newsApp.repository.ArticleRepository;
 import news.app.newsApp.repository.CommentRepository;
 import news.app.newsApp.repository.ReplyRepository;
 import news.app.newsApp.repository.UserRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -20,6 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,12 +37,21 @@ public class ReplyService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private ArticleRepository articleRepository;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ArticleArchiver articleArchiver;
+
     public Page<ReplyDto> getRepliesByComment(Long commentId, Pageable pageable) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
@@ -67,8 +82,7 @@ public class ReplyService {
             throw new AccessDeniedException("You must be logged in to reply");
         }
 
-        Comment comment = commentRepository.findById(replyRequest.getCommentId())
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + replyRequest.getCommentId()));
+        Comment comment = findComment(replyRequest.getCommentId());
 
         Reply reply = new Reply();
         reply.setContent(replyRequest.getContent());
@@ -80,14 +94,15 @@ public class ReplyService {
         reply.setParentReplyId(replyRequest.getParentReplyId());
 
         Reply savedReply = replyRepository.save(reply);
-        return modelMapper.map(savedReply, ReplyDto.class);
+        adjustReplyCounts(comment, 1);
+        eventPublisher.publishEvent(new ArticleEngagementEvent(comment.getArticle().getId(), ArticleEngagementEvent.Type.COMMENT, true));
+        return published(CommentChangedEvent.Type.CREATED, savedReply);
     }
 
     @Transactional
     public ReplyDto updateReply(Long id, ReplyRequest replyRequest) {
         User currentUser = getCurrentUser();
-        Reply reply = replyRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reply not found with id: " + id));
+        Reply reply = findReply(id);
 
         // Check if the user has permission to update the reply
         if (!currentUser.getRole().equals(User.Role.ADMIN) && !reply.getUser().getId().equals(currentUser.getId())) {
@@ -96,14 +111,13 @@ public class ReplyService {
 
         reply.setContent(replyRequest.getContent());
         Reply updatedReply = replyRepository.save(reply);
-        return modelMapper.map(updatedReply, ReplyDto.class);
+        return published(CommentChangedEvent.Type.UPDATED, updatedReply);
     }
 
     @Transactional
     public void deleteReply(Long id) {
         User currentUser = getCurrentUser();
-        Reply reply = replyRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reply not found with id: " + id));
+        Reply reply = findReply(id);
 
         // Check if the user has permission to delete the reply
         if (!currentUser.getRole().equals(User.Role.ADMIN) && 
@@ -112,24 +126,28 @@ public class ReplyService {
             throw new AccessDeniedException("You don't have permission to delete this reply");
         }
 
+        if (isActive(reply.getStatus())) {
+            adjustReplyCounts(reply.getComment(), -1);
+        }
         replyRepository.delete(reply);
+        eventPublisher.publishEvent(new CommentChangedEvent(reply.getComment().getArticle().getId(),
+                reply.getComment().getId(), id, CommentChangedEvent.Type.DELETED, null, null));
     }
 
     @Transactional
     public ReplyDto likeReply(Long id) {
-        Reply reply = replyRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reply not found with id: " + id));
+        Reply reply = findReply(id);
         
         reply.setLikes(reply.getLikes() + 1);
         Reply updatedReply = replyRepository.save(reply);
-        return modelMapper.map(updatedReply, ReplyDto.class);
+        eventPublisher.publishEvent(new ArticleEngagementEvent(reply.getComment().getArticle().getId(), ArticleEngagementEvent.Type.LIKE, true));
+        return published(CommentChangedEvent.Type.LIKED, updatedReply);
     }
 
     @Transactional
     public ReplyDto updateReplyStatus(Long id, Integer status) {
         User currentUser = getCurrentUser();
-        Reply reply = replyRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reply not found with id: " + id));
+        Reply reply = findReply(id);
 
         // Only admin or article author can update reply status
         if (!currentUser.getRole().equals(User.Role.ADMIN) && 
@@ -137,9 +155,58 @@ public class ReplyService {
             throw new AccessDeniedException("You don't have permission to update this reply's status");
         }
 
+        int delta = (isActive(status) ? 1 : 0) - (isActive(reply.getStatus()) ? 1 : 0);
+        if (delta != 0) {
+            adjustReplyCounts(reply.getComment(), delta);
+        }
+
         reply.setStatus(status);
         Reply updatedReply = replyRepository.save(reply);
-        return modelMapper.map(updatedReply, ReplyDto.class);
+        return published(CommentChangedEvent.Type.STATUS_CHANGED, updatedReply);
+    }
+
+    // Ids read from an archived article's comment page are only in the archive tables; CommentService restores
+    // the discussion on a write, and so do replies
+    private Comment findComment(Long id) {
+        Optional<Comment> comment = commentRepository.findById(id);
+        if (comment.isEmpty() && restore(articleArchiver.findArticleIdOfComment(id))) {
+            comment = commentRepository.findById(id);
+        }
+        return comment.orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+    }
+
+    private Reply findReply(Long id) {
+        Optional<Reply> reply = replyRepository.findById(id);
+        if (reply.isEmpty() && restore(articleArchiver.findArticleIdOfReply(id))) {
+            reply = replyRepository.findById(id);
+        }
+        return reply.orElseThrow(() -> new ResourceNotFoundException("Reply not found with id: " + id));
+    }
+
+    private boolean restore(Long archivedArticleId) {
+        if (archivedArticleId == null) {
+            return false;
+        }
+        articleArchiver.restore(archivedArticleId);
+        return true;
+    }
+
+    // Maps the reply for the response and pushes the same payload to the article's live channel
+    private ReplyDto published(CommentChangedEvent.Type type, Reply reply) {
+        ReplyDto dto = modelMapper.map(reply, ReplyDto.class);
+        Comment comment = reply.getComment();
+        eventPublisher.publishEvent(CommentChangedEvent.reply(type, comment.getArticle().getId(), comment.getId(), dto));
+        return dto;
+    }
+
+    // Active replies are counted on both the comment and its article
+    private void adjustReplyCounts(Comment comment, int delta) {
+        commentRepository.adjustReplyCount(comment.getId(), comment.getCreatedAt(), delta);
+        articleRepository.adjustCounters(comment.getArticle().getId(), 0, delta);
+    }
+
+    private boolean isActive(Integer status) {
+        return Integer.valueOf(1).equals(status);
     }
 
     private User getCurrentUser() {
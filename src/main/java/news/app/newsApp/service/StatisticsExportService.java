@@ -0,0 +1,96 @@
+package news.app.newsApp.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Writes statistics reports as CSV straight from the result set: rows are fetched through a server-side cursor
+// (fetch size, inside a read-only transaction) and written one by one, so memory stays flat for multi-year periods
+@Service
+public class StatisticsExportService {
+
+    // Leading characters that make a spreadsheet evaluate a cell as a formula; tab and CR included
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    @Value("${app.statistics.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate cursorTemplate;
+
+    @PostConstruct
+    void createCursorTemplate() {
+        // The Postgres driver only streams with a fetch size when auto-commit is off, hence the transaction below
+        cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(fetchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(StatisticsReport report, LocalDateTime startDate, LocalDateTime endDate, Writer writer) {
+        Timestamp start = Timestamp.valueOf(startDate);
+        Timestamp end = Timestamp.valueOf(endDate);
+        writeRow(writer, report.getColumns().toArray());
+
+        cursorTemplate.query(report.getSql(), statement -> {
+            for (int i = 1; i <= report.getParameterCount(); i++) {
+                statement.setTimestamp(i, i % 2 == 1 ? start : end);
+            }
+        }, rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            Object[] row = new Object[metaData.getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            writeRow(writer, row);
+        });
+
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRow(Writer writer, Object[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            // The client went away; abandoning the cursor ends the transaction
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180 quoting, plus a leading quote for values a spreadsheet would evaluate as a formula
+    static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
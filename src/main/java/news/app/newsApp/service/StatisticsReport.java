@@ -0,0 +1,76 @@
+package news.app.newsApp.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+// Exportable statistics reports: CSV header plus the query producing the rows in output order. Every ? is bound to
+// the period, alternately its start and its end.
+public enum StatisticsReport {
+
+    DAILY_VIEWS("daily-views", List.of("date", "articles", "views"),
+            "SELECT a.created_at::DATE, COUNT(*), COALESCE(SUM(a.views), 0) " +
+            "FROM articles a WHERE a.created_at BETWEEN ? AND ? " +
+            "GROUP BY 1 ORDER BY 1"),
+
+    // Archived discussions included; the created_at ranges prune to the months of the period
+    DAILY_COMMENTS("daily-comments", List.of("date", "comments", "replies"),
+            "SELECT x.day, SUM(x.comments), SUM(x.replies) FROM (" +
+            "  SELECT created_at::DATE AS day, 1 AS comments, 0 AS replies FROM comments WHERE created_at BETWEEN ? AND ?" +
+            "  UNION ALL SELECT created_at::DATE, 1, 0 FROM comments_archive WHERE created_at BETWEEN ? AND ?" +
+            "  UNION ALL SELECT created_at::DATE, 0, 1 FROM replies WHERE created_at BETWEEN ? AND ?" +
+            "  UNION ALL SELECT created_at::DATE, 0, 1 FROM replies_archive WHERE created_at BETWEEN ? AND ?" +
+            ") x GROUP BY x.day ORDER BY x.day"),
+
+    DAILY_REGISTRATIONS("daily-registrations", List.of("date", "users", "readers", "writers", "admins"),
+            "SELECT u.created_at::DATE, COUNT(*), COUNT(*) FILTER (WHERE u.role = 'READER'), " +
+            "COUNT(*) FILTER (WHERE u.role = 'WRITER'), COUNT(*) FILTER (WHERE u.role = 'ADMIN') " +
+            "FROM users u WHERE u.created_at BETWEEN ? AND ? " +
+            "GROUP BY 1 ORDER BY 1"),
+
+    // Articles written in the period with their views and active comments and replies to date
+    WRITERS("writers", List.of("writer", "articles", "views", "comments", "replies"),
+            "SELECT u.username, COUNT(*), COALESCE(SUM(a.views), 0), COALESCE(SUM(a.comment_count), 0), " +
+            "COALESCE(SUM(a.reply_count), 0) " +
+            "FROM articles a JOIN users u ON u.id = a.author_id WHERE a.created_at BETWEEN ? AND ? " +
+            "GROUP BY u.username ORDER BY u.username"),
+
+    // From the category_daily_stats view, so as fresh as its last refresh
+    CATEGORIES("categories", List.of("date", "category", "articles", "views", "comments"),
+            "SELECT s.day, COALESCE(c.name, ''), s.articles, s.views, s.comments " +
+            "FROM category_daily_stats s LEFT JOIN categories c ON c.id = s.category_id " +
+            "WHERE s.day BETWEEN CAST(? AS DATE) AND CAST(? AS DATE) " +
+            "ORDER BY s.day, 2");
+
+    private final String name;
+    private final List<String> columns;
+    private final String sql;
+    private final int parameterCount;
+
+    StatisticsReport(String name, List<String> columns, String sql) {
+        this.name = name;
+        this.columns = columns;
+        this.sql = sql;
+        this.parameterCount = (int) sql.chars().filter(c -> c == '?').count();
+    }
+
+    public static Optional<StatisticsReport> fromName(String name) {
+        return Arrays.stream(values()).filter(report -> report.name.equals(name)).findFirst();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getParameterCount() {
+        return parameterCount;
+    }
+}
@@ -0,0 +1,22 @@
+package news.app.newsApp.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class StatisticsRows {
+
+    private StatisticsRows() {
+    }
+
+    // Maps [label, count] rows from the grouped statistics queries; labels may be strings, dates or enums. Rows whose
+    // labels render the same (e.g. two categories with one name) are added up rather than one replacing the other.
+    public static Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>((int) (rows.size() / 0.75f) + 1);
+        for (Object[] row : rows) {
+            counts.merge(row[0] != null ? row[0].toString() : null, row[1] != null ? ((Number) row[1]).longValue() : 0L,
+                    Long::sum);
+        }
+        return counts;
+    }
+}
@@ -2,6 +2,7 @@ package news.app.newsApp.service;
 
 import news.app.newsApp.dto.TagDto;
 import news.app.newsApp.dto.TagRequest;
+import news.app.newsApp.event.TagChangedEvent;
 import news.app.newsApp.exception.ResourceAlreadyExistsException;
 import news.app.newsApp.exception.ResourceNotFoundException;
 import news.app.newsApp.model.Tag;
@@ -9,6 +10,7 @@ import news.app.newsApp.model.User;
 import news.app.newsApp.repository.TagRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,6 +32,9 @@ public class TagService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<TagDto> getAllTags() {
         return tagRepository.findAll().stream()
                 .map(tag -> modelMapper.map(tag, TagDto.class))
@@ -59,6 +64,7 @@ public class TagService {
         tag.setName(tagRequest.getName());
 
         Tag savedTag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(savedTag.getId()));
         return modelMapper.map(savedTag, TagDto.class);
     }
 
@@ -83,6 +89,7 @@ public class TagService {
         tag.setName(tagRequest.getName());
 
         Tag updatedTag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(updatedTag.getId()));
         return modelMapper.map(updatedTag, TagDto.class);
     }
 
@@ -99,6 +106,7 @@ public class TagService {
                 .orElseThrow(() -> new ResourceNotFoundException("Tag not found with id: " + id));
         
         tagRepository.deleteById(id);
+        eventPublisher.publishEvent(new TagChangedEvent(id));
     }
 
     private User getCurrentUser() {
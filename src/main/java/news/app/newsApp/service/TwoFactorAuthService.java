@@ -11,8 +11,8 @@ import org.slf4j.LoggerFactory;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TwoFactorAuthService {
@@ -24,8 +24,8 @@ public class TwoFactorAuthService {
     @Autowired
     private UserRepository userRepository;
 
-    private final Map<String, String> verificationCodes = new HashMap<>();
-    private final Map<String, LocalDateTime> codeExpiryTimes = new HashMap<>();
+    private final Map<String, String> verificationCodes = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> codeExpiryTimes = new ConcurrentHashMap<>();
     private static final int CODE_LENGTH = 6;
     private static final int CODE_EXPIRY_MINUTES = 5;
 
@@ -3,12 +3,14 @@ package news.app.newsApp.service;
 import news.app.newsApp.dto.AuthRequest;
 import news.app.newsApp.dto.MessageResponse;
 import news.app.newsApp.dto.UserDto;
+import news.app.newsApp.event.UserRegisteredEvent;
 import news.app.newsApp.exception.ResourceNotFoundException;
 import news.app.newsApp.model.User;
 import news.app.newsApp.repository.UserRepository;
 import news.app.newsApp.security.JwtTokenProvider;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -49,6 +51,9 @@ public class UserService {
     @Autowired
     private JwtTokenProvider jwtUtils;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<UserDto> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(user -> modelMapper.map(user, UserDto.class))
@@ -112,6 +117,7 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId(), savedUser.getRole()));
         return modelMapper.map(savedUser, UserDto.class);
     }
 
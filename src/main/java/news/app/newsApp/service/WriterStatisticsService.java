@@ -1,6 +1,8 @@
 package news.app.newsApp.service;
 
+import news.app.newsApp.dashboard.WriterDashboardEngine;
 import news.app.newsApp.dto.WriterStatisticsDto;
+import news.app.newsApp.metrics.SqlStatementBudget;
 import news.app.newsApp.model.Article;
 import news.app.newsApp.model.User;
 import news.app.newsApp.repository.ArticleRepository;
@@ -29,44 +31,14 @@ public class WriterStatisticsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private WriterDashboardEngine writerDashboardEngine;
+
+    // A map lookup once the writer's dashboard is built; the first load runs its four aggregate queries
     @Transactional(readOnly = true)
+    @SqlStatementBudget(5)
     public WriterStatisticsDto getWriterDashboard() {
-        User currentUser = getCurrentUser();
-        WriterStatisticsDto statistics = new WriterStatisticsDto();
-
-        // Basic counts
-        statistics.setTotalArticles(articleRepository.countByAuthor(currentUser));
-        statistics.setTotalViews(articleRepository.sumViewsByAuthor(currentUser));
-        statistics.setTotalComments(commentRepository.countByArticleAuthor(currentUser));
-        statistics.setTotalLikes(commentRepository.sumLikesByArticleAuthor(currentUser));
-
-        // Articles by status
-        Map<String, Long> articlesByStatus = new HashMap<>();
-        for (Article.Status status : Article.Status.values()) {
-            articlesByStatus.put(status.name(), articleRepository.countByAuthorAndStatus(currentUser, status));
-        }
-        statistics.setArticlesByStatus(articlesByStatus);
-
-        // Top articles
-        statistics.setTopArticles(
-            articleRepository.findTopArticlesByAuthor(currentUser).stream()
-                .collect(Collectors.toMap(
-                    Article::getTitle,
-                    article -> Long.valueOf(article.getViews())
-                ))
-        );
-
-        // Category performance - using a different approach
-        Map<String, Long> categoryPerformance = new HashMap<>();
-        List<Object[]> results = articleRepository.getCategoryPerformanceByAuthorAsList(currentUser);
-        for (Object[] result : results) {
-            String categoryName = (String) result[0];
-            Long count = ((Number) result[1]).longValue();
-            categoryPerformance.put(categoryName, count);
-        }
-        statistics.setCategoryPerformance(categoryPerformance);
-
-        return statistics;
+        return writerDashboardEngine.getDashboard(getCurrentUser().getId());
     }
 
     @Transactional(readOnly = true)
@@ -83,29 +55,17 @@ public class WriterStatisticsService {
 
         // Get article counts by date
         List<Object[]> articleCountsList = articleRepository.getArticleCountsByAuthor(currentUser, startDate, endDate);
-        Map<String, Long> articleCounts = articleCountsList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> articleCounts = StatisticsRows.toCountMap(articleCountsList);
         performance.put("articleCounts", articleCounts);
 
         // Get view counts by date
         List<Object[]> viewCountsList = articleRepository.getViewCountsByAuthor(currentUser, startDate, endDate);
-        Map<String, Long> viewCounts = viewCountsList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> viewCounts = StatisticsRows.toCountMap(viewCountsList);
         performance.put("viewCounts", viewCounts);
 
         // Get comment counts
         List<Object[]> commentCountsList = commentRepository.getCommentCountsByArticleAuthor(currentUser, startDate, endDate);
-        Map<String, Long> commentCounts = commentCountsList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> commentCounts = StatisticsRows.toCountMap(commentCountsList);
         performance.put("commentCounts", commentCounts);
 
         // Get top articles
@@ -137,11 +97,7 @@ public class WriterStatisticsService {
         
         // Convert List<Object[]> to Map<String, Long> for engagement by article
         List<Object[]> engagementList = articleRepository.getEngagementByArticle(currentUser, startDate, endDate);
-        Map<String, Long> engagementByArticle = engagementList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> engagementByArticle = StatisticsRows.toCountMap(engagementList);
         engagement.put("engagementByArticle", engagementByArticle);
         
         engagement.put("readerFeedback", commentRepository.getReaderFeedbackByArticleAuthor(currentUser, startDate, endDate));
@@ -186,20 +142,12 @@ public class WriterStatisticsService {
 
         // Get category engagement
         List<Object[]> engagementList = articleRepository.getCategoryEngagementByAuthor(currentUser, startDate, endDate);
-        Map<String, Long> categoryEngagement = engagementList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> categoryEngagement = StatisticsRows.toCountMap(engagementList);
         performance.put("categoryEngagement", categoryEngagement);
 
         // Get top categories
         List<Object[]> topCategoriesList = articleRepository.getTopCategoriesByAuthor(currentUser, startDate, endDate);
-        Map<String, Long> topCategories = topCategoriesList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> topCategories = StatisticsRows.toCountMap(topCategoriesList);
         performance.put("topCategories", topCategories);
 
         return performance;
@@ -219,39 +167,23 @@ public class WriterStatisticsService {
 
         // Convert List<Object[]> to Map<String, Long> for reader demographics
         List<Object[]> demographicsList = commentRepository.getReaderDemographicsByArticleAuthor(currentUser, startDate, endDate);
-        Map<String, Long> readerDemographics = demographicsList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> readerDemographics = StatisticsRows.toCountMap(demographicsList);
         insights.put("readerDemographics", readerDemographics);
 
         // Convert List<Object[]> to Map<String, Long> for popular topics
         User author = currentUser.getRole() == User.Role.ADMIN ? null : currentUser;
         List<Object[]> topicsList = articleRepository.getPopularTopicsByAuthor(author, startDate, endDate);
-        Map<String, Long> popularTopics = topicsList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> popularTopics = StatisticsRows.toCountMap(topicsList);
         insights.put("popularTopics", popularTopics);
 
         // Convert List<Object[]> to Map<String, Long> for reader feedback
         List<Object[]> feedbackList = commentRepository.getReaderFeedbackByArticleAuthor(currentUser, startDate, endDate);
-        Map<String, Long> readerFeedback = feedbackList.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> readerFeedback = StatisticsRows.toCountMap(feedbackList);
         insights.put("readerFeedback", readerFeedback);
 
         // Convert List<Object[]> to Map<String, Long> for engagement patterns
         List<Object[]> patternsList = articleRepository.getEngagementPatternsByAuthor(author, startDate, endDate);
-        Map<String, Long> engagementPatterns = patternsList.stream()
-            .collect(Collectors.toMap(
-                row -> ((java.sql.Date) row[0]).toString(),
-                row -> ((Number) row[1]).longValue()
-            ));
+        Map<String, Long> engagementPatterns = StatisticsRows.toCountMap(patternsList);
         insights.put("engagementPatterns", engagementPatterns);
 
         return insights;
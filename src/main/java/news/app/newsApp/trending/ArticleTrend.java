@@ -0,0 +1,98 @@
+package news.app.newsApp.trending;
+
+import news.app.newsApp.event.ArticleEngagementEvent;
+
+import java.util.Arrays;
+
+// Mutable per-article state, only touched under TrendingIndex's lock
+final class ArticleTrend {
+
+    static final long NO_BUCKET = -1;
+
+    final long articleId;
+    String title;
+    Long categoryId;
+
+    // Forward-decayed score relative to the index landmark; only ever grows between rebases
+    double key;
+
+    // Ring buffers of event counts, one slot per time bucket; headBucket is the newest bucket written
+    final int[] views;
+    final int[] comments;
+    final int[] likes;
+    long headBucket = NO_BUCKET;
+
+    boolean dirty;
+
+    ArticleTrend(long articleId, String title, Long categoryId, int bucketCount) {
+        this.articleId = articleId;
+        this.title = title;
+        this.categoryId = categoryId;
+        this.views = new int[bucketCount];
+        this.comments = new int[bucketCount];
+        this.likes = new int[bucketCount];
+    }
+
+    void add(ArticleEngagementEvent.Type type, int count, long bucket) {
+        if (headBucket != NO_BUCKET && bucket <= headBucket - views.length) {
+            // Older than the window; it still counted towards the score
+            return;
+        }
+        advanceTo(bucket);
+        counts(type)[slot(bucket)] += count;
+    }
+
+    int total(ArticleEngagementEvent.Type type, long nowBucket) {
+        if (headBucket == NO_BUCKET) {
+            return 0;
+        }
+        int[] counts = counts(type);
+        int sum = 0;
+        for (long bucket = Math.max(headBucket, nowBucket) - counts.length + 1; bucket <= headBucket; bucket++) {
+            sum += counts[slot(bucket)];
+        }
+        return sum;
+    }
+
+    // Restores ring buffers written by a previous run; they are dropped if the bucket count has changed
+    void restoreBuckets(long headBucket, int[] views, int[] comments, int[] likes) {
+        if (views.length != this.views.length || comments.length != this.comments.length || likes.length != this.likes.length) {
+            return;
+        }
+        System.arraycopy(views, 0, this.views, 0, views.length);
+        System.arraycopy(comments, 0, this.comments, 0, comments.length);
+        System.arraycopy(likes, 0, this.likes, 0, likes.length);
+        this.headBucket = headBucket;
+    }
+
+    private void advanceTo(long bucket) {
+        if (bucket <= headBucket) {
+            return;
+        }
+        if (headBucket == NO_BUCKET || bucket - headBucket >= views.length) {
+            Arrays.fill(views, 0);
+            Arrays.fill(comments, 0);
+            Arrays.fill(likes, 0);
+        } else {
+            for (long stale = headBucket + 1; stale <= bucket; stale++) {
+                int slot = slot(stale);
+                views[slot] = 0;
+                comments[slot] = 0;
+                likes[slot] = 0;
+            }
+        }
+        headBucket = bucket;
+    }
+
+    private int[] counts(ArticleEngagementEvent.Type type) {
+        return switch (type) {
+            case VIEW -> views;
+            case COMMENT -> comments;
+            case LIKE -> likes;
+        };
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) views.length);
+    }
+}
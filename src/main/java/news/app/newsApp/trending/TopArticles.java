@@ -0,0 +1,51 @@
+package news.app.newsApp.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+// Bounded ranking of the highest keys in one scope (a category, or everything).
+// Members must be removed before their key changes and offered again afterwards.
+final class TopArticles {
+
+    static final Comparator<ArticleTrend> BY_KEY_DESC = Comparator
+            .comparingDouble((ArticleTrend trend) -> trend.key).reversed()
+            .thenComparingLong(trend -> trend.articleId);
+
+    private final int capacity;
+    private final TreeSet<ArticleTrend> ranked = new TreeSet<>(BY_KEY_DESC);
+
+    TopArticles(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void offer(ArticleTrend trend) {
+        ranked.add(trend);
+        if (ranked.size() > capacity) {
+            ranked.pollLast();
+        }
+    }
+
+    boolean remove(ArticleTrend trend) {
+        return ranked.remove(trend);
+    }
+
+    void clear() {
+        ranked.clear();
+    }
+
+    boolean isEmpty() {
+        return ranked.isEmpty();
+    }
+
+    List<ArticleTrend> first(int limit) {
+        List<ArticleTrend> first = new ArrayList<>(Math.min(limit, ranked.size()));
+        Iterator<ArticleTrend> iterator = ranked.iterator();
+        while (first.size() < limit && iterator.hasNext()) {
+            first.add(iterator.next());
+        }
+        return first;
+    }
+}
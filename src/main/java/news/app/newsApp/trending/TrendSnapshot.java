@@ -0,0 +1,20 @@
+package news.app.newsApp.trending;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One article's trending state as persisted in article_trend_snapshots; the score is decayed to scoredAt
+@Getter
+@AllArgsConstructor
+public class TrendSnapshot {
+
+    private final long articleId;
+    private final String title;
+    private final Long categoryId;
+    private final double score;
+    private final long scoredAt;
+    private final long headBucket;
+    private final int[] views;
+    private final int[] comments;
+    private final int[] likes;
+}
@@ -0,0 +1,193 @@
+package news.app.newsApp.trending;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import news.app.newsApp.dto.TrendingArticleDto;
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticleEngagementEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Feeds committed view, comment and like events into the TrendingIndex and serves /api/articles/trending from it.
+// Request threads never touch the database: events for articles the index does not know yet are parked and
+// resolved in bulk by a background task, and the index is snapshotted to article_trend_snapshots periodically.
+@Component
+public class TrendingEngine {
+    private static final Logger logger = LoggerFactory.getLogger(TrendingEngine.class);
+
+    private static final int MAX_PENDING_ARTICLES = 10000;
+    private static final int MAX_UNTRACKED_ARTICLES = 100000;
+
+    @Value("${app.trending.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.trending.half-life-minutes:360}")
+    private long halfLifeMinutes;
+
+    @Value("${app.trending.bucket-minutes:60}")
+    private long bucketMinutes;
+
+    @Value("${app.trending.buckets:24}")
+    private int bucketCount;
+
+    @Value("${app.trending.top-k:50}")
+    private int topK;
+
+    @Value("${app.trending.weights.view:1}")
+    private double viewWeight;
+
+    @Value("${app.trending.weights.comment:5}")
+    private double commentWeight;
+
+    @Value("${app.trending.weights.like:2}")
+    private double likeWeight;
+
+    @Value("${app.trending.min-score:0.05}")
+    private double minScore;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private TrendingSnapshotStore snapshotStore;
+
+    private TrendingIndex index;
+
+    // Event counts (by ArticleEngagementEvent.Type ordinal) for articles not yet resolved
+    private final Map<Long, int[]> pending = new ConcurrentHashMap<>();
+
+    // Articles known not to be published; cleared for an article whenever it changes
+    private final Set<Long> untracked = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void restore() {
+        index = new TrendingIndex(halfLifeMinutes * 60_000, bucketMinutes * 60_000, bucketCount, topK,
+                viewWeight, commentWeight, likeWeight, System.currentTimeMillis());
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            List<TrendSnapshot> snapshots = snapshotStore.load();
+            snapshots.forEach(index::restore);
+            logger.info("Restored {} trending articles in {} ms", snapshots.size(), System.currentTimeMillis() - start);
+        } catch (DataAccessException e) {
+            logger.warn("Could not restore the trending snapshot, starting empty", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ArticleEngagementEvent event) {
+        Long articleId = event.getArticleId();
+        if (!enabled || articleId == null || untracked.contains(articleId)) {
+            return;
+        }
+        if (index.record(articleId, event.getType(), 1, System.currentTimeMillis())) {
+            return;
+        }
+        if (pending.size() < MAX_PENDING_ARTICLES || pending.containsKey(articleId)) {
+            pending.compute(articleId, (id, counts) -> {
+                int[] updated = counts != null ? counts : new int[ArticleEngagementEvent.Type.values().length];
+                updated[event.getType().ordinal()]++;
+                return updated;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        untracked.remove(event.getArticleId());
+        if (event.getType() == ArticleChangedEvent.Type.DELETED || event.getStatus() != Article.Status.PUBLISHED) {
+            index.untrack(event.getArticleId());
+        } else if (index.contains(event.getArticleId())) {
+            index.track(event.getArticleId(), event.getTitle(), event.getCategoryId());
+        }
+        // Newly published articles start being tracked with their first engagement
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesPublished(ArticlesPublishedEvent event) {
+        event.getArticleIds().forEach(untracked::remove);
+    }
+
+    public List<TrendingArticleDto> getTrending(Long categoryId, int limit) {
+        return index.top(categoryId, Math.max(limit, 0), System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.resolve-interval-ms:2000}")
+    public void resolvePending() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+        List<Long> articleIds = new ArrayList<>(pending.keySet());
+        Set<Long> published = new HashSet<>();
+        for (Object[] row : articleRepository.findPublishedTitlesAndCategories(articleIds)) {
+            Long articleId = (Long) row[0];
+            index.track(articleId, (String) row[1], (Long) row[2]);
+            published.add(articleId);
+        }
+
+        long now = System.currentTimeMillis();
+        for (Long articleId : articleIds) {
+            int[] counts = pending.remove(articleId);
+            if (counts == null) {
+                continue;
+            }
+            if (!published.contains(articleId)) {
+                if (untracked.size() >= MAX_UNTRACKED_ARTICLES) {
+                    untracked.clear();
+                }
+                untracked.add(articleId);
+                continue;
+            }
+            for (ArticleEngagementEvent.Type type : ArticleEngagementEvent.Type.values()) {
+                if (counts[type.ordinal()] > 0) {
+                    index.record(articleId, type, counts[type.ordinal()], now);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-interval-ms:60000}",
+            initialDelayString = "${app.trending.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<TrendSnapshot> changed = index.drainDirty(now);
+        List<Long> evicted = index.evictCold(minScore, now);
+        try {
+            snapshotStore.save(changed);
+            snapshotStore.delete(evicted);
+            logger.debug("Snapshotted {} trending articles, evicted {}", changed.size(), evicted.size());
+        } catch (DataAccessException e) {
+            // The rows stay as they were; the next snapshot writes whatever changes after this one
+            logger.warn("Could not write the trending snapshot", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+}
@@ -0,0 +1,291 @@
+package news.app.newsApp.trending;
+
+import news.app.newsApp.dto.TrendingArticleDto;
+import news.app.newsApp.event.ArticleEngagementEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory trending state: per-article ring buffers of engagement counts plus an exponentially decayed score.
+// Scores use forward decay: an event at time t adds weight * 2^((t - landmark) / halfLife) to the article's key,
+// and the decayed score at time now is key * 2^(-(now - landmark) / halfLife). Every article decays by the same
+// factor, so ranking by key equals ranking by current score and a key only changes when its own article gets an
+// event. That keeps the per-category top-K structures valid without ever re-scoring idle articles.
+public class TrendingIndex {
+
+    // Keys grow by 2^(elapsed half-lives); move the landmark forward long before that nears double overflow
+    private static final int REBASE_AFTER_HALF_LIVES = 64;
+
+    private final double halfLifeMillis;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int topK;
+    private final double viewWeight;
+    private final double commentWeight;
+    private final double likeWeight;
+
+    // All guarded by lock
+    private final Map<Long, ArticleTrend> trends = new HashMap<>();
+    private final Map<Long, TopArticles> byCategory = new HashMap<>();
+    private final TopArticles overall;
+    private long landmark;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TrendingIndex(long halfLifeMillis, long bucketMillis, int bucketCount, int topK,
+                         double viewWeight, double commentWeight, double likeWeight, long now) {
+        this.halfLifeMillis = halfLifeMillis;
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+        this.topK = topK;
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.likeWeight = likeWeight;
+        this.overall = new TopArticles(topK);
+        this.landmark = now;
+    }
+
+    public boolean contains(long articleId) {
+        lock.lock();
+        try {
+            return trends.containsKey(articleId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return trends.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Starts tracking an article, or refreshes the title and category of one already tracked
+    public void track(long articleId, String title, Long categoryId) {
+        lock.lock();
+        try {
+            ArticleTrend trend = trends.get(articleId);
+            if (trend == null) {
+                trends.put(articleId, new ArticleTrend(articleId, title, categoryId, bucketCount));
+                return;
+            }
+            trend.title = title;
+            if (!Objects.equals(trend.categoryId, categoryId)) {
+                Long previousCategoryId = trend.categoryId;
+                unrankWithoutRefill(trend);
+                trend.categoryId = categoryId;
+                rank(trend);
+                refillCategory(previousCategoryId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void untrack(long articleId) {
+        lock.lock();
+        try {
+            ArticleTrend trend = trends.remove(articleId);
+            if (trend != null) {
+                unrank(trend);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns false when the article is not tracked
+    public boolean record(long articleId, ArticleEngagementEvent.Type type, int count, long timestamp) {
+        lock.lock();
+        try {
+            ArticleTrend trend = trends.get(articleId);
+            if (trend == null) {
+                return false;
+            }
+            rebaseIfNeeded(timestamp);
+            trend.add(type, count, timestamp / bucketMillis);
+
+            // Re-rank with the new key: out of the sorted sets first, then offered back
+            unrankWithoutRefill(trend);
+            trend.key += weight(type) * count * Math.pow(2, (timestamp - landmark) / halfLifeMillis);
+            rank(trend);
+            trend.dirty = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<TrendingArticleDto> top(Long categoryId, int limit, long now) {
+        lock.lock();
+        try {
+            TopArticles scope = categoryId == null ? overall : byCategory.get(categoryId);
+            if (scope == null) {
+                return List.of();
+            }
+            double decay = Math.pow(2, -(now - landmark) / halfLifeMillis);
+            long nowBucket = now / bucketMillis;
+            List<TrendingArticleDto> top = new ArrayList<>();
+            for (ArticleTrend trend : scope.first(Math.min(limit, topK))) {
+                if (trend.key <= 0) {
+                    break;
+                }
+                TrendingArticleDto dto = new TrendingArticleDto();
+                dto.setArticleId(trend.articleId);
+                dto.setTitle(trend.title);
+                dto.setCategoryId(trend.categoryId);
+                dto.setScore(trend.key * decay);
+                dto.setViews(trend.total(ArticleEngagementEvent.Type.VIEW, nowBucket));
+                dto.setComments(trend.total(ArticleEngagementEvent.Type.COMMENT, nowBucket));
+                dto.setLikes(trend.total(ArticleEngagementEvent.Type.LIKE, nowBucket));
+                top.add(dto);
+            }
+            return top;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Articles changed since the last call, with their scores decayed to now
+    public List<TrendSnapshot> drainDirty(long now) {
+        lock.lock();
+        try {
+            double decay = Math.pow(2, -(now - landmark) / halfLifeMillis);
+            List<TrendSnapshot> snapshots = new ArrayList<>();
+            for (ArticleTrend trend : trends.values()) {
+                if (trend.dirty) {
+                    trend.dirty = false;
+                    snapshots.add(new TrendSnapshot(trend.articleId, trend.title, trend.categoryId, trend.key * decay, now,
+                            trend.headBucket, trend.views.clone(), trend.comments.clone(), trend.likes.clone()));
+                }
+            }
+            return snapshots;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void restore(TrendSnapshot snapshot) {
+        lock.lock();
+        try {
+            ArticleTrend trend = trends.get(snapshot.getArticleId());
+            if (trend == null) {
+                trend = new ArticleTrend(snapshot.getArticleId(), snapshot.getTitle(), snapshot.getCategoryId(), bucketCount);
+                trends.put(trend.articleId, trend);
+            } else {
+                unrankWithoutRefill(trend);
+            }
+            trend.key += snapshot.getScore() * Math.pow(2, (snapshot.getScoredAt() - landmark) / halfLifeMillis);
+            trend.restoreBuckets(snapshot.getHeadBucket(), snapshot.getViews(), snapshot.getComments(), snapshot.getLikes());
+            rank(trend);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stops tracking articles whose score has decayed below minScore and that have no events left in the window
+    public List<Long> evictCold(double minScore, long now) {
+        lock.lock();
+        try {
+            double threshold = minScore * Math.pow(2, (now - landmark) / halfLifeMillis);
+            long oldestBucket = now / bucketMillis - bucketCount + 1;
+            List<Long> evicted = new ArrayList<>();
+            Iterator<ArticleTrend> iterator = trends.values().iterator();
+            while (iterator.hasNext()) {
+                ArticleTrend trend = iterator.next();
+                if (trend.key < threshold && trend.headBucket < oldestBucket) {
+                    iterator.remove();
+                    evicted.add(trend.articleId);
+                }
+            }
+            if (!evicted.isEmpty()) {
+                rebuildRankings();
+            }
+            return evicted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double weight(ArticleEngagementEvent.Type type) {
+        return switch (type) {
+            case VIEW -> viewWeight;
+            case COMMENT -> commentWeight;
+            case LIKE -> likeWeight;
+        };
+    }
+
+    private void rank(ArticleTrend trend) {
+        overall.offer(trend);
+        if (trend.categoryId != null) {
+            byCategory.computeIfAbsent(trend.categoryId, id -> new TopArticles(topK)).offer(trend);
+        }
+    }
+
+    private void unrankWithoutRefill(ArticleTrend trend) {
+        overall.remove(trend);
+        TopArticles category = trend.categoryId != null ? byCategory.get(trend.categoryId) : null;
+        if (category != null) {
+            category.remove(trend);
+        }
+    }
+
+    // Removing a member for good leaves a gap that the best article outside the top K has to fill
+    private void unrank(ArticleTrend trend) {
+        if (overall.remove(trend)) {
+            refill(overall, null);
+        }
+        TopArticles category = trend.categoryId != null ? byCategory.get(trend.categoryId) : null;
+        if (category != null && category.remove(trend)) {
+            refillCategory(trend.categoryId);
+        }
+    }
+
+    private void refillCategory(Long categoryId) {
+        TopArticles category = categoryId != null ? byCategory.get(categoryId) : null;
+        if (category == null) {
+            return;
+        }
+        refill(category, categoryId);
+        if (category.isEmpty()) {
+            byCategory.remove(categoryId);
+        }
+    }
+
+    private void refill(TopArticles scope, Long categoryId) {
+        for (ArticleTrend candidate : trends.values()) {
+            if (categoryId == null || categoryId.equals(candidate.categoryId)) {
+                scope.offer(candidate);
+            }
+        }
+    }
+
+    private void rebuildRankings() {
+        overall.clear();
+        byCategory.clear();
+        for (ArticleTrend trend : trends.values()) {
+            rank(trend);
+        }
+    }
+
+    private void rebaseIfNeeded(long now) {
+        double halfLives = (now - landmark) / halfLifeMillis;
+        if (halfLives < REBASE_AFTER_HALF_LIVES) {
+            return;
+        }
+        // Scaling by a power of two is exact, so relative order survives; rankings are rebuilt anyway in case of underflow
+        int shift = (int) halfLives;
+        for (ArticleTrend trend : trends.values()) {
+            trend.key = Math.scalb(trend.key, -shift);
+        }
+        landmark += (long) (shift * halfLifeMillis);
+        rebuildRankings();
+    }
+}
@@ -0,0 +1,96 @@
+package news.app.newsApp.trending;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Component
+public class TrendingSnapshotStore {
+
+    private static final String LOAD_SQL =
+            "SELECT s.article_id, a.title, a.category_id, s.score, s.scored_at, s.head_bucket, s.views, s.comments, s.likes " +
+            "FROM article_trend_snapshots s JOIN articles a ON a.id = s.article_id " +
+            "WHERE a.status = 'PUBLISHED'";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO article_trend_snapshots (article_id, score, scored_at, head_bucket, views, comments, likes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (article_id) DO UPDATE SET score = EXCLUDED.score, scored_at = EXCLUDED.scored_at, " +
+            "head_bucket = EXCLUDED.head_bucket, views = EXCLUDED.views, comments = EXCLUDED.comments, likes = EXCLUDED.likes";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<TrendSnapshot> load() {
+        return jdbcTemplate.query(LOAD_SQL, (rs, rowNum) -> new TrendSnapshot(
+                rs.getLong("article_id"),
+                rs.getString("title"),
+                rs.getObject("category_id", Long.class),
+                rs.getDouble("score"),
+                rs.getTimestamp("scored_at").getTime(),
+                rs.getLong("head_bucket"),
+                toInts(rs, "views"),
+                toInts(rs, "comments"),
+                toInts(rs, "likes")));
+    }
+
+    // Articles deleted in the meantime are skipped by the join; their rows go with them through the foreign key
+    public void save(List<TrendSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TrendSnapshot snapshot = snapshots.get(i);
+                Connection connection = ps.getConnection();
+                ps.setLong(1, snapshot.getArticleId());
+                ps.setDouble(2, snapshot.getScore());
+                ps.setTimestamp(3, new Timestamp(snapshot.getScoredAt()));
+                ps.setLong(4, snapshot.getHeadBucket());
+                ps.setArray(5, toArray(connection, snapshot.getViews()));
+                ps.setArray(6, toArray(connection, snapshot.getComments()));
+                ps.setArray(7, toArray(connection, snapshot.getLikes()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return snapshots.size();
+            }
+        });
+    }
+
+    public void delete(List<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM article_trend_snapshots WHERE article_id = ?", articleIds, 500,
+                (ps, articleId) -> ps.setLong(1, articleId));
+    }
+
+    private static Array toArray(Connection connection, int[] values) throws SQLException {
+        Integer[] boxed = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return connection.createArrayOf("integer", boxed);
+    }
+
+    private static int[] toInts(ResultSet rs, String column) throws SQLException {
+        Object[] values = (Object[]) rs.getArray(column).getArray();
+        int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ints[i] = values[i] != null ? ((Number) values[i]).intValue() : 0;
+        }
+        return ints;
+    }
+}
@@ -0,0 +1,41 @@
+-- Category engagement per day for the admin category performance report (CategoryStatisticsView), so the report
+-- sums a few rows per category and day instead of joining categories, articles and comments on every request.
+-- Article rows are keyed by the article's creation day, comment rows by the comment's; category_id 0 collects
+-- uncategorized articles. Comments moved to comments_archive (V8) still count.
+-- The unique index lets the view be refreshed CONCURRENTLY, without blocking readers.
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS category_daily_stats AS
+SELECT category_id,
+       day,
+       SUM(articles)::BIGINT AS articles,
+       SUM(views)::BIGINT AS views,
+       SUM(article_comments)::BIGINT AS article_comments,
+       SUM(comments)::BIGINT AS comments
+FROM (
+    SELECT COALESCE(a.category_id, 0) AS category_id, a.created_at::DATE AS day,
+           COUNT(*) AS articles, COALESCE(SUM(a.views), 0) AS views,
+           COALESCE(SUM(a.comment_count), 0) AS article_comments, 0 AS comments
+    FROM articles a
+    GROUP BY 1, 2
+    UNION ALL
+    SELECT COALESCE(a.category_id, 0), c.created_at::DATE, 0, 0, 0, COUNT(*)
+    FROM (SELECT article_id, created_at FROM comments
+          UNION ALL
+          SELECT article_id, created_at FROM comments_archive) c
+    JOIN articles a ON a.id = c.article_id
+    GROUP BY 1, 2
+) x
+WHERE day IS NOT NULL
+GROUP BY category_id, day;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_category_daily_stats_category_day ON category_daily_stats (category_id, day);
+CREATE INDEX IF NOT EXISTS idx_category_daily_stats_day ON category_daily_stats (day);
+
+-- When each materialized view was last refreshed, shared by all instances
+CREATE TABLE IF NOT EXISTS materialized_view_refreshes (
+    view_name     VARCHAR(255) PRIMARY KEY,
+    refreshed_at  TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO materialized_view_refreshes (view_name, refreshed_at) VALUES ('category_daily_stats', now())
+ON CONFLICT (view_name) DO UPDATE SET refreshed_at = EXCLUDED.refreshed_at;
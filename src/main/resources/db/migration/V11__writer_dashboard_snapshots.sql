@@ -0,0 +1,19 @@
+-- Periodic snapshots of the in-memory writer dashboards (WriterDashboardEngine), read back on startup so the first
+-- dashboard load after a restart is still a map lookup. built_at is when the totals were last computed from the
+-- articles and comments tables; events applied since then are included in the values.
+
+CREATE TABLE IF NOT EXISTS writer_dashboard_snapshots (
+    author_id             BIGINT PRIMARY KEY,
+    built_at              TIMESTAMP(6) NOT NULL,
+    total_articles        BIGINT NOT NULL,
+    total_views           BIGINT NOT NULL,
+    total_comments        BIGINT NOT NULL,
+    total_likes           BIGINT NOT NULL,
+    articles_by_status    JSONB NOT NULL,
+    category_performance  JSONB NOT NULL,
+    top_articles          JSONB NOT NULL,
+    CONSTRAINT fk_writer_dashboard_snapshots_author FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Cold starts read an author's most viewed articles with a LIMIT
+CREATE INDEX IF NOT EXISTS idx_articles_author_views ON articles (author_id, views DESC);
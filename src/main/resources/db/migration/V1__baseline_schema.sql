@@ -0,0 +1,99 @@
+-- Baseline: the schema previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username      VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    phone         VARCHAR(255),
+    profile_pic   VARCHAR(255),
+    role          VARCHAR(255) CHECK (role IN ('ADMIN', 'WRITER', 'READER')),
+    is_active     BOOLEAN,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE tags (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT uk_tags_name UNIQUE (name)
+);
+
+CREATE TABLE articles (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title          VARCHAR(255) NOT NULL,
+    content        TEXT,
+    description    VARCHAR(255),
+    featured_image VARCHAR(255),
+    status         VARCHAR(255) CHECK (status IN ('DRAFT', 'PUBLISHED', 'ARCHIVED')),
+    views          INTEGER,
+    author_id      BIGINT NOT NULL,
+    category_id    BIGINT,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    CONSTRAINT fk_articles_author FOREIGN KEY (author_id) REFERENCES users (id),
+    CONSTRAINT fk_articles_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE TABLE article_tags (
+    article_id    BIGINT NOT NULL,
+    tag_id        BIGINT NOT NULL,
+    PRIMARY KEY (article_id, tag_id),
+    CONSTRAINT fk_article_tags_article FOREIGN KEY (article_id) REFERENCES articles (id),
+    CONSTRAINT fk_article_tags_tag FOREIGN KEY (tag_id) REFERENCES tags (id)
+);
+
+CREATE TABLE article_images (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    image         VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    article_id    BIGINT NOT NULL,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT fk_article_images_article FOREIGN KEY (article_id) REFERENCES articles (id)
+);
+
+CREATE TABLE comments (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    comment       TEXT,
+    likes         INTEGER,
+    status        INTEGER,
+    article_id    BIGINT NOT NULL,
+    user_id       BIGINT NOT NULL,
+    email         VARCHAR(255),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT fk_comments_article FOREIGN KEY (article_id) REFERENCES articles (id),
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE replies (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content         TEXT,
+    likes           INTEGER,
+    status          INTEGER,
+    comment_id      BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    email           VARCHAR(255),
+    parent_reply_id BIGINT,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT fk_replies_comment FOREIGN KEY (comment_id) REFERENCES comments (id),
+    CONSTRAINT fk_replies_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,38 @@
+-- Indexes for the filters and sort orders used by ArticleRepository, CommentRepository and ReplyRepository.
+-- CONCURRENTLY keeps writes flowing when this runs against an existing, populated database;
+-- Flyway runs these statements outside a transaction.
+
+-- Status filters (findByStatus, countByStatusAndCreatedAtBetween, dashboard counts)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_status_created_at
+    ON articles (status, created_at DESC);
+
+-- Public feed (findLatestArticles, findPublishedArticlesWithCommentCount): only published rows, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_published_created_at
+    ON articles (created_at DESC) WHERE status = 'PUBLISHED';
+
+-- Top articles (findTopArticlesByViews)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_published_views
+    ON articles (views DESC) WHERE status = 'PUBLISHED';
+
+-- Writer pages and writer statistics (findByAuthor, *ByAuthor with createdAt ranges)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_author_created_at
+    ON articles (author_id, created_at DESC);
+
+-- Category pages and category statistics
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_category_id
+    ON articles (category_id);
+
+-- Comment threads and comment counts per article
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_article_created_at
+    ON comments (article_id, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_replies_comment_id
+    ON replies (comment_id);
+
+-- Nested replies; most replies are top-level, so only index the ones with a parent
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_replies_parent_reply_id
+    ON replies (parent_reply_id) WHERE parent_reply_id IS NOT NULL;
+
+-- Tag pages; the primary key (article_id, tag_id) only serves lookups by article
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_article_tags_tag_id
+    ON article_tags (tag_id);
@@ -0,0 +1,54 @@
+-- Move id generation from IDENTITY columns to sequences that Hibernate allocates from in blocks of 50
+-- (pooled-lo), so inserts no longer need a round trip each and can be sent as JDBC batches.
+-- Each sequence starts just above the current max id. The column default is kept on the new sequence so plain
+-- SQL inserts still work; they simply consume a whole block each. Tables are locked against writes while their
+-- sequence is aligned so no row can slip in through the old identity in between.
+
+LOCK TABLE users IN SHARE ROW EXCLUSIVE MODE;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
+
+LOCK TABLE categories IN SHARE ROW EXCLUSIVE MODE;
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('categories_seq', COALESCE((SELECT MAX(id) FROM categories), 0) + 1, false);
+ALTER TABLE categories ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE categories ALTER COLUMN id SET DEFAULT nextval('categories_seq');
+ALTER SEQUENCE categories_seq OWNED BY categories.id;
+
+LOCK TABLE tags IN SHARE ROW EXCLUSIVE MODE;
+CREATE SEQUENCE IF NOT EXISTS tags_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('tags_seq', COALESCE((SELECT MAX(id) FROM tags), 0) + 1, false);
+ALTER TABLE tags ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tags ALTER COLUMN id SET DEFAULT nextval('tags_seq');
+ALTER SEQUENCE tags_seq OWNED BY tags.id;
+
+LOCK TABLE articles IN SHARE ROW EXCLUSIVE MODE;
+CREATE SEQUENCE IF NOT EXISTS articles_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('articles_seq', COALESCE((SELECT MAX(id) FROM articles), 0) + 1, false);
+ALTER TABLE articles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE articles ALTER COLUMN id SET DEFAULT nextval('articles_seq');
+ALTER SEQUENCE articles_seq OWNED BY articles.id;
+
+LOCK TABLE article_images IN SHARE ROW EXCLUSIVE MODE;
+CREATE SEQUENCE IF NOT EXISTS article_images_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('article_images_seq', COALESCE((SELECT MAX(id) FROM article_images), 0) + 1, false);
+ALTER TABLE article_images ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE article_images ALTER COLUMN id SET DEFAULT nextval('article_images_seq');
+ALTER SEQUENCE article_images_seq OWNED BY article_images.id;
+
+LOCK TABLE comments IN SHARE ROW EXCLUSIVE MODE;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('comments_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 1, false);
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+ALTER SEQUENCE comments_seq OWNED BY comments.id;
+
+LOCK TABLE replies IN SHARE ROW EXCLUSIVE MODE;
+CREATE SEQUENCE IF NOT EXISTS replies_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('replies_seq', COALESCE((SELECT MAX(id) FROM replies), 0) + 1, false);
+ALTER TABLE replies ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE replies ALTER COLUMN id SET DEFAULT nextval('replies_seq');
+ALTER SEQUENCE replies_seq OWNED BY replies.id;
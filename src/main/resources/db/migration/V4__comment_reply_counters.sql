@@ -0,0 +1,22 @@
+-- Denormalized counters so feeds and dashboards read comment and reply counts from the row itself.
+-- Only active (status = 1) comments and replies are counted. CommentService and ReplyService keep the columns
+-- up to date; CounterReconciliationJob repairs any drift with the same statements used for the backfill below.
+
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS reply_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS reply_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE comments c
+SET reply_count = r.replies
+FROM (SELECT comment_id, COUNT(*) AS replies FROM replies WHERE status = 1 GROUP BY comment_id) r
+WHERE r.comment_id = c.id;
+
+UPDATE articles a
+SET comment_count = COALESCE(c.comments, 0),
+    reply_count = COALESCE(c.replies, 0)
+FROM (SELECT cm.article_id,
+             COUNT(*) FILTER (WHERE cm.status = 1) AS comments,
+             SUM(cm.reply_count) AS replies
+      FROM comments cm
+      GROUP BY cm.article_id) c
+WHERE c.article_id = a.id;
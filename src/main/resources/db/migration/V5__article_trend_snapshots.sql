@@ -0,0 +1,14 @@
+-- Periodic snapshots of the in-memory trending index (TrendingEngine), read back on startup so rankings survive
+-- restarts. score is the decayed score as of scored_at; views, comments and likes are the per-bucket ring buffers
+-- whose newest bucket is head_bucket (bucket = epoch millis / bucket length).
+
+CREATE TABLE IF NOT EXISTS article_trend_snapshots (
+    article_id   BIGINT PRIMARY KEY,
+    score        DOUBLE PRECISION NOT NULL,
+    scored_at    TIMESTAMP(6) NOT NULL,
+    head_bucket  BIGINT NOT NULL,
+    views        INTEGER[] NOT NULL,
+    comments     INTEGER[] NOT NULL,
+    likes        INTEGER[] NOT NULL,
+    CONSTRAINT fk_article_trend_snapshots_article FOREIGN KEY (article_id) REFERENCES articles (id) ON DELETE CASCADE
+);
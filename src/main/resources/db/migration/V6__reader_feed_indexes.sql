@@ -0,0 +1,13 @@
+-- Indexes for the personalized reader feed (FeedCandidateStore).
+-- CONCURRENTLY keeps writes flowing on a populated database; Flyway runs these statements outside a transaction.
+
+-- A reader's most recent comments and replies, from which their interests are derived
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_user_created_at
+    ON comments (user_id, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_replies_user_created_at
+    ON replies (user_id, created_at DESC);
+
+-- Newest published articles per category, one short index scan per followed category
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_published_category_created_at
+    ON articles (category_id, created_at DESC) WHERE status = 'PUBLISHED';
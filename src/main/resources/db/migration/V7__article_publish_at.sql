@@ -0,0 +1,7 @@
+-- Scheduled publishing: a draft with publish_at set is flipped to PUBLISHED by ScheduledPublisher once it is due.
+
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS publish_at TIMESTAMP(6);
+
+-- Read on startup to rebuild the publish queue; only scheduled drafts, so the index stays tiny
+CREATE INDEX IF NOT EXISTS idx_articles_scheduled_publish_at
+    ON articles (publish_at) WHERE status = 'DRAFT' AND publish_at IS NOT NULL;
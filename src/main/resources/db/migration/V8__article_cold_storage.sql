@@ -0,0 +1,45 @@
+-- Cold storage for old articles nobody reads any more (ArticleArchiver). Their content and their comments and
+-- replies are moved out of the hot tables; articles.archived_at marks the articles whose rows live here.
+-- The archive tables mirror the hot ones column for column so rows can be moved back unchanged.
+
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP(6);
+
+CREATE TABLE IF NOT EXISTS article_contents_archive (
+    article_id    BIGINT PRIMARY KEY,
+    content       TEXT,
+    CONSTRAINT fk_article_contents_archive_article FOREIGN KEY (article_id) REFERENCES articles (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS comments_archive (
+    id            BIGINT PRIMARY KEY,
+    comment       TEXT,
+    likes         INTEGER,
+    status        INTEGER,
+    reply_count   INTEGER NOT NULL DEFAULT 0,
+    article_id    BIGINT NOT NULL,
+    user_id       BIGINT NOT NULL,
+    email         VARCHAR(255),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT fk_comments_archive_article FOREIGN KEY (article_id) REFERENCES articles (id) ON DELETE CASCADE,
+    CONSTRAINT fk_comments_archive_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_comments_archive_article_created_at ON comments_archive (article_id, created_at DESC);
+
+CREATE TABLE IF NOT EXISTS replies_archive (
+    id              BIGINT PRIMARY KEY,
+    content         TEXT,
+    likes           INTEGER,
+    status          INTEGER,
+    comment_id      BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    email           VARCHAR(255),
+    parent_reply_id BIGINT,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT fk_replies_archive_comment FOREIGN KEY (comment_id) REFERENCES comments_archive (id) ON DELETE CASCADE,
+    CONSTRAINT fk_replies_archive_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_replies_archive_comment_id ON replies_archive (comment_id);
@@ -0,0 +1,105 @@
+-- Monthly range partitions on created_at for comments and replies, so the statistics queries' created_at ranges
+-- only scan the months they ask for. PartitionMaintenanceJob creates the partitions for the coming months.
+-- Every unique constraint of a partitioned table must include the partition key, so the primary keys become
+-- (id, created_at); ids still come from the sequences. That has two costs:
+-- * A lookup by id alone cannot be pruned: findById probes the primary key index of every partition, one index
+--   probe per month kept (plus the default partition). Updates and deletes carry created_at instead (@PartitionKey on
+--   Comment and Reply, and CommentRepository.adjustReplyCount), so they touch a single partition.
+-- * replies.comment_id can no longer be a foreign key, so the database no longer keeps replies from pointing at a
+--   missing comment. Reply integrity rests on the application alone: a comment's replies are deleted with it through
+--   the JPA cascade on Comment.replies, and plain SQL that deletes comments must delete their replies itself
+--   (as ArticleArchiver does).
+-- Existing rows are copied into the new tables inside this migration's transaction, which holds an exclusive lock
+-- on both tables for the duration; run it in a maintenance window on a large database.
+
+ALTER TABLE replies DROP CONSTRAINT IF EXISTS fk_replies_comment;
+
+ALTER TABLE comments RENAME TO comments_unpartitioned;
+ALTER INDEX comments_pkey RENAME TO comments_unpartitioned_pkey;
+ALTER SEQUENCE comments_seq OWNED BY NONE;
+
+ALTER TABLE replies RENAME TO replies_unpartitioned;
+ALTER INDEX replies_pkey RENAME TO replies_unpartitioned_pkey;
+ALTER SEQUENCE replies_seq OWNED BY NONE;
+
+CREATE TABLE comments (
+    id            BIGINT NOT NULL DEFAULT nextval('comments_seq'),
+    comment       TEXT,
+    likes         INTEGER,
+    status        INTEGER,
+    article_id    BIGINT NOT NULL,
+    user_id       BIGINT NOT NULL,
+    email         VARCHAR(255),
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6),
+    reply_count   INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_comments_article FOREIGN KEY (article_id) REFERENCES articles (id),
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (id)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE replies (
+    id              BIGINT NOT NULL DEFAULT nextval('replies_seq'),
+    content         TEXT,
+    likes           INTEGER,
+    status          INTEGER,
+    comment_id      BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    email           VARCHAR(255),
+    parent_reply_id BIGINT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6),
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_replies_user FOREIGN KEY (user_id) REFERENCES users (id)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE comments_seq OWNED BY comments.id;
+ALTER SEQUENCE replies_seq OWNED BY replies.id;
+
+-- One partition per month from the oldest existing row up to three months ahead, named <table>_pYYYY_MM
+DO $$
+DECLARE
+    partition_month DATE;
+    last_month DATE := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    partition_month := date_trunc('month', LEAST(
+            COALESCE((SELECT MIN(created_at) FROM comments_unpartitioned), now()),
+            COALESCE((SELECT MIN(created_at) FROM replies_unpartitioned), now())))::date;
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF comments FOR VALUES FROM (%L) TO (%L)',
+                'comments_p' || to_char(partition_month, 'YYYY_MM'),
+                partition_month, (partition_month + interval '1 month')::date);
+        EXECUTE format('CREATE TABLE %I PARTITION OF replies FOR VALUES FROM (%L) TO (%L)',
+                'replies_p' || to_char(partition_month, 'YYYY_MM'),
+                partition_month, (partition_month + interval '1 month')::date);
+        partition_month := (partition_month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Only rows dated beyond the created partitions land here; PartitionMaintenanceJob keeps it empty in practice
+CREATE TABLE comments_default PARTITION OF comments DEFAULT;
+CREATE TABLE replies_default PARTITION OF replies DEFAULT;
+
+-- Rows written with plain SQL may lack created_at, which the partition key does not allow
+INSERT INTO comments (id, comment, likes, status, article_id, user_id, email, created_at, updated_at, reply_count)
+SELECT id, comment, likes, status, article_id, user_id, email, COALESCE(created_at, updated_at, now()), updated_at,
+       reply_count
+FROM comments_unpartitioned;
+
+INSERT INTO replies (id, content, likes, status, comment_id, user_id, email, parent_reply_id, created_at, updated_at)
+SELECT id, content, likes, status, comment_id, user_id, email, parent_reply_id, COALESCE(created_at, updated_at, now()),
+       updated_at
+FROM replies_unpartitioned;
+
+DROP TABLE replies_unpartitioned;
+DROP TABLE comments_unpartitioned;
+
+-- The indexes of V2 and V6, now defined on the parents and created on every partition, present and future
+CREATE INDEX idx_comments_article_created_at ON comments (article_id, created_at DESC);
+CREATE INDEX idx_comments_user_created_at ON comments (user_id, created_at DESC);
+CREATE INDEX idx_replies_comment_id ON replies (comment_id);
+CREATE INDEX idx_replies_parent_reply_id ON replies (parent_reply_id) WHERE parent_reply_id IS NOT NULL;
+CREATE INDEX idx_replies_user_created_at ON replies (user_id, created_at DESC);
+
+ANALYZE comments;
+ANALYZE replies;
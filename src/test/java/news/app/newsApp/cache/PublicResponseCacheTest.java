@@ -0,0 +1,137 @@
+package news.app.newsApp.cache;
+
+import news.app.newsApp.event.ArticleChangedEvent;
+import news.app.newsApp.event.ArticlesPublishedEvent;
+import news.app.newsApp.event.CommentChangedEvent;
+import news.app.newsApp.event.TagChangedEvent;
+import news.app.newsApp.model.Article;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PublicResponseCacheTest {
+
+    private static final String JSON = "application/json";
+
+    private final PublicResponseCache cache = new PublicResponseCache();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", 100L);
+        ReflectionTestUtils.setField(cache, "gzipEnabled", false);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+    }
+
+    @Test
+    void staysWithinMaxBytesByEvictingTheLeastRecentlyUsed() {
+        put("/api/articles/1", 40);
+        put("/api/articles/2", 40);
+        cache.get("/api/articles/1");
+        put("/api/articles/3", 40);
+        put("/api/articles/4", 101);
+
+        assertNotNull(cache.get("/api/articles/1"));
+        assertNull(cache.get("/api/articles/2"));
+        assertNotNull(cache.get("/api/articles/3"));
+        assertNull(cache.get("/api/articles/4"));
+        assertEquals(80, cache.getSizeInBytes());
+    }
+
+    @Test
+    void responsesRenderedBeforeAnInvalidationAreNotStored() {
+        long renderedAt = cache.currentGeneration();
+        cache.invalidatePrefix(PublicResponseCache.TAGS_PREFIX);
+        cache.put("/api/articles/published", renderedAt, JSON, new byte[10]);
+
+        assertNull(cache.get("/api/articles/published"));
+        assertEquals(0, cache.getSizeInBytes());
+
+        put("/api/articles/published", 10);
+        assertNotNull(cache.get("/api/articles/published"));
+    }
+
+    @Test
+    void anArticleWriteOnlyDiscardsRendersOfItsOwnPaths() {
+        long renderedAt = cache.currentGeneration();
+        cache.onArticleChanged(articleChanged(7L));
+        cache.put("/api/articles/8", renderedAt, JSON, new byte[10]);
+        cache.put("/api/articles/7", renderedAt, JSON, new byte[10]);
+        cache.put("/api/articles/published?page=1", renderedAt, JSON, new byte[10]);
+
+        assertNotNull(cache.get("/api/articles/8"));
+        assertNull(cache.get("/api/articles/7"));
+        assertNull(cache.get("/api/articles/published?page=1"));
+    }
+
+    @Test
+    void articleWritesDropTheDetailAndEveryPublishedPage() {
+        put("/api/articles/published", 10);
+        put("/api/articles/published?page=1&size=5", 10);
+        put("/api/articles/7", 10);
+        put("/api/articles/8", 10);
+        put("/api/categories", 10);
+
+        cache.onArticleChanged(articleChanged(7L));
+        assertNull(cache.get("/api/articles/published"));
+        assertNull(cache.get("/api/articles/published?page=1&size=5"));
+        assertNull(cache.get("/api/articles/7"));
+        assertNotNull(cache.get("/api/articles/8"));
+        assertNotNull(cache.get("/api/categories"));
+
+        put("/api/articles/published", 10);
+        cache.onArticlesPublished(new ArticlesPublishedEvent(List.of(8L), Set.of(1L), Set.of()));
+        assertNull(cache.get("/api/articles/published"));
+        assertNull(cache.get("/api/articles/8"));
+        assertEquals(10, cache.getSizeInBytes());
+    }
+
+    @Test
+    void commentChangesDropArticlePayloadsButLikesDoNot() {
+        put("/api/articles/published", 10);
+        put("/api/articles/7", 10);
+        put("/api/articles/8", 10);
+        put("/api/tags", 10);
+
+        cache.onCommentChanged(new CommentChangedEvent(7L, 3L, null, CommentChangedEvent.Type.LIKED, null, null));
+        assertNotNull(cache.get("/api/articles/7"));
+
+        cache.onCommentChanged(new CommentChangedEvent(7L, 3L, 4L, CommentChangedEvent.Type.DELETED, null, null));
+        assertNull(cache.get("/api/articles/published"));
+        assertNull(cache.get("/api/articles/7"));
+        assertNotNull(cache.get("/api/articles/8"));
+        assertNotNull(cache.get("/api/tags"));
+
+        put("/api/articles/7", 10);
+        cache.onTagChanged(new TagChangedEvent(1L));
+        assertNull(cache.get("/api/articles/7"));
+        assertNull(cache.get("/api/tags"));
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnRead() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+        put("/api/articles/7", 10);
+        Thread.sleep(5);
+
+        assertNull(cache.get("/api/articles/7"));
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    private static ArticleChangedEvent articleChanged(Long articleId) {
+        return new ArticleChangedEvent(articleId, "title", 1L, null, Article.Status.PUBLISHED,
+                ArticleChangedEvent.Type.UPDATED, null);
+    }
+
+    private void put(String key, int bytes) {
+        cache.put(key, cache.currentGeneration(), JSON, new byte[bytes]);
+    }
+}
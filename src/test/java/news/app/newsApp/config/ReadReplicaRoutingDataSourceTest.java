@@ -0,0 +1,163 @@
+package news.app.newsApp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// In-memory stand-ins for the primary and a replica; transactions are simulated through TransactionSynchronizationManager
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReplicaPool.Replica replicaEntry;
+    private ReplicaPool replicaPool;
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.isValid(2)).thenReturn(true);
+
+        replicaEntry = new ReplicaPool.Replica("replica-1", replica);
+        replicaPool = new ReplicaPool(List.of(replicaEntry), primary, 0);
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), Set.of("ignored.Service.write"));
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replicaPool, tracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() throws SQLException {
+        beginTransaction(true, "reader.Service.read");
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() throws SQLException {
+        beginTransaction(false, "writer.Service.write");
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void noTransactionUsesPrimary() throws SQLException {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void readsInsideReadFromPrimaryUsePrimary() throws SQLException {
+        beginTransaction(true, "reader.Service.read");
+        ReadReplicaRoutingDataSource.readFromPrimary(() -> {
+            try {
+                assertSame(primaryConnection, routingDataSource.getConnection());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void fallsBackToPrimaryAndSkipsReplicaAfterConnectionFailure() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        beginTransaction(true, "reader.Service.read");
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertFalse(replicaEntry.isHealthy());
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void healthCheckReturnsRecoveredReplicaToRotation() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused")).thenReturn(replicaConnection);
+
+        replicaPool.checkHealth();
+        assertFalse(replicaEntry.isHealthy());
+
+        replicaPool.checkHealth();
+        assertTrue(replicaEntry.isHealthy());
+        assertEquals(1, replicaPool.getHealthyCount());
+    }
+
+    @Test
+    void readsStickToPrimaryAfterOwnWriteCommits() throws SQLException {
+        authenticate("alice");
+        beginTransaction(false, "news.Service.createArticle");
+        routingDataSource.getConnection();
+        commit();
+
+        beginTransaction(true, "news.Service.getArticleById");
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        TransactionSynchronizationManager.clear();
+
+        // Other users are unaffected
+        authenticate("bob");
+        beginTransaction(true, "news.Service.getArticleById");
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void rolledBackAndIgnoredWritesDoNotPinToPrimary() throws SQLException {
+        authenticate("alice");
+        beginTransaction(false, "news.Service.createArticle");
+        routingDataSource.getConnection();
+        TransactionSynchronizationManager.clear();
+
+        beginTransaction(false, "ignored.Service.write");
+        routingDataSource.getConnection();
+        commit();
+
+        beginTransaction(true, "news.Service.getArticleById");
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    private void beginTransaction(boolean readOnly, String name) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        TransactionSynchronizationManager.setCurrentTransactionName(name);
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clear();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_WRITER"))));
+    }
+}
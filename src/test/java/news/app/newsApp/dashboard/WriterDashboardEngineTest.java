@@ -0,0 +1,87 @@
+package news.app.newsApp.dashboard;
+
+import news.app.newsApp.event.CommentChangedEvent;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.repository.CommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Repositories are mocked; writer 7 has article 1 in their top list and article 9 outside it
+class WriterDashboardEngineTest {
+
+    private static final long AUTHOR = 7;
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final WriterDashboardEngine engine = new WriterDashboardEngine();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "topArticles", 3);
+        ReflectionTestUtils.setField(engine, "maxWriters", 10);
+        ReflectionTestUtils.setField(engine, "maxArticles", 100);
+        ReflectionTestUtils.setField(engine, "maxAgeMinutes", 60L);
+        ReflectionTestUtils.setField(engine, "articleRepository", articleRepository);
+        ReflectionTestUtils.setField(engine, "commentRepository", commentRepository);
+        when(articleRepository.findTopArticlesByAuthor(eq(AUTHOR), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "first", 10L}));
+        totalComments(3);
+    }
+
+    @Test
+    void deletedCommentsAreTakenOffTheTotalByARebuild() {
+        assertEquals(3, engine.getDashboard(AUTHOR).getTotalComments());
+
+        totalComments(2);
+        engine.onCommentChanged(change(1L, null, CommentChangedEvent.Type.DELETED));
+        engine.refresh();
+
+        assertEquals(2, engine.getDashboard(AUTHOR).getTotalComments());
+    }
+
+    @Test
+    void moderatedCommentsOnArticlesNotSeenYetAreResolvedFirst() {
+        engine.getDashboard(AUTHOR);
+        when(articleRepository.findAuthorsTitlesAndViews(List.of(9L)))
+                .thenReturn(List.<Object[]>of(new Object[]{9L, AUTHOR, "other", 0L}));
+
+        totalComments(1);
+        engine.onCommentChanged(change(9L, null, CommentChangedEvent.Type.STATUS_CHANGED));
+        engine.refresh();
+
+        assertEquals(1, engine.getDashboard(AUTHOR).getTotalComments());
+    }
+
+    @Test
+    void replyChangesAndLikesLeaveTheDashboardAlone() {
+        engine.getDashboard(AUTHOR);
+
+        engine.onCommentChanged(change(1L, 4L, CommentChangedEvent.Type.DELETED));
+        engine.onCommentChanged(change(1L, null, CommentChangedEvent.Type.LIKED));
+        engine.refresh();
+
+        verify(articleRepository, times(1)).getDashboardTotalsByAuthor(AUTHOR);
+    }
+
+    private void totalComments(long comments) {
+        when(articleRepository.getDashboardTotalsByAuthor(AUTHOR))
+                .thenReturn(List.<Object[]>of(new Object[]{Article.Status.PUBLISHED, 2L, 10L, comments}));
+    }
+
+    private static CommentChangedEvent change(Long articleId, Long replyId, CommentChangedEvent.Type type) {
+        return new CommentChangedEvent(articleId, 3L, replyId, type, null, null);
+    }
+}
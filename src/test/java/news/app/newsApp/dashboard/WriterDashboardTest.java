@@ -0,0 +1,66 @@
+package news.app.newsApp.dashboard;
+
+import news.app.newsApp.dto.WriterStatisticsDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriterDashboardTest {
+
+    @Test
+    void viewsMoveArticlesIntoAndWithinTheTopList() {
+        WriterDashboard dashboard = dashboard(List.of(
+                new WriterDashboard.TopArticle(1, "first", 50),
+                new WriterDashboard.TopArticle(2, "second", 30),
+                new WriterDashboard.TopArticle(3, "third", 10)));
+
+        dashboard.recordViews(3, "third", 40, 30);
+        dashboard.recordViews(4, "fourth", 5, 1);
+        dashboard.recordViews(5, "fifth", 60, 1);
+
+        assertEquals(List.of(5L, 1L, 3L), ids(dashboard));
+        assertEquals(112, dashboard.getTotalViews());
+    }
+
+    @Test
+    void countsEngagementAndTracksWhetherItNeedsSaving() {
+        WriterDashboard dashboard = dashboard(List.of());
+        assertFalse(dashboard.isDirty());
+
+        dashboard.recordComments(2);
+        dashboard.recordLikes(3);
+        WriterDashboard saved = dashboard.copy();
+        dashboard.markSaved();
+
+        assertTrue(saved.isDirty());
+        assertFalse(dashboard.isDirty());
+        WriterStatisticsDto statistics = dashboard.toDto();
+        assertEquals(12, statistics.getTotalComments());
+        assertEquals(3, statistics.getTotalLikes());
+    }
+
+    @Test
+    void duplicateTitlesKeepTheMostViewedArticle() {
+        WriterDashboard dashboard = dashboard(List.of(
+                new WriterDashboard.TopArticle(1, "same", 20),
+                new WriterDashboard.TopArticle(2, "same", 40)));
+
+        assertEquals(Map.of("same", 40L), dashboard.toDto().getTopArticles());
+    }
+
+    private static WriterDashboard dashboard(List<WriterDashboard.TopArticle> top) {
+        return new WriterDashboard(7, 0, 3, 4, 80, 10, 0, Map.of("PUBLISHED", 4L), Map.of("News", 4L), top, false);
+    }
+
+    private static List<Long> ids(WriterDashboard dashboard) {
+        List<Long> ids = new ArrayList<>();
+        dashboard.getTopArticles().forEach(article -> ids.add(article.getArticleId()));
+        return ids;
+    }
+}
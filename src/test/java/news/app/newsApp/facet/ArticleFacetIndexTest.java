@@ -0,0 +1,86 @@
+package news.app.newsApp.facet;
+
+import news.app.newsApp.model.Article;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static news.app.newsApp.model.Article.Status.DRAFT;
+import static news.app.newsApp.model.Article.Status.PUBLISHED;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArticleFacetIndexTest {
+
+    private ArticleFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ArticleFacetIndex();
+        index.put(1, 10L, PUBLISHED, List.of(100L, 200L));
+        index.put(2, 10L, PUBLISHED, List.of(100L));
+        index.put(3, 20L, PUBLISHED, List.of(100L, 300L));
+        index.put(4, null, PUBLISHED, List.of(300L));
+        index.put(5, 10L, DRAFT, List.of(100L, 200L));
+    }
+
+    @Test
+    void countsTagsOfPublishedArticlesWithinACategory() {
+        assertEquals(Map.of(100L, 2, 200L, 1), index.tagCountsInCategory(10));
+        assertEquals(Map.of(100L, 1, 300L, 1), index.tagCountsInCategory(20));
+        assertTrue(index.tagCountsInCategory(99).isEmpty());
+    }
+
+    @Test
+    void countsTagsAmongGivenArticlesIgnoringUnknownOnes() {
+        assertEquals(Map.of(100L, 2, 300L, 2), index.tagCountsAmong(List.of(3L, 4L, 2L, 42L)));
+        assertTrue(index.tagCountsAmong(List.of(42L)).isEmpty());
+    }
+
+    @Test
+    void putReplacesAnArticlesCategoryStatusAndTags() {
+        index.put(1, 20L, PUBLISHED, List.of(300L));
+        index.put(5, 10L, PUBLISHED, List.of(200L));
+
+        assertEquals(Map.of(100L, 1, 200L, 1), index.tagCountsInCategory(10));
+        assertEquals(Map.of(100L, 1, 300L, 2), index.tagCountsInCategory(20));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void removedArticlesLeaveNoBitsAndTheirOrdinalIsReused() {
+        index.remove(2);
+        index.remove(1);
+
+        assertTrue(index.tagCountsInCategory(10).isEmpty());
+        assertEquals(Map.of(300L, 1), index.tagCountsAmong(List.of(1L, 2L, 4L)));
+
+        index.put(6, 10L, PUBLISHED, List.of(200L));
+        assertEquals(Map.of(200L, 1), index.tagCountsInCategory(10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void matchesAllAnyAndNoneNewestFirst() {
+        assertArrayEquals(new long[]{3, 2, 1}, match(List.of(100L), List.of(), List.of(), PUBLISHED, null));
+        assertArrayEquals(new long[]{1}, match(List.of(100L, 200L), List.of(), List.of(), PUBLISHED, null));
+        assertArrayEquals(new long[]{4, 3, 1}, match(List.of(), List.of(200L, 300L), List.of(), PUBLISHED, null));
+        assertArrayEquals(new long[]{3, 2}, match(List.of(100L), List.of(), List.of(200L), PUBLISHED, null));
+        assertArrayEquals(new long[]{}, match(List.of(100L, 999L), List.of(), List.of(), PUBLISHED, null));
+    }
+
+    @Test
+    void matchesFilterByStatusAndCategory() {
+        assertArrayEquals(new long[]{2, 1}, match(List.of(100L), List.of(), List.of(), PUBLISHED, 10L));
+        assertArrayEquals(new long[]{5}, match(List.of(200L), List.of(), List.of(), DRAFT, null));
+        assertArrayEquals(new long[]{4, 3, 2, 1}, match(List.of(), List.of(), List.of(), PUBLISHED, null));
+        assertArrayEquals(new long[]{}, match(List.of(), List.of(), List.of(), Article.Status.ARCHIVED, null));
+    }
+
+    private long[] match(List<Long> all, List<Long> any, List<Long> none, Article.Status status, Long categoryId) {
+        return index.match(all, any, none, status, categoryId);
+    }
+}
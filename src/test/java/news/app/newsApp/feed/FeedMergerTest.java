@@ -0,0 +1,52 @@
+package news.app.newsApp.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedMergerTest {
+
+    @Test
+    void mergesStreamsNewestFirst() {
+        List<FeedCandidate> categories = List.of(candidate(5, 50), candidate(3, 30), candidate(1, 10));
+        List<FeedCandidate> authors = List.of(candidate(4, 40), candidate(2, 20));
+
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids(FeedMerger.merge(List.of(categories, authors), Set.of(), 10)));
+    }
+
+    @Test
+    void articlesInSeveralStreamsAppearOnce() {
+        List<FeedCandidate> categories = List.of(candidate(3, 30), candidate(1, 10));
+        List<FeedCandidate> tags = List.of(candidate(3, 30), candidate(2, 20), candidate(1, 10));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(FeedMerger.merge(List.of(categories, tags), Set.of(), 10)));
+    }
+
+    @Test
+    void skipsExcludedArticlesAndStopsAtTheLimit() {
+        List<FeedCandidate> stream = List.of(candidate(4, 40), candidate(3, 30), candidate(2, 20), candidate(1, 10));
+
+        assertEquals(List.of(4L, 2L), ids(FeedMerger.merge(List.of(stream), Set.of(3L), 2)));
+    }
+
+    @Test
+    void sameCreationTimeIsOrderedByIdAndEmptyStreamsAreIgnored() {
+        List<FeedCandidate> first = List.of(candidate(1, 10));
+        List<FeedCandidate> second = List.of(candidate(2, 10));
+
+        assertEquals(List.of(2L, 1L), ids(FeedMerger.merge(List.of(first, List.of(), second), Set.of(), 10)));
+        assertTrue(FeedMerger.merge(List.of(), Set.of(), 10).isEmpty());
+    }
+
+    private static FeedCandidate candidate(long articleId, long createdAtMillis) {
+        return new FeedCandidate(articleId, createdAtMillis);
+    }
+
+    private static List<Long> ids(List<FeedCandidate> candidates) {
+        return candidates.stream().map(candidate -> candidate.articleId).toList();
+    }
+}
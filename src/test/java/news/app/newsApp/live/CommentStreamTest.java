@@ -0,0 +1,193 @@
+package news.app.newsApp.live;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import news.app.newsApp.controller.CommentController;
+import news.app.newsApp.dto.CommentDto;
+import news.app.newsApp.event.CommentChangedEvent;
+import news.app.newsApp.service.CommentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CommentStreamTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CommentStream stream = new CommentStream() {
+        @Override
+        SseEmitter newEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stream, "enabled", true);
+        ReflectionTestUtils.setField(stream, "maxConnections", 3);
+        ReflectionTestUtils.setField(stream, "bufferSize", 8);
+        ReflectionTestUtils.setField(stream, "sseSender", new SseSender() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+        ReflectionTestUtils.setField(stream, "meterRegistry", meterRegistry);
+        stream.init();
+    }
+
+    @Test
+    void changesGoOnlyToTheSubscribersOfTheirArticle() {
+        stream.subscribe(1L);
+        stream.subscribe(1L);
+        stream.subscribe(2L);
+
+        stream.onCommentChanged(change(1L, 7L, CommentChangedEvent.Type.CREATED, 0));
+        stream.onCommentChanged(change(3L, 9L, CommentChangedEvent.Type.CREATED, 0));
+        runTasks();
+
+        assertEquals(List.of("connected", "comment:7"), emitters.get(0).events);
+        assertEquals(List.of("connected", "comment:7"), emitters.get(1).events);
+        assertEquals(List.of("connected"), emitters.get(2).events);
+    }
+
+    @Test
+    void likesAreFlushedOncePerCommentWithTheHighestCount() {
+        stream.subscribe(1L);
+
+        stream.onCommentChanged(change(1L, 7L, CommentChangedEvent.Type.LIKED, 3));
+        stream.onCommentChanged(change(1L, 7L, CommentChangedEvent.Type.LIKED, 5));
+        // Committed out of order
+        stream.onCommentChanged(change(1L, 7L, CommentChangedEvent.Type.LIKED, 4));
+        stream.onCommentChanged(change(1L, 8L, CommentChangedEvent.Type.LIKED, 2));
+        // Nobody reads article 2, so its likes are not even held back
+        stream.onCommentChanged(change(2L, 9L, CommentChangedEvent.Type.LIKED, 1));
+        runTasks();
+        assertEquals(List.of("connected"), emitters.get(0).events);
+
+        stream.flushLikes();
+        runTasks();
+        stream.flushLikes();
+        runTasks();
+
+        List<String> events = emitters.get(0).events;
+        assertEquals(3, events.size());
+        assertEquals(Set.of("comment:7 likes 5", "comment:8 likes 2"), Set.copyOf(events.subList(1, 3)));
+    }
+
+    @Test
+    void connectionsBeyondTheCapAreRefusedWithRetryAfter() {
+        CommentService commentService = mock(CommentService.class);
+        when(commentService.articleExists(1L)).thenReturn(true);
+        CommentController controller = new CommentController();
+        ReflectionTestUtils.setField(controller, "commentService", commentService);
+        ReflectionTestUtils.setField(controller, "commentStream", stream);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.OK, controller.streamCommentsByArticle(1L).getStatusCode());
+        }
+        runTasks();
+        ResponseEntity<SseEmitter> refused = controller.streamCommentsByArticle(1L);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, refused.getStatusCode());
+        assertEquals("30", refused.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.NOT_FOUND, controller.streamCommentsByArticle(2L).getStatusCode());
+
+        // A connection that closes frees its slot
+        emitters.get(0).gone = true;
+        stream.onCommentChanged(change(1L, 7L, CommentChangedEvent.Type.CREATED, 0));
+        runTasks();
+        assertEquals(2.0, meterRegistry.get("live.subscribers").gauge().value());
+        assertEquals(HttpStatus.OK, controller.streamCommentsByArticle(1L).getStatusCode());
+    }
+
+    @Test
+    void anArticleIsForgottenWhenItsLastSubscriberLeaves() {
+        stream.subscribe(1L);
+        stream.subscribe(1L);
+        stream.subscribe(2L);
+        runTasks();
+        emitters.forEach(emitter -> emitter.gone = true);
+
+        stream.onCommentChanged(change(1L, 7L, CommentChangedEvent.Type.CREATED, 0));
+        runTasks();
+        assertEquals(Set.of(2L), subscribers().keySet());
+
+        emitters.get(2).completion.run();
+        emitters.get(2).completion.run();
+        assertTrue(subscribers().isEmpty());
+        assertEquals(0.0, meterRegistry.get("live.subscribers").gauge().value());
+
+        // Later changes to unread articles are dropped without being held anywhere
+        stream.onCommentChanged(change(1L, 7L, CommentChangedEvent.Type.LIKED, 1));
+        assertFalse(subscribers().containsKey(1L));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(stream, "pendingLikes")).isEmpty());
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Set<SseSubscriber>> subscribers() {
+        return (Map<Long, Set<SseSubscriber>>) ReflectionTestUtils.getField(stream, "subscribers");
+    }
+
+    private static CommentChangedEvent change(Long articleId, Long commentId, CommentChangedEvent.Type type, int likes) {
+        CommentDto comment = new CommentDto();
+        comment.setId(commentId);
+        comment.setLikes(likes);
+        return CommentChangedEvent.comment(type, articleId, comment);
+    }
+
+    // Records "connected", "comment:<id>" or "comment:<id> likes <n>" instead of writing to a response; fails
+    // every send once the client is gone, and keeps the completion callback so a test can play the container
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+        boolean gone;
+        Runnable completion = () -> { };
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completion = callback;
+            super.onCompletion(callback);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (gone) {
+                throw new IOException("client gone");
+            }
+            String text = builder.build().iterator().next().getData().toString();
+            String name = text.substring("event:".length(), text.indexOf('\n'));
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof CommentChangedEvent)
+                    .map(part -> (CommentChangedEvent) part.getData())
+                    .findFirst()
+                    .ifPresentOrElse(
+                            event -> events.add(name + ":" + event.getCommentId()
+                                    + (event.getType() == CommentChangedEvent.Type.LIKED ? " likes " + event.likes() : "")),
+                            () -> events.add(name));
+        }
+    }
+}
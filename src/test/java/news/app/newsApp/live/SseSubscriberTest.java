@@ -0,0 +1,99 @@
+package news.app.newsApp.live;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SseSubscriberTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    void keyedEventsWaitingToBeSentAreMerged() {
+        SseSubscriber subscriber = new SseSubscriber(emitter, 4, tasks::add, s -> closed.incrementAndGet());
+        subscriber.send("delta", "delta", 1, Integer::sum);
+        subscriber.send("delta", "delta", 2, Integer::sum);
+        subscriber.send("comment", 7);
+        subscriber.send("delta", "delta", 4, Integer::sum);
+
+        runTasks();
+
+        assertEquals(List.of("delta:7", "comment:7"), emitter.events);
+    }
+
+    @Test
+    void aFullBufferIsReplacedByOneResync() {
+        SseSubscriber subscriber = new SseSubscriber(emitter, 2, tasks::add, s -> closed.incrementAndGet());
+        subscriber.send("comment", 1);
+        subscriber.send("comment", 2);
+        subscriber.send("comment", 3);
+        subscriber.send("comment", 4);
+        runTasks();
+        subscriber.send("comment", 5);
+        runTasks();
+
+        assertEquals(List.of("resync:", "comment:5"), emitter.events);
+    }
+
+    @Test
+    void closingStopsDeliveryAndNotifiesOnce() {
+        SseSubscriber subscriber = new SseSubscriber(emitter, 4, tasks::add, s -> closed.incrementAndGet());
+        subscriber.send("comment", 1);
+        subscriber.close();
+        subscriber.close();
+        runTasks();
+        subscriber.send("comment", 2);
+
+        assertEquals(List.of(), emitter.events);
+        assertEquals(1, closed.get());
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    void aBusySubscriberYieldsTheSenderAfterOneBufferfulPerTurn() {
+        SseSubscriber subscriber = new SseSubscriber(emitter, 2, tasks::add, s -> closed.incrementAndGet());
+        subscriber.send("comment", 1);
+        subscriber.send("comment", 2);
+        emitter.onSend = () -> {
+            emitter.onSend = () -> { };
+            subscriber.send("comment", 3);
+        };
+
+        tasks.remove(0).run();
+        assertEquals(List.of("comment:1", "comment:2"), emitter.events);
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals(List.of("comment:1", "comment:2", "comment:3"), emitter.events);
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    // Records "name:data" instead of writing to a response
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+        Runnable onSend = () -> { };
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            String raw = text.toString();
+            String name = raw.substring("event:".length(), raw.indexOf('\n'));
+            String data = raw.substring(raw.indexOf("data:") + "data:".length()).trim();
+            events.add(name + ":" + data);
+            onSend.run();
+        }
+    }
+}
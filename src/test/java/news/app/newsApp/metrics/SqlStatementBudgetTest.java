@@ -0,0 +1,108 @@
+package news.app.newsApp.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import news.app.newsApp.exception.SqlStatementBudgetExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlStatementBudgetTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    void methodsOverTheirBudgetFailInFailMode() {
+        Queries queries = budgeted("fail");
+
+        assertDoesNotThrow(() -> queries.run(2));
+        SqlStatementBudgetExceededException exception = assertThrows(SqlStatementBudgetExceededException.class,
+                () -> queries.run(3));
+        assertEquals(2, exception.getBudget());
+        assertEquals(3, exception.getStatements());
+    }
+
+    @Test
+    void methodsOverTheirBudgetAreOnlyLoggedInLogMode() {
+        assertDoesNotThrow(() -> budgeted("log").run(3));
+    }
+
+    @Test
+    void requestsOverTheirBudgetFailInFailMode() {
+        SqlStatementMetricsFilter filter = filter("fail", 2);
+
+        assertDoesNotThrow(() -> filter.doFilter(get(), new MockHttpServletResponse(), chain(2)));
+        SqlStatementBudgetExceededException exception = assertThrows(SqlStatementBudgetExceededException.class,
+                () -> filter.doFilter(get(), new MockHttpServletResponse(), chain(3)));
+        assertEquals("GET /api/articles/published", exception.getOperation());
+        assertEquals(3, exception.getStatements());
+    }
+
+    @Test
+    void requestsOverTheirBudgetAreOnlyLoggedInLogMode() {
+        SqlStatementMetricsFilter filter = filter("log", 2);
+
+        assertDoesNotThrow(() -> filter.doFilter(get(), new MockHttpServletResponse(), chain(3)));
+    }
+
+    private Queries budgeted(String mode) {
+        SqlStatementBudgetAspect aspect = new SqlStatementBudgetAspect();
+        ReflectionTestUtils.setField(aspect, "sqlStatementCounter", counter);
+        ReflectionTestUtils.setField(aspect, "mode", mode);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Queries(counter));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private SqlStatementMetricsFilter filter(String mode, int perRequestBudget) {
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter();
+        ReflectionTestUtils.setField(filter, "sqlStatementCounter", counter);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "budgetMode", mode);
+        ReflectionTestUtils.setField(filter, "perRequestBudget", perRequestBudget);
+        return filter;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/articles/published");
+    }
+
+    private MockFilterChain chain(int statements) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                issue(counter, statements);
+            }
+        });
+    }
+
+    private static void issue(SqlStatementCounter counter, int statements) {
+        for (int i = 0; i < statements; i++) {
+            counter.inspect("select * from articles where id = " + i);
+        }
+    }
+
+    // Stands in for a service: each call issues the given number of statements
+    static class Queries {
+        private final SqlStatementCounter counter;
+
+        Queries(SqlStatementCounter counter) {
+            this.counter = counter;
+        }
+
+        @SqlStatementBudget(2)
+        public void run(int statements) {
+            issue(counter, statements);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package news.app.newsApp.publishing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PublishQueueTest {
+
+    @Test
+    void pollsDueArticlesEarliestFirstUpToTheBatchSize() {
+        PublishQueue queue = new PublishQueue();
+        queue.schedule(1, 300);
+        queue.schedule(2, 100);
+        queue.schedule(3, 200);
+        queue.schedule(4, 900);
+
+        assertEquals(List.of(2L, 3L), queue.pollDue(500, 2));
+        assertEquals(List.of(1L), queue.pollDue(500, 2));
+        assertEquals(List.of(), queue.pollDue(500, 2));
+        assertEquals(900, queue.nextPublishAt());
+    }
+
+    @Test
+    void reschedulingMovesTheArticleAndCancelRemovesIt() {
+        PublishQueue queue = new PublishQueue();
+        queue.schedule(1, 100);
+        queue.schedule(2, 200);
+        queue.schedule(1, 300);
+        queue.cancel(2);
+
+        assertEquals(1, queue.size());
+        assertEquals(300, queue.nextPublishAt());
+        assertEquals(List.of(), queue.pollDue(200, 10));
+        assertEquals(List.of(1L), queue.pollDue(300, 10));
+        assertEquals(Long.MAX_VALUE, queue.nextPublishAt());
+    }
+}
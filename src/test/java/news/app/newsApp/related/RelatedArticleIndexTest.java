@@ -0,0 +1,134 @@
+package news.app.newsApp.related;
+
+import news.app.newsApp.dto.RelatedArticleDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelatedArticleIndexTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final long NOW = RelatedArticleIndex.toMillis(CREATED);
+
+    private RelatedArticleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Top 3, tags weigh 0.7, a shared category 0.2, recency 0.1 with a one-day half-life
+        index = new RelatedArticleIndex(3, 100, 10, 0.7, 0.2, 0.1, DAY);
+    }
+
+    @Test
+    void rareSharedTagsOutweighCommonOnes() {
+        // Tag 1 is on every article, tag 2 only on articles 1 and 2, tag 3 only on articles 1 and 3; article 5 is older than 4
+        index.load(1, "one", 10L, CREATED, List.of(1L, 2L, 3L));
+        index.load(2, "two", 10L, CREATED, List.of(1L, 2L));
+        index.load(3, "three", 10L, CREATED, List.of(1L, 3L, 4L));
+        index.load(4, "four", 10L, CREATED, List.of(1L));
+        index.load(5, "five", 10L, CREATED.minusDays(1), List.of(1L));
+        index.computeAll(NOW);
+
+        assertEquals(List.of(2L, 3L, 4L), ids(index.related(1, 10)));
+    }
+
+    @Test
+    void sameCategoryAndRecencyBreakTagTies() {
+        index.load(1, "one", 10L, CREATED, List.of(1L));
+        index.load(2, "other category", 20L, CREATED, List.of(1L));
+        index.load(3, "same category, older", 10L, CREATED.minusDays(1), List.of(1L));
+        index.load(4, "same category", 10L, CREATED, List.of(1L));
+        index.computeAll(NOW);
+
+        List<RelatedArticleDto> related = index.related(1, 10);
+
+        assertEquals(List.of(4L, 3L, 2L), ids(related));
+        assertEquals(0.7 + 0.2 + 0.1, related.get(0).getScore(), 1e-6);
+        assertEquals(0.7 + 0.2 + 0.05, related.get(1).getScore(), 1e-6);
+    }
+
+    @Test
+    void putAddsTheArticleToItsNeighboursLists() {
+        index.load(1, "one", 10L, CREATED, List.of(1L, 2L));
+        index.load(2, "two", 20L, CREATED, List.of(1L));
+        index.computeAll(NOW);
+
+        index.put(3, "three", 10L, CREATED, List.of(1L, 2L), NOW);
+
+        assertEquals(List.of(3L, 2L), ids(index.related(1, 10)));
+        assertEquals(List.of(1L, 2L), ids(index.related(3, 10)));
+        assertEquals("three", index.related(1, 1).get(0).getTitle());
+    }
+
+    @Test
+    void removeRefillsTheListsThatPointedAtTheArticle() {
+        for (long id = 1; id <= 5; id++) {
+            index.load(id, "article " + id, 10L, CREATED.minusHours(id), List.of(1L));
+        }
+        index.computeAll(NOW);
+        assertEquals(List.of(2L, 3L, 4L), ids(index.related(1, 10)));
+
+        index.remove(2, NOW);
+
+        assertEquals(List.of(3L, 4L, 5L), ids(index.related(1, 10)));
+        assertTrue(index.related(2, 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void removingANewArticleRepairsTheOlderOnesThatListIt() {
+        // Only the 3 newest of a category are candidates: article 1 lists 5, 4 and 3, none of which list 1 back
+        index = new RelatedArticleIndex(3, 100, 3, 0.7, 0.2, 0.1, DAY);
+        for (long id = 1; id <= 5; id++) {
+            index.load(id, "article " + id, 10L, CREATED.minusHours(6 - id), List.of());
+        }
+        index.computeAll(NOW);
+        assertEquals(List.of(5L, 4L, 3L), ids(index.related(1, 10)));
+
+        index.remove(5, NOW);
+
+        assertEquals(List.of(4L, 3L, 2L), ids(index.related(1, 10)));
+        // Now among the newest three itself, so article 1 is not a candidate of article 2
+        assertEquals(List.of(4L, 3L), ids(index.related(2, 10)));
+    }
+
+    @Test
+    void removingAnArticleRepairsListsBuiltBeforeItsTagBecameTooCommon() {
+        index = new RelatedArticleIndex(3, 3, 10, 0.7, 0.2, 0.1, DAY);
+        index.load(1, "one", null, CREATED, List.of(1L));
+        index.load(2, "two", null, CREATED, List.of(1L));
+        index.load(3, "three", null, CREATED, List.of(1L));
+        index.computeAll(NOW);
+        // Tag 1 now has more postings than maxTagPostings, so it no longer yields candidates
+        index.put(4, "four", null, CREATED, List.of(1L), NOW);
+        assertEquals(Set.of(2L, 3L), Set.copyOf(ids(index.related(1, 10))));
+
+        index.remove(2, NOW);
+
+        // Back to three postings, so the recomputed lists see the remaining articles again
+        assertEquals(Set.of(3L, 4L), Set.copyOf(ids(index.related(1, 10))));
+        assertEquals(Set.of(1L, 4L), Set.copyOf(ids(index.related(3, 10))));
+    }
+
+    @Test
+    void listsAreBoundedAndLimitIsApplied() {
+        for (long id = 1; id <= 10; id++) {
+            index.load(id, "article " + id, 10L, CREATED, List.of(1L));
+        }
+        index.computeAll(NOW);
+
+        assertEquals(3, index.related(1, 10).size());
+        assertEquals(2, index.related(1, 2).size());
+        assertTrue(index.related(42, 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<RelatedArticleDto> articles) {
+        return articles.stream().map(RelatedArticleDto::getArticleId).toList();
+    }
+}
@@ -0,0 +1,172 @@
+package news.app.newsApp.repository;
+
+import news.app.newsApp.archive.ArticleArchiver;
+import news.app.newsApp.dto.CommentDto;
+import news.app.newsApp.exception.ResourceNotFoundException;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Comment;
+import news.app.newsApp.model.Reply;
+import news.app.newsApp.model.User;
+import news.app.newsApp.service.CommentService;
+import news.app.newsApp.service.ReplyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Moves articles with a discussion to the archive tables and back, checking nothing is lost on the way
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ArticleArchiveTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ArticleArchiver articleArchiver;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ReplyService replyService;
+
+    @Test
+    void archivedArticleKeepsItsContentAndDiscussionAndCanBeRestored() {
+        User author = new User();
+        author.setUsername("archive-writer");
+        author.setEmail("archive-writer@test.local");
+        author.setPassword("secret");
+        author.setRole(User.Role.WRITER);
+        author = userRepository.save(author);
+
+        Article article = new Article();
+        article.setTitle("Old news");
+        article.setContent("long forgotten content");
+        article.setStatus(Article.Status.PUBLISHED);
+        article.setAuthor(author);
+        article = articleRepository.save(article);
+
+        Comment comment = new Comment();
+        comment.setComment("first!");
+        comment.setArticle(article);
+        comment.setUser(author);
+        comment = commentRepository.save(comment);
+
+        Reply reply = new Reply();
+        reply.setContent("indeed");
+        reply.setComment(comment);
+        reply.setUser(author);
+        replyRepository.save(reply);
+
+        Long articleId = article.getId();
+        List<ArticleArchiver.ArchivedArticle> archived = articleArchiver.archive(List.of(articleId), LocalDateTime.now());
+
+        assertEquals(1, archived.size());
+        Article cold = articleRepository.findById(articleId).orElseThrow();
+        assertEquals(Article.Status.ARCHIVED, cold.getStatus());
+        assertNull(cold.getContent());
+        assertNotNull(cold.getArchivedAt());
+        assertEquals(0, count("SELECT COUNT(*) FROM comments WHERE article_id = ?", articleId));
+        assertEquals("long forgotten content", articleArchiver.findContent(articleId));
+
+        Page<CommentDto> comments = articleArchiver.findComments(articleId, PageRequest.of(0, 10));
+        assertEquals(1, comments.getTotalElements());
+        assertEquals("first!", comments.getContent().get(0).getComment());
+        assertEquals("archive-writer", comments.getContent().get(0).getUser().getUsername());
+        assertEquals("indeed", comments.getContent().get(0).getReplies().get(0).getContent());
+
+        assertEquals("long forgotten content", articleArchiver.restore(articleId));
+        assertEquals(1, count("SELECT COUNT(*) FROM comments WHERE article_id = ?", articleId));
+        assertEquals(1, count("SELECT COUNT(*) FROM replies WHERE comment_id = ?", comment.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM comments_archive WHERE article_id = ?", articleId));
+        assertEquals(0, count("SELECT COUNT(*) FROM article_contents_archive WHERE article_id = ?", articleId));
+        assertNull(articleRepository.findById(articleId).orElseThrow().getArchivedAt());
+    }
+
+    @Test
+    void writesToArchivedCommentsAndRepliesRestoreTheDiscussion() {
+        User author = new User();
+        author.setUsername("archive-reader");
+        author.setEmail("archive-reader@test.local");
+        author.setPassword("secret");
+        author.setRole(User.Role.WRITER);
+        author = userRepository.save(author);
+
+        Article article = new Article();
+        article.setTitle("Quiet news");
+        article.setContent("rarely read");
+        article.setStatus(Article.Status.PUBLISHED);
+        article.setAuthor(author);
+        Long articleId = articleRepository.save(article).getId();
+
+        Comment comment = new Comment();
+        comment.setComment("still here?");
+        comment.setArticle(article);
+        comment.setUser(author);
+        comment.setLikes(0);
+        Long commentId = commentRepository.save(comment).getId();
+
+        Reply reply = new Reply();
+        reply.setContent("yes");
+        reply.setComment(comment);
+        reply.setUser(author);
+        reply.setLikes(0);
+        Long replyId = replyRepository.save(reply).getId();
+
+        articleArchiver.archive(List.of(articleId), LocalDateTime.now());
+        assertEquals(1, commentService.likeComment(commentId).getLikes());
+        assertNull(articleRepository.findById(articleId).orElseThrow().getArchivedAt());
+        assertEquals(0, count("SELECT COUNT(*) FROM comments_archive WHERE article_id = ?", articleId));
+
+        articleArchiver.archive(List.of(articleId), LocalDateTime.now());
+        assertEquals(1, replyService.likeReply(replyId).getLikes());
+        assertEquals(1, count("SELECT COUNT(*) FROM comments WHERE article_id = ?", articleId));
+
+        assertThrows(ResourceNotFoundException.class, () -> commentService.likeComment(-1L));
+    }
+
+    private int count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+}
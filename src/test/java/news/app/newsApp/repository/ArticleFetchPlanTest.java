@@ -0,0 +1,247 @@
+package news.app.newsApp.repository;
+
+import news.app.newsApp.dto.ArticleDto;
+import news.app.newsApp.metrics.SqlStatementCounter;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Category;
+import news.app.newsApp.model.Comment;
+import news.app.newsApp.model.Tag;
+import news.app.newsApp.model.User;
+import news.app.newsApp.service.ArticleService;
+import news.app.newsApp.service.ArticleViewRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pins the statements each article use case issues: one per fetch plan, never a lazy load per row
+// Views are only written by explicit flushes here
+@SpringBootTest(properties = "app.views.flush-interval-ms=3600000")
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArticleFetchPlanTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|join|update|into)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private ArticleViewRecorder articleViewRecorder;
+
+    private User author;
+    private Category category;
+    private Article article;
+
+    @BeforeAll
+    void seed() {
+        author = new User();
+        author.setUsername("fetchplan-writer");
+        author.setEmail("fetchplan-writer@test.local");
+        author.setPassword("secret");
+        author.setRole(User.Role.WRITER);
+        author = userRepository.save(author);
+
+        category = new Category();
+        category.setName("Fetch plans");
+        category = categoryRepository.save(category);
+
+        Tag first = new Tag();
+        first.setName("fetchplan-first");
+        Tag second = new Tag();
+        second.setName("fetchplan-second");
+        List<Tag> tags = tagRepository.saveAll(List.of(first, second));
+
+        for (int i = 0; i < 3; i++) {
+            Article saved = new Article();
+            saved.setTitle("Fetch plan " + i);
+            saved.setContent("content");
+            saved.setStatus(Article.Status.PUBLISHED);
+            saved.setAuthor(author);
+            saved.setCategory(category);
+            saved.setTags(new HashSet<>(tags));
+            article = articleRepository.save(saved);
+        }
+
+        Comment comment = new Comment();
+        comment.setComment("comment");
+        comment.setArticle(article);
+        comment.setUser(author);
+        commentRepository.save(comment);
+    }
+
+    @Test
+    void publishedFeedPagesInTheDatabaseWithTheListGraphWithoutTouchingComments() {
+        // A short page so the count query runs too
+        List<String> shapes = capture(() -> articleService.getPublishedArticles(PageRequest.of(0, 2, FIRST_PAGE.getSort())));
+
+        assertEquals(List.of(
+                "select articles,categories,users",
+                "select articles",
+                "select article_tags,articles,tags"
+        ), shapes);
+    }
+
+    @Test
+    void publishedFeedPastTheLastPageIsEmpty() {
+        Page<ArticleDto> page = articleService.getPublishedArticles(PageRequest.of(1000, 10, FIRST_PAGE.getSort()));
+
+        assertTrue(page.getContent().isEmpty());
+        assertTrue(page.getTotalElements() >= 3);
+    }
+
+    @Test
+    void publishedFeedFollowsTheRequestedSort() {
+        List<Long> ids = articleService.getPublishedArticles(PageRequest.of(0, 3, Sort.by(Sort.Direction.ASC, "id")))
+                .map(ArticleDto::getId).getContent();
+
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void articleDetailUsesTheDetailGraphAndLeavesTheViewToTheRecorder() {
+        int views = articleRepository.findById(article.getId()).orElseThrow().getViews();
+        List<String> shapes = capture(() -> articleService.getArticleById(article.getId()));
+
+        assertEquals(List.of("select article_images,article_tags,articles,categories,tags,users"), shapes);
+        articleViewRecorder.flush();
+        assertEquals(views + 1, articleRepository.findById(article.getId()).orElseThrow().getViews());
+    }
+
+    @Test
+    void articleListUsesTheListGraphAndLoadsTagsForThePageInOneQuery() {
+        // A short page so the count query runs too; entity graphs never add joins to it
+        List<String> shapes = capture(() -> articleService.getAllArticles(PageRequest.of(0, 2, FIRST_PAGE.getSort())));
+
+        assertEquals(List.of(
+                "select articles,categories,users",
+                "select articles",
+                "select article_tags,articles,tags"
+        ), shapes);
+    }
+
+    @Test
+    void authorTimelineReadsSummariesOnceAndThenServesThemFromTheCache() {
+        List<String> first = capture(() -> articleService.getArticlesByAuthor(author.getId(), FIRST_PAGE));
+        List<String> second = capture(() -> articleService.getArticlesByAuthor(author.getId(), FIRST_PAGE));
+
+        assertEquals(List.of("select articles,categories"), first);
+        assertEquals(List.of(), second);
+    }
+
+    @Test
+    void categoryFeedReadsSummariesOnceAndThenServesThemFromTheCache() {
+        List<String> first = capture(() -> articleService.getArticlesByCategory(category.getId(), FIRST_PAGE));
+        List<String> second = capture(() -> articleService.getArticlesByCategory(category.getId(), FIRST_PAGE));
+
+        assertEquals(List.of("select articles,categories"), first);
+        assertEquals(List.of(), second);
+    }
+
+    @Test
+    void searchUsesTheListGraphForThePage() {
+        List<String> shapes = capture(() -> articleService.searchArticles("plan", FIRST_PAGE));
+
+        assertEquals(List.of(
+                "select articles,categories,users",
+                "select article_tags,articles,categories,tags,users"
+        ), shapes);
+    }
+
+    @Test
+    void topArticlesUseTheListGraph() {
+        List<String> shapes = capture(() -> articleService.getTopArticles(5));
+
+        assertEquals(List.of("select articles,categories,users"), shapes);
+    }
+
+    @Test
+    void ownershipCheckLoadsOnlyTheAuthor() {
+        List<String> shapes = capture(() -> articleService.isAuthor(article.getId(), author.getUsername()));
+
+        assertEquals(List.of("select articles,users"), shapes);
+    }
+
+    @Test
+    void writerTopArticlesAreALimitedProjection() {
+        List<String> shapes = capture(() -> articleRepository.findTopArticlesByAuthor(author.getId(), PageRequest.of(0, 10))
+                .forEach(top -> ((String) top[1]).length()));
+
+        assertEquals(List.of("select articles"), shapes);
+    }
+
+    private List<String> capture(Runnable useCase) {
+        int marker = sqlStatementCounter.startCapture();
+        List<String> statements;
+        try {
+            useCase.run();
+        } finally {
+            statements = sqlStatementCounter.stopCapture(marker);
+        }
+        return statements.stream().map(ArticleFetchPlanTest::shape).toList();
+    }
+
+    // Statement verb plus the tables it touches, e.g. "select articles,categories,users"
+    private static String shape(String sql) {
+        Set<String> tables = new TreeSet<>();
+        Matcher matcher = TABLE.matcher(sql);
+        while (matcher.find()) {
+            tables.add(matcher.group(1).toLowerCase());
+        }
+        String verb = sql.trim().split("\\s+", 2)[0].toLowerCase();
+        return verb + " " + String.join(",", tables);
+    }
+}
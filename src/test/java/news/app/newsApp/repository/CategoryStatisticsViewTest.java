@@ -0,0 +1,121 @@
+package news.app.newsApp.repository;
+
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Category;
+import news.app.newsApp.model.Comment;
+import news.app.newsApp.model.User;
+import news.app.newsApp.service.CategoryStatisticsView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The category_daily_stats view (V10): stale until refreshed, then per category plus one uncategorized row
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class CategoryStatisticsViewTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CategoryStatisticsView categoryStatisticsView;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void totalsFollowTheLastRefresh() {
+        User author = new User();
+        author.setUsername("category-writer");
+        author.setEmail("category-writer@test.local");
+        author.setPassword("secret");
+        author.setRole(User.Role.WRITER);
+        author = userRepository.save(author);
+
+        Category category = new Category();
+        category.setName("Statistics");
+        category = categoryRepository.save(category);
+
+        Article first = article(author, category, 5);
+        article(author, category, 7);
+        article(author, null, 1);
+        Comment comment = new Comment();
+        comment.setComment("counted");
+        comment.setArticle(first);
+        comment.setUser(author);
+        commentRepository.save(comment);
+        jdbcTemplate.update("UPDATE articles SET comment_count = 1 WHERE id = ?", first.getId());
+
+        LocalDate today = LocalDate.now();
+        assertFalse(totals(today).stream().anyMatch(row -> "Statistics".equals(row[0])));
+
+        LocalDateTime before = categoryStatisticsView.getRefreshedAt();
+        categoryStatisticsView.refresh();
+        assertTrue(categoryStatisticsView.getRefreshedAt().isAfter(before));
+
+        List<Object[]> totals = totals(today);
+        assertEquals(List.of("Statistics", 2L, 12L, 1L, 1L), List.of(row(totals, "Statistics")));
+        Object[] uncategorized = row(totals, null);
+        assertTrue((Long) uncategorized[1] >= 1);
+
+        // Whole days only: nothing before today
+        assertTrue(categoryStatisticsView.getTotals(today.minusDays(3), today.minusDays(1)).stream()
+                .noneMatch(r -> "Statistics".equals(r[0])));
+    }
+
+    private List<Object[]> totals(LocalDate day) {
+        return categoryStatisticsView.getTotals(day, day);
+    }
+
+    private static Object[] row(List<Object[]> totals, String name) {
+        return totals.stream().filter(row -> Objects.equals(name, row[0])).findFirst().orElseThrow();
+    }
+
+    private Article article(User author, Category category, int views) {
+        Article article = new Article();
+        article.setTitle("Counted");
+        article.setContent("content");
+        article.setStatus(Article.Status.PUBLISHED);
+        article.setAuthor(author);
+        article.setCategory(category);
+        article.setViews(views);
+        return articleRepository.save(article);
+    }
+}
@@ -0,0 +1,177 @@
+package news.app.newsApp.repository;
+
+import news.app.newsApp.dto.CommentRequest;
+import news.app.newsApp.dto.ReplyRequest;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.Comment;
+import news.app.newsApp.model.Reply;
+import news.app.newsApp.model.User;
+import news.app.newsApp.service.CommentService;
+import news.app.newsApp.service.CounterReconciliationJob;
+import news.app.newsApp.service.ReplyService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The denormalized comment and reply counters (V4) through every service write, and their nightly repair
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CommentCounterTest {
+
+    private static final String WRITER = "counter-writer";
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ReplyService replyService;
+
+    @Autowired
+    private CounterReconciliationJob counterReconciliationJob;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+
+    @BeforeAll
+    void seed() {
+        author = new User();
+        author.setUsername(WRITER);
+        author.setEmail("counter-writer@test.local");
+        author.setPassword("secret");
+        author.setRole(User.Role.WRITER);
+        author = userRepository.save(author);
+    }
+
+    @Test
+    @WithMockUser(username = WRITER)
+    void serviceWritesKeepTheCountersInStep() {
+        Long articleId = article("Counted").getId();
+        Long first = commentService.createComment(commentRequest(articleId)).getId();
+        Long second = commentService.createComment(commentRequest(articleId)).getId();
+        Long firstReply = replyService.createReply(replyRequest(first)).getId();
+        Long hiddenReply = replyService.createReply(replyRequest(first)).getId();
+        replyService.createReply(replyRequest(second));
+
+        assertEquals(List.of(2, 3), articleCounters(articleId));
+        assertEquals(2, replyCount(first));
+
+        // Hidden replies and comments stop counting; a hidden comment's replies still count on the article
+        replyService.updateReplyStatus(hiddenReply, 0);
+        assertEquals(1, replyCount(first));
+        assertEquals(List.of(2, 2), articleCounters(articleId));
+        commentService.updateCommentStatus(second, 0);
+        assertEquals(List.of(1, 2), articleCounters(articleId));
+        commentService.updateCommentStatus(second, 0);
+        assertEquals(List.of(1, 2), articleCounters(articleId));
+
+        replyService.deleteReply(firstReply);
+        assertEquals(0, replyCount(first));
+        assertEquals(List.of(1, 1), articleCounters(articleId));
+
+        // Deleting a comment takes its active replies off the article too
+        commentService.deleteComment(second);
+        assertEquals(List.of(1, 0), articleCounters(articleId));
+        commentService.deleteComment(first);
+        assertEquals(List.of(0, 0), articleCounters(articleId));
+    }
+
+    @Test
+    void reconciliationRepairsDriftAndLeavesArchivedArticlesAlone() {
+        Article article = article("Drifted");
+        Comment comment = new Comment();
+        comment.setComment("written with plain repository calls");
+        comment.setArticle(article);
+        comment.setUser(author);
+        comment = commentRepository.save(comment);
+        Reply reply = new Reply();
+        reply.setContent("not counted yet");
+        reply.setComment(comment);
+        reply.setUser(author);
+        replyRepository.save(reply);
+        jdbcTemplate.update("UPDATE articles SET comment_count = 42, reply_count = 7 WHERE id = ?", article.getId());
+
+        Long archivedId = article("Archived").getId();
+        jdbcTemplate.update("UPDATE articles SET status = 'ARCHIVED', archived_at = now(), comment_count = 5, " +
+                "reply_count = 2 WHERE id = ?", archivedId);
+
+        counterReconciliationJob.reconcile();
+
+        assertEquals(1, replyCount(comment.getId()));
+        assertEquals(List.of(1, 1), articleCounters(article.getId()));
+        assertEquals(List.of(5, 2), articleCounters(archivedId));
+    }
+
+    private Article article(String title) {
+        Article article = new Article();
+        article.setTitle(title);
+        article.setContent("content");
+        article.setStatus(Article.Status.PUBLISHED);
+        article.setAuthor(author);
+        return articleRepository.save(article);
+    }
+
+    private static CommentRequest commentRequest(Long articleId) {
+        CommentRequest request = new CommentRequest();
+        request.setComment("a comment");
+        request.setArticleId(articleId);
+        return request;
+    }
+
+    private static ReplyRequest replyRequest(Long commentId) {
+        ReplyRequest request = new ReplyRequest();
+        request.setContent("a reply");
+        request.setCommentId(commentId);
+        return request;
+    }
+
+    // [comment_count, reply_count]
+    private List<Integer> articleCounters(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT comment_count, reply_count FROM articles WHERE id = ?",
+                (rs, rowNum) -> List.of(rs.getInt(1), rs.getInt(2)), articleId);
+    }
+
+    private int replyCount(Long commentId) {
+        return jdbcTemplate.queryForObject("SELECT reply_count FROM comments WHERE id = ?", Integer.class, commentId);
+    }
+}
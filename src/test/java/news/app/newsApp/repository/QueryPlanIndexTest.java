@@ -0,0 +1,189 @@
+package news.app.newsApp.repository;
+
+import news.app.newsApp.service.PartitionMaintenanceJob;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the migrations against a real Postgres, loads a realistically sized dataset and checks the hot queries' plans
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanIndexTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    private static final String[] DATASET = {
+            "INSERT INTO users (id, username, password, email, role, is_active, created_at) "
+                    + "SELECT g, 'user' || g, 'secret', 'user' || g || '@test.local', "
+                    + "CASE WHEN g <= 500 THEN 'WRITER' ELSE 'READER' END, true, now() "
+                    + "FROM generate_series(1, 5000) g",
+            "INSERT INTO categories (id, name, created_at) SELECT g, 'category' || g, now() FROM generate_series(1, 200) g",
+            "INSERT INTO tags (id, name, created_at) SELECT g, 'tag' || g, now() FROM generate_series(1, 500) g",
+            "INSERT INTO articles (id, title, content, status, views, author_id, category_id, created_at) "
+                    + "SELECT g, 'article ' || g, repeat('lorem ', 40), "
+                    + "(ARRAY['PUBLISHED', 'PUBLISHED', 'PUBLISHED', 'DRAFT', 'ARCHIVED'])[1 + g % 5], "
+                    + "g % 10000, 1 + g % 500, 1 + g % 200, now() - g * interval '1 minute' "
+                    + "FROM generate_series(1, 50000) g",
+            "INSERT INTO article_tags (article_id, tag_id) "
+                    + "SELECT a, 1 + (a * 7 + k) % 500 FROM generate_series(1, 50000) a, generate_series(0, 2) k",
+            "INSERT INTO comments (id, comment, likes, status, article_id, user_id, created_at) "
+                    + "SELECT g, 'comment', 0, 1, 1 + g % 50000, 501 + g % 4500, now() - g * interval '1 second' "
+                    + "FROM generate_series(1, 200000) g",
+            "INSERT INTO replies (id, content, likes, status, comment_id, user_id, parent_reply_id, created_at) "
+                    + "SELECT g, 'reply', 0, 1, 1 + g % 200000, 501 + g % 4500, "
+                    + "CASE WHEN g % 10 = 0 THEN g - 1 END, now() "
+                    + "FROM generate_series(1, 100000) g",
+            "ANALYZE"
+    };
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateAndLoad() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : DATASET) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    // SQL shapes Hibernate generates for the repository methods named in each case. comments and replies are
+    // partitioned (V9): their plans scan per-partition copies of the parent's index, named <partition>_<columns>_idx
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("findLatestArticles",
+                        "SELECT * FROM articles a WHERE a.status = 'PUBLISHED' ORDER BY a.created_at DESC LIMIT 10",
+                        "idx_articles_published_created_at"),
+                Arguments.of("findTopArticlesByViews",
+                        "SELECT * FROM articles a WHERE a.status = 'PUBLISHED' ORDER BY a.views DESC LIMIT 5",
+                        "idx_articles_published_views"),
+                Arguments.of("findByStatus",
+                        "SELECT * FROM articles a WHERE a.status = 'DRAFT' ORDER BY a.created_at DESC LIMIT 10",
+                        "idx_articles_status_created_at"),
+                Arguments.of("findByAuthor",
+                        "SELECT * FROM articles a WHERE a.author_id = 42 ORDER BY a.created_at DESC LIMIT 10",
+                        "idx_articles_author_created_at"),
+                Arguments.of("findByCategory",
+                        "SELECT * FROM articles a WHERE a.category_id = 7",
+                        "idx_articles_category_id"),
+                Arguments.of("findCommentsByArticleId",
+                        "SELECT * FROM comments c WHERE c.article_id = 1234 ORDER BY c.created_at DESC",
+                        "_article_id_created_at_idx"),
+                Arguments.of("findByComment",
+                        "SELECT * FROM replies r WHERE r.comment_id = 999",
+                        "_comment_id_idx"),
+                Arguments.of("findByParentReplyId",
+                        "SELECT * FROM replies r WHERE r.parent_reply_id = 500",
+                        "_parent_reply_id_idx"),
+                Arguments.of("articlesByTag",
+                        "SELECT a.* FROM articles a JOIN article_tags t ON t.article_id = a.id WHERE t.tag_id = 5",
+                        "idx_article_tags_tag_id"),
+                Arguments.of("readerCommentHistory",
+                        "SELECT c.article_id FROM comments c WHERE c.user_id = 1234 AND c.status = 1 ORDER BY c.created_at DESC LIMIT 200",
+                        "_user_id_created_at_idx"),
+                Arguments.of("readerReplyHistory",
+                        "SELECT r.comment_id FROM replies r WHERE r.user_id = 1234 AND r.status = 1 ORDER BY r.created_at DESC LIMIT 200",
+                        "_user_id_created_at_idx"),
+                Arguments.of("feedCategoryStream",
+                        "SELECT a.id, a.created_at FROM articles a WHERE a.category_id = 7 AND a.status = 'PUBLISHED' "
+                                + "ORDER BY a.created_at DESC LIMIT 50",
+                        "idx_articles_published_category_created_at")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesIndex(String repositoryMethod, String sql, String expectedIndex) throws SQLException {
+        String plan = explain(sql);
+        assertTrue(plan.contains(expectedIndex),
+                () -> repositoryMethod + " should use " + expectedIndex + " but the plan was:\n" + plan);
+    }
+
+    // Statistics queries filter comments and replies on created_at ranges; each should only scan its months
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("partitionedTables")
+    void createdAtRangeScansOnlyTheMatchingMonths(String table) throws SQLException {
+        YearMonth month = YearMonth.now();
+        String plan = explain("SELECT DATE(t.created_at), COUNT(DISTINCT t.id) FROM " + table + " t "
+                + "WHERE t.created_at BETWEEN '" + month.atDay(1) + " 00:00:00' AND '" + month.atEndOfMonth() + " 23:59:59' "
+                + "GROUP BY DATE(t.created_at)");
+
+        assertTrue(plan.contains(PartitionMaintenanceJob.partitionName(table, month)),
+                () -> table + " should scan this month's partition but the plan was:\n" + plan);
+        for (String other : List.of(PartitionMaintenanceJob.partitionName(table, month.minusMonths(1)),
+                PartitionMaintenanceJob.partitionName(table, month.plusMonths(1)), table + "_default")) {
+            assertFalse(plan.contains(other), () -> table + " should not scan " + other + " but the plan was:\n" + plan);
+        }
+    }
+
+    // findById, and entity updates and deletes without the partition key, cannot be pruned: they must still be one
+    // primary key index probe per partition, never a scan. With created_at (@PartitionKey) they touch one partition.
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("partitionedTables")
+    void idLookupsProbeEachPartitionsPrimaryKey(String table) throws SQLException {
+        String byId = explain("SELECT * FROM " + table + " t WHERE t.id = 1234");
+        assertFalse(byId.contains("Seq Scan"), () -> table + " id lookup should not scan but the plan was:\n" + byId);
+        for (String line : byId.split("\n")) {
+            if (line.contains(" on " + table + "_")) {
+                assertTrue(line.contains("Index") && line.contains("_pkey"),
+                        () -> table + " id lookup should use each partition's primary key but the plan was:\n" + byId);
+            }
+        }
+
+        YearMonth month = YearMonth.now();
+        String byKey = explain("UPDATE " + table + " t SET likes = likes + 1 WHERE t.id = 1234 "
+                + "AND t.created_at = '" + month.atDay(2) + " 12:00:00'");
+        assertTrue(byKey.contains(PartitionMaintenanceJob.partitionName(table, month) + "_pkey"),
+                () -> table + " update with the partition key should probe one primary key but the plan was:\n" + byKey);
+        assertFalse(byKey.contains(PartitionMaintenanceJob.partitionName(table, month.minusMonths(1))),
+                () -> table + " update with the partition key should be pruned but the plan was:\n" + byKey);
+    }
+
+    static Stream<String> partitionedTables() {
+        return Stream.of("comments", "replies");
+    }
+
+    private String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package news.app.newsApp.repository;
+
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.User;
+import news.app.newsApp.service.StatisticsExportService;
+import news.app.newsApp.service.StatisticsReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// One report streamed through the cursor into CSV, from the query to the escaped text a client downloads
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class StatisticsExportTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // Several round trips through the cursor for a handful of rows
+        registry.add("app.statistics.export.fetch-size", () -> "1");
+    }
+
+    @Autowired
+    private StatisticsExportService statisticsExportService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void writersReportIsStreamedAsEscapedCsv() {
+        User formula = writer("=cmd|' /C calc'!A0");
+        User plain = writer("export-writer");
+        article(formula, 3);
+        Long commented = article(formula, 4);
+        article(plain, 10);
+        jdbcTemplate.update("UPDATE articles SET comment_count = 2, reply_count = 1 WHERE id = ?", commented);
+
+        StringWriter csv = new StringWriter();
+        LocalDateTime now = LocalDateTime.now();
+        statisticsExportService.export(StatisticsReport.WRITERS, now.minusDays(1), now.plusDays(1), csv);
+
+        List<String> lines = Arrays.asList(csv.toString().split("\r\n"));
+        assertEquals("writer,articles,views,comments,replies", lines.get(0));
+        assertTrue(lines.contains("'=cmd|' /C calc'!A0,2,7,2,1"));
+        assertTrue(lines.contains("export-writer,1,10,0,0"));
+        assertTrue(csv.toString().endsWith("\r\n"));
+    }
+
+    private User writer(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username.hashCode() + "@test.local");
+        user.setPassword("secret");
+        user.setRole(User.Role.WRITER);
+        return userRepository.save(user);
+    }
+
+    private Long article(User author, int views) {
+        Article article = new Article();
+        article.setTitle("Exported");
+        article.setContent("content");
+        article.setStatus(Article.Status.PUBLISHED);
+        article.setAuthor(author);
+        article.setViews(views);
+        return articleRepository.save(article).getId();
+    }
+}
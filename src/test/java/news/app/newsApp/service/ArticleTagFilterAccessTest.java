@@ -0,0 +1,104 @@
+package news.app.newsApp.service;
+
+import news.app.newsApp.facet.ArticleFacetEngine;
+import news.app.newsApp.model.Article;
+import news.app.newsApp.model.User;
+import news.app.newsApp.repository.ArticleRepository;
+import news.app.newsApp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Articles 3, 2 and 1 are drafts carrying the filtered tag; writer 7 wrote 1 and 3
+class ArticleTagFilterAccessTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ArticleFacetEngine articleFacetEngine = mock(ArticleFacetEngine.class);
+    private final ArticleService articleService = new ArticleService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(articleService, "articleRepository", articleRepository);
+        ReflectionTestUtils.setField(articleService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(articleService, "articleFacetEngine", articleFacetEngine);
+        when(articleFacetEngine.matchByTags(any(), any(), any(), eq(Article.Status.DRAFT), any()))
+                .thenReturn(new long[]{3, 2, 1});
+        when(articleFacetEngine.matchByTags(any(), any(), any(), eq(Article.Status.PUBLISHED), any()))
+                .thenReturn(new long[0]);
+        when(articleRepository.findIdsByAuthorIdAndStatus(7L, Article.Status.DRAFT)).thenReturn(List.of(1L, 3L));
+        when(articleRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void anonymousCallersOnlyFilterPublishedArticles() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        assertEquals(0, byTags(Article.Status.PUBLISHED));
+        assertThrows(AccessDeniedException.class, () -> byTags(Article.Status.DRAFT));
+        assertThrows(AccessDeniedException.class, () -> byTags(Article.Status.ARCHIVED));
+    }
+
+    @Test
+    void readersCannotFilterDrafts() {
+        signIn(8L, User.Role.READER);
+
+        assertThrows(AccessDeniedException.class, () -> byTags(Article.Status.DRAFT));
+    }
+
+    @Test
+    void writersOnlySeeTheirOwnDrafts() {
+        signIn(7L, User.Role.WRITER);
+
+        assertEquals(2, byTags(Article.Status.DRAFT));
+    }
+
+    @Test
+    void administratorsSeeEveryDraft() {
+        signIn(1L, User.Role.ADMIN);
+
+        assertEquals(3, byTags(Article.Status.DRAFT));
+    }
+
+    private long byTags(Article.Status status) {
+        return articleService.getArticlesByTags(List.of(100L), List.of(), List.of(), status, null, PageRequest.of(0, 10))
+                .getTotalElements();
+    }
+
+    private void signIn(Long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user-" + id);
+        user.setRole(role);
+        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+        UserDetails principal = org.springframework.security.core.userdetails.User
+                .withUsername(user.getUsername()).password("").authorities("ROLE_" + role.name()).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,43 @@
+package news.app.newsApp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatisticsExportServiceTest {
+
+    @Test
+    void plainValuesAreWrittenAsIs() {
+        assertEquals("", StatisticsExportService.escape(null));
+        assertEquals("", StatisticsExportService.escape(""));
+        assertEquals("alice", StatisticsExportService.escape("alice"));
+        assertEquals("2024-03-01", StatisticsExportService.escape(LocalDate.of(2024, 3, 1)));
+    }
+
+    @Test
+    void separatorsQuotesAndLineBreaksAreQuoted() {
+        assertEquals("\"a,b\"", StatisticsExportService.escape("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", StatisticsExportService.escape("say \"hi\""));
+        assertEquals("\"two\nlines\"", StatisticsExportService.escape("two\nlines"));
+        assertEquals("\"two\r\nlines\"", StatisticsExportService.escape("two\r\nlines"));
+    }
+
+    @Test
+    void textAFormulaCouldStartWithIsNeutralised() {
+        assertEquals("'=SUM(A1:A2)", StatisticsExportService.escape("=SUM(A1:A2)"));
+        assertEquals("'+1", StatisticsExportService.escape("+1"));
+        assertEquals("'-1", StatisticsExportService.escape("-1"));
+        assertEquals("'@cmd", StatisticsExportService.escape("@cmd"));
+        assertEquals("'\t=1+1", StatisticsExportService.escape("\t=1+1"));
+        assertEquals("\"'\r=1+1\"", StatisticsExportService.escape("\r=1+1"));
+        assertEquals("\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\"", StatisticsExportService.escape("=HYPERLINK(\"x\",\"y\")"));
+    }
+
+    @Test
+    void negativeNumbersStayNumbers() {
+        assertEquals("-5", StatisticsExportService.escape(-5L));
+        assertEquals("-1.5", StatisticsExportService.escape(-1.5));
+    }
+}
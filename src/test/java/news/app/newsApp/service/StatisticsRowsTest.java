@@ -0,0 +1,23 @@
+package news.app.newsApp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatisticsRowsTest {
+
+    @Test
+    void rowsWithTheSameLabelAreAddedUp() {
+        List<Object[]> rows = List.of(
+                new Object[]{"News", 3L},
+                new Object[]{"Sport", 2},
+                new Object[]{"News", 4L},
+                new Object[]{LocalDate.of(2024, 1, 2), null});
+
+        assertEquals(Map.of("News", 7L, "Sport", 2L, "2024-01-02", 0L), StatisticsRows.toCountMap(rows));
+    }
+}
@@ -0,0 +1,153 @@
+package news.app.newsApp.trending;
+
+import news.app.newsApp.dto.TrendingArticleDto;
+import news.app.newsApp.event.ArticleEngagementEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendingIndexTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long START = 1_000 * HOUR;
+
+    private TrendingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Half-life of one hour, hourly buckets over a day, top 3, views weigh 1, comments 5, likes 2
+        index = new TrendingIndex(HOUR, HOUR, 24, 3, 1, 5, 2, START);
+    }
+
+    @Test
+    void recentEngagementOutranksOlderEngagement() {
+        index.track(1, "old", 10L);
+        index.track(2, "new", 10L);
+        index.record(1, ArticleEngagementEvent.Type.VIEW, 8, START);
+        index.record(2, ArticleEngagementEvent.Type.VIEW, 3, START + 2 * HOUR);
+
+        List<TrendingArticleDto> top = index.top(null, 10, START + 2 * HOUR);
+
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(3.0, top.get(0).getScore(), 1e-9);
+        assertEquals(2.0, top.get(1).getScore(), 1e-9);
+    }
+
+    @Test
+    void scoresDecayWithoutNewEvents() {
+        index.track(1, "article", null);
+        index.record(1, ArticleEngagementEvent.Type.COMMENT, 1, START);
+
+        assertEquals(5.0, index.top(null, 1, START).get(0).getScore(), 1e-9);
+        assertEquals(1.25, index.top(null, 1, START + 2 * HOUR).get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void untrackedArticlesAreIgnored() {
+        assertFalse(index.record(42, ArticleEngagementEvent.Type.VIEW, 1, START));
+        assertTrue(index.top(null, 10, START).isEmpty());
+    }
+
+    @Test
+    void rankingIsKeptPerCategoryAndBoundedToTopK() {
+        for (long id = 1; id <= 5; id++) {
+            index.track(id, "article " + id, id % 2 == 0 ? 20L : 10L);
+            index.record(id, ArticleEngagementEvent.Type.VIEW, (int) id, START);
+        }
+
+        assertEquals(List.of(5L, 4L, 3L), ids(index.top(null, 10, START)));
+        assertEquals(List.of(5L, 3L, 1L), ids(index.top(10L, 10, START)));
+        assertEquals(List.of(4L, 2L), ids(index.top(20L, 10, START)));
+        assertTrue(index.top(30L, 10, START).isEmpty());
+    }
+
+    @Test
+    void removingATopArticleRefillsFromTheRest() {
+        for (long id = 1; id <= 5; id++) {
+            index.track(id, "article " + id, 10L);
+            index.record(id, ArticleEngagementEvent.Type.VIEW, (int) id, START);
+        }
+
+        index.untrack(5);
+
+        assertEquals(List.of(4L, 3L, 2L), ids(index.top(null, 10, START)));
+        assertEquals(List.of(4L, 3L, 2L), ids(index.top(10L, 10, START)));
+    }
+
+    @Test
+    void movingToAnotherCategoryMovesTheRanking() {
+        index.track(1, "article", 10L);
+        index.record(1, ArticleEngagementEvent.Type.LIKE, 1, START);
+
+        index.track(1, "renamed", 20L);
+
+        assertTrue(index.top(10L, 10, START).isEmpty());
+        TrendingArticleDto moved = index.top(20L, 10, START).get(0);
+        assertEquals("renamed", moved.getTitle());
+        assertEquals(2.0, moved.getScore(), 1e-9);
+    }
+
+    @Test
+    void windowTotalsOnlyCountBucketsInsideTheWindow() {
+        index.track(1, "article", null);
+        index.record(1, ArticleEngagementEvent.Type.VIEW, 4, START);
+        index.record(1, ArticleEngagementEvent.Type.VIEW, 2, START + 10 * HOUR);
+        index.record(1, ArticleEngagementEvent.Type.LIKE, 1, START + 10 * HOUR);
+
+        assertEquals(6, index.top(null, 1, START + 23 * HOUR).get(0).getViews());
+        // The first bucket has left the 24-hour window
+        assertEquals(2, index.top(null, 1, START + 30 * HOUR).get(0).getViews());
+        assertEquals(0, index.top(null, 1, START + 40 * HOUR).get(0).getViews());
+        assertEquals(0, index.top(null, 1, START + 40 * HOUR).get(0).getLikes());
+    }
+
+    @Test
+    void snapshotsRestoreScoresAndBuckets() {
+        index.track(1, "article", 10L);
+        index.record(1, ArticleEngagementEvent.Type.VIEW, 4, START);
+        List<TrendSnapshot> snapshots = index.drainDirty(START + HOUR);
+        assertTrue(index.drainDirty(START + HOUR).isEmpty());
+
+        TrendingIndex restarted = new TrendingIndex(HOUR, HOUR, 24, 3, 1, 5, 2, START + 2 * HOUR);
+        snapshots.forEach(restarted::restore);
+
+        TrendingArticleDto restored = restarted.top(10L, 1, START + 2 * HOUR).get(0);
+        assertEquals(1.0, restored.getScore(), 1e-9);
+        assertEquals(4, restored.getViews());
+    }
+
+    @Test
+    void coldArticlesAreEvicted() {
+        index.track(1, "cold", null);
+        index.track(2, "warm", null);
+        index.record(1, ArticleEngagementEvent.Type.VIEW, 1, START);
+        index.record(2, ArticleEngagementEvent.Type.VIEW, 1, START + 30 * HOUR);
+
+        List<Long> evicted = index.evictCold(0.05, START + 30 * HOUR);
+
+        assertEquals(List.of(1L), evicted);
+        assertEquals(List.of(2L), ids(index.top(null, 10, START + 30 * HOUR)));
+    }
+
+    @Test
+    void rankingSurvivesRebasingTheLandmark() {
+        index.track(1, "first", null);
+        index.track(2, "second", null);
+        index.record(1, ArticleEngagementEvent.Type.VIEW, 1, START + 100 * HOUR);
+        index.record(2, ArticleEngagementEvent.Type.VIEW, 3, START + 100 * HOUR);
+
+        List<TrendingArticleDto> top = index.top(null, 10, START + 100 * HOUR);
+
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(3.0, top.get(0).getScore(), 1e-9);
+    }
+
+    private static List<Long> ids(List<TrendingArticleDto> articles) {
+        return articles.stream().map(TrendingArticleDto::getArticleId).toList();
+    }
+}